@@ -0,0 +1,160 @@
+/**
+ * ChunkNode represents a node in an unrolled linked list.
+ * Each node holds a small array of elements instead of a single one.
+ *
+ * @author Gabriel Tinsley
+ */
+public class ChunkNode<E> {
+	private ChunkNode<E> next;
+	private ChunkNode<E> previous;
+	private E[] elements;
+	private int count;
+
+	/**
+	 * Creates an empty node that can hold up to capacity elements.
+	 *
+	 * @param capacity the maximum number of elements stored in this node
+	 */
+	@SuppressWarnings("unchecked")
+	public ChunkNode(int capacity) {
+		next = null;
+		previous = null;
+		elements = (E[]) (new Object[capacity]);
+		count = 0;
+	}
+
+	/**
+	 * Returns the node that follows this one.
+	 *
+	 * @return the node that follows the current one
+	 */
+	public ChunkNode<E> getNext() {
+		return next;
+	}
+
+	/**
+	 * Sets the node that follows this one.
+	 *
+	 * @param node the node to be set to follow the current one
+	 */
+	public void setNext(ChunkNode<E> node) {
+		next = node;
+	}
+
+	/**
+	 * Returns the node that trails this one.
+	 *
+	 * @return the node that trails the current one
+	 */
+	public ChunkNode<E> getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Sets the node that trails this one.
+	 *
+	 * @param node the node to be set to trail the current one
+	 */
+	public void setPrevious(ChunkNode<E> node) {
+		previous = node;
+	}
+
+	/**
+	 * Returns the number of elements stored in this node.
+	 *
+	 * @return the number of elements stored in this node
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the maximum number of elements this node can hold.
+	 *
+	 * @return the capacity of this node
+	 */
+	public int getCapacity() {
+		return elements.length;
+	}
+
+	/**
+	 * Returns true if no more elements fit in this node.
+	 *
+	 * @return true if this node is full
+	 */
+	public boolean isFull() {
+		return count == elements.length;
+	}
+
+	/**
+	 * Returns the element stored at the given offset in this node.
+	 *
+	 * @param offset position within this node, 0 <= offset < count
+	 * @return the element at offset
+	 */
+	public E getElement(int offset) {
+		return elements[offset];
+	}
+
+	/**
+	 * Replaces the element stored at the given offset in this node.
+	 *
+	 * @param offset position within this node, 0 <= offset < count
+	 * @param elem   the element to be stored at offset
+	 */
+	public void setElement(int offset, E elem) {
+		elements[offset] = elem;
+	}
+
+	/**
+	 * Inserts an element at the given offset, shifting later elements right.
+	 * The node must not be full.
+	 *
+	 * @param offset position within this node, 0 <= offset <= count
+	 * @param elem   the element to be inserted
+	 */
+	public void insertElement(int offset, E elem) {
+		for (int i = count; i > offset; i--) {
+			elements[i] = elements[i - 1];
+		}
+		elements[offset] = elem;
+		count++;
+	}
+
+	/**
+	 * Removes the element at the given offset, shifting later elements left.
+	 *
+	 * @param offset position within this node, 0 <= offset < count
+	 * @return the removed element
+	 */
+	public E removeElement(int offset) {
+		E retVal = elements[offset];
+		count--;
+		for (int i = offset; i < count; i++) {
+			elements[i] = elements[i + 1];
+		}
+		elements[count] = null;
+		return retVal;
+	}
+
+	/**
+	 * Moves the elements from offset to the end of this node onto the end
+	 * of another node. The other node must have room for them.
+	 *
+	 * @param offset first position to move, 0 <= offset <= count
+	 * @param other  node that receives the elements
+	 */
+	public void transferTo(int offset, ChunkNode<E> other) {
+		for (int i = offset; i < count; i++) {
+			other.elements[other.count] = elements[i];
+			other.count++;
+			elements[i] = null;
+		}
+		count = offset;
+	}
+
+	@Override
+	public String toString() {
+		return "Elements: " + count + " Has next: " + (next != null) + " Has previous: " + (previous != null);
+	}
+}
@@ -0,0 +1,262 @@
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput driver comparing IUFlatCombiningList with an
+ * IUDoubleLinkedList guarded by one plain lock, where every call holds the
+ * lock on the list for its whole length.
+ * Each thread runs a mix of clustered add(int, T) and remove(int) around a
+ * shared hot spot, with some get(int), for a fixed time. The driver prints
+ * operations per second for each list and thread count.
+ *
+ * Run with: java CombiningBenchmark [seconds per run] [list size]
+ *
+ * @author Gabriel Tinsley
+ */
+public class CombiningBenchmark {
+	private static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16 };
+	private static final int CLUSTER_WIDTH = 64; // spread of indexes around the hot spot
+	private static final int GET_PERCENT = 10;
+
+	private enum ListToUse {
+		lockedDoubleLinkedList, flatCombiningList
+	};
+
+	public static void main(String[] args) throws InterruptedException {
+		int seconds = (args.length > 0) ? Integer.parseInt(args[0]) : 2;
+		int listSize = (args.length > 1) ? Integer.parseInt(args[1]) : 10000;
+
+		System.out.printf("%-24s %8s %16s%n", "list", "threads", "ops/sec");
+		for (int threads : THREAD_COUNTS) {
+			for (ListToUse listToUse : ListToUse.values()) {
+				IndexedUnsortedList<Integer> list = newList(listToUse);
+				for (int i = 0; i < listSize; i++) {
+					list.addToRear(i);
+				}
+
+				run(list, threads, seconds * 1000L); // warm up
+				double opsPerSecond = run(list, threads, seconds * 1000L) / (double) seconds;
+				System.out.printf("%-24s %8d %16.0f%n", listToUse, threads, opsPerSecond);
+			}
+		}
+	}
+
+	/**
+	 * @param listToUse kind of list to build
+	 * @return new empty list of the given kind
+	 */
+	private static IndexedUnsortedList<Integer> newList(ListToUse listToUse) {
+		switch (listToUse) {
+		case lockedDoubleLinkedList:
+			return new LockedList<Integer>(new IUDoubleLinkedList<Integer>());
+		case flatCombiningList:
+			return new IUFlatCombiningList<Integer>(new IUDoubleLinkedList<Integer>());
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Runs the workload from several threads for a while
+	 *
+	 * @param list    list to work on, kept near its starting size
+	 * @param threads number of threads
+	 * @param millis  how long to run
+	 * @return total operations completed
+	 */
+	private static long run(IndexedUnsortedList<Integer> list, int threads, long millis)
+			throws InterruptedException {
+		LongAdder operations = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] workers = new Thread[threads];
+		long[] deadline = new long[1];
+
+		for (int t = 0; t < threads; t++) {
+			final int seed = t;
+			workers[t] = new Thread(() -> {
+				Random random = new Random(seed);
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+
+				long done = 0;
+				while (System.nanoTime() < deadline[0]) {
+					int size = list.size();
+					int index = Math.max(0, size / 2 - CLUSTER_WIDTH / 2) + random.nextInt(CLUSTER_WIDTH);
+					try {
+						int choice = random.nextInt(100);
+						if (choice < GET_PERCENT) {
+							list.get(index);
+						} else if (choice % 2 == 0) {
+							list.add(index, seed);
+						} else {
+							list.remove(index);
+						}
+					} catch (IndexOutOfBoundsException e) {
+						// the list shrank under us, count it anyway
+					}
+					done++;
+				}
+				operations.add(done);
+			});
+			workers[t].start();
+		}
+
+		deadline[0] = System.nanoTime() + millis * 1000000L;
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		return operations.sum();
+	}
+
+	/** An IndexedUnsortedList where every call holds the lock on the list */
+	private static class LockedList<T> implements IndexedUnsortedList<T> {
+		private final IndexedUnsortedList<T> list;
+
+		/** @param list list to guard */
+		public LockedList(IndexedUnsortedList<T> list) {
+			this.list = list;
+		}
+
+		@Override
+		public void addToFront(T element) {
+			synchronized (list) {
+				list.addToFront(element);
+			}
+		}
+
+		@Override
+		public void addToRear(T element) {
+			synchronized (list) {
+				list.addToRear(element);
+			}
+		}
+
+		@Override
+		public void add(T element) {
+			synchronized (list) {
+				list.add(element);
+			}
+		}
+
+		@Override
+		public void addAfter(T element, T target) {
+			synchronized (list) {
+				list.addAfter(element, target);
+			}
+		}
+
+		@Override
+		public void add(int index, T element) {
+			synchronized (list) {
+				list.add(index, element);
+			}
+		}
+
+		@Override
+		public T removeFirst() {
+			synchronized (list) {
+				return list.removeFirst();
+			}
+		}
+
+		@Override
+		public T removeLast() {
+			synchronized (list) {
+				return list.removeLast();
+			}
+		}
+
+		@Override
+		public T remove(T element) {
+			synchronized (list) {
+				return list.remove(element);
+			}
+		}
+
+		@Override
+		public T remove(int index) {
+			synchronized (list) {
+				return list.remove(index);
+			}
+		}
+
+		@Override
+		public void set(int index, T element) {
+			synchronized (list) {
+				list.set(index, element);
+			}
+		}
+
+		@Override
+		public T get(int index) {
+			synchronized (list) {
+				return list.get(index);
+			}
+		}
+
+		@Override
+		public int indexOf(T element) {
+			synchronized (list) {
+				return list.indexOf(element);
+			}
+		}
+
+		@Override
+		public T first() {
+			synchronized (list) {
+				return list.first();
+			}
+		}
+
+		@Override
+		public T last() {
+			synchronized (list) {
+				return list.last();
+			}
+		}
+
+		@Override
+		public boolean contains(T target) {
+			synchronized (list) {
+				return list.contains(target);
+			}
+		}
+
+		@Override
+		public boolean isEmpty() {
+			synchronized (list) {
+				return list.isEmpty();
+			}
+		}
+
+		@Override
+		public int size() {
+			synchronized (list) {
+				return list.size();
+			}
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return list.iterator(); // not used by the benchmark
+		}
+
+		@Override
+		public ListIterator<T> listIterator() {
+			return list.listIterator();
+		}
+
+		@Override
+		public ListIterator<T> listIterator(int startingIndex) {
+			return list.listIterator(startingIndex);
+		}
+	}
+}
@@ -0,0 +1,199 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counting Bloom filter over the elements of a list, kept beside the list
+ * by the list itself.
+ * Every element sets several counters chosen from its hashCode(), and
+ * removing it lowers them again, so the filter follows the list through
+ * adds and removes. If any counter of an element is zero the list
+ * certainly does not hold it, which lets a lookup for an absent element
+ * stop without scanning. If all are set the element may be there, and
+ * the list has to look; when the list then finds nothing it reports a
+ * false positive, so the observed false-positive rate can be read back.
+ * A counter that reaches its ceiling sticks there, since it no longer
+ * knows how far to come back down. Stuck counters left behind by many
+ * removals, or far more or far fewer elements than the filter was sized
+ * for, make it less useful; needsRebuild() says when. The list asks
+ * after each change and then rebuilds the filter from its elements with
+ * reset(), so lookups only ever read the counters and can run at the same
+ * time as each other. The thresholds are far enough apart that rebuilding
+ * costs O(1) amortized per add or remove.
+ * The lookup statistics are LongAdders, so concurrent lookups count
+ * without a lock.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <E> type of the elements
+ */
+public class CountingBloomFilter<E> {
+	private static final int MIN_EXPECTED = 16;
+	private static final int COUNTERS_PER_ELEMENT = 10; // about 1% false positives
+	private static final byte CEILING = Byte.MAX_VALUE;
+
+	private byte[] counters;
+	private int hashes;
+	private int expected;
+	private int elements;
+	private int stuck; // counters at the ceiling
+	private int removals; // since the last reset
+	private final LongAdder queries = new LongAdder();
+	private final LongAdder negatives = new LongAdder();
+	private final LongAdder falsePositives = new LongAdder();
+
+	/**
+	 * Creates an empty filter
+	 *
+	 * @param expectedElements how many elements the filter is sized for
+	 */
+	public CountingBloomFilter(int expectedElements) {
+		reset(expectedElements);
+	}
+
+	/**
+	 * Empties the filter and sizes it again, keeping the statistics. The
+	 * list adds its elements back afterward.
+	 *
+	 * @param expectedElements how many elements the filter is sized for
+	 */
+	public void reset(int expectedElements) {
+		expected = Math.max(MIN_EXPECTED, expectedElements);
+		counters = new byte[expected * COUNTERS_PER_ELEMENT];
+		hashes = Math.max(1, (int) Math.round(COUNTERS_PER_ELEMENT * Math.log(2)));
+		elements = 0;
+		stuck = 0;
+		removals = 0;
+	}
+
+	/**
+	 * @param hash  mixed hash of an element
+	 * @param probe which of the element's counters, 0 <= probe < hashes
+	 * @return position of that counter
+	 */
+	private int counterFor(int hash, int probe) {
+		int step = (hash >>> 16) | 1; // odd, so the probes differ
+		return Math.floorMod(hash + probe * step, counters.length);
+	}
+
+	/**
+	 * @param element element to hash
+	 * @return well mixed hash of element
+	 */
+	private static int mix(Object element) {
+		int hash = element.hashCode() * 0x9E3779B9;
+		return hash ^ (hash >>> 15);
+	}
+
+	/**
+	 * Counts one more copy of element
+	 *
+	 * @param element element added to the list
+	 */
+	public void add(E element) {
+		int hash = mix(element);
+		for (int probe = 0; probe < hashes; probe++) {
+			int counter = counterFor(hash, probe);
+			if (counters[counter] < CEILING) {
+				counters[counter]++;
+				if (counters[counter] == CEILING) {
+					stuck++;
+				}
+			}
+		}
+		elements++;
+	}
+
+	/**
+	 * Counts one less copy of element
+	 *
+	 * @param element element removed from the list
+	 */
+	public void remove(E element) {
+		int hash = mix(element);
+		for (int probe = 0; probe < hashes; probe++) {
+			int counter = counterFor(hash, probe);
+			if (counters[counter] > 0 && counters[counter] < CEILING) {
+				counters[counter]--;
+			}
+		}
+		elements--;
+		removals++;
+	}
+
+	/**
+	 * @param element element to look up
+	 * @return false if the list certainly does not hold element
+	 */
+	public boolean mightContain(E element) {
+		queries.increment();
+		int hash = mix(element);
+		for (int probe = 0; probe < hashes; probe++) {
+			if (counters[counterFor(hash, probe)] == 0) {
+				negatives.increment();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Records that an element the filter let through was not in the list */
+	public void recordFalsePositive() {
+		falsePositives.increment();
+	}
+
+	/**
+	 * @return true if the element count has left the range the filter was
+	 *         sized for, or stuck counters have outlived many removals
+	 */
+	public boolean needsRebuild() {
+		return elements > 2 * expected || (expected > MIN_EXPECTED && elements < expected / 4)
+				|| (stuck > 0 && removals > expected);
+	}
+
+	/** @return number of elements counted */
+	public int size() {
+		return elements;
+	}
+
+	/** @return number of elements the filter is sized for */
+	public int capacity() {
+		return expected;
+	}
+
+	/** @return number of mightContain() calls */
+	public long queries() {
+		return queries.sum();
+	}
+
+	/** @return number of mightContain() calls answered with a certain no */
+	public long negatives() {
+		return negatives.sum();
+	}
+
+	/** @return number of absent elements the filter let through */
+	public long falsePositives() {
+		return falsePositives.sum();
+	}
+
+	/**
+	 * @return fraction of lookups for absent elements that the filter let
+	 *         through, or 0 before there have been any
+	 */
+	public double falsePositiveRate() {
+		long positives = falsePositives.sum();
+		long absent = negatives.sum() + positives;
+		return (absent == 0) ? 0.0 : (double) positives / absent;
+	}
+
+	/** Resets the statistics */
+	public void resetCounters() {
+		queries.reset();
+		negatives.reset();
+		falsePositives.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "elements: " + elements + "/" + expected + " queries: " + queries() + " negatives: " + negatives()
+				+ " false positives: " + falsePositives();
+	}
+}
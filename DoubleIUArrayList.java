@@ -0,0 +1,450 @@
+import java.util.Arrays;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Array-based list of double values, backed by a double[] instead of boxed Doubles.
+ * The addDouble(), getDouble(), setDouble(), removeDoubleAt() and indexOfDouble() methods and
+ * the PrimitiveIterator.OfDouble returned by doubleIterator() never box. The
+ * IndexedUnsortedList&lt;Double&gt; methods are a boxed view of the same values
+ * for code written against the interface.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ */
+public class DoubleIUArrayList implements IndexedUnsortedList<Double> {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int NOT_FOUND = -1;
+
+	private double[] array;
+	private int rear;
+	private int modCount;
+
+	/** Creates an empty list with default initial capacity */
+	public DoubleIUArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 */
+	public DoubleIUArrayList(int initialCapacity) {
+		array = new double[Math.max(1, initialCapacity)];
+		rear = 0;
+		modCount = 0;
+	}
+
+	/** Double the capacity of array */
+	private void expandCapacity() {
+		if (array.length == rear) {
+			array = Arrays.copyOf(array, array.length * 2);
+		}
+	}
+
+	/**
+	 * Adds value to the rear of this list.
+	 *
+	 * @param value the value to be added
+	 */
+	public void addDouble(double value) {
+		expandCapacity();
+
+		array[rear] = value;
+		rear++;
+		modCount++;
+	}
+
+	/**
+	 * Inserts value at the specified index.
+	 *
+	 * @param index the index to insert at
+	 * @param value the value to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+	 */
+	public void addDouble(int index, double value) {
+		if (index < 0 || index > rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		expandCapacity();
+
+		// shift elements
+		System.arraycopy(array, index, array, index + 1, rear - index);
+		array[index] = value;
+		rear++;
+		modCount++;
+	}
+
+	/**
+	 * Removes and returns the value at the specified index.
+	 *
+	 * @param index the index of the value to remove
+	 * @return the removed value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public double removeDoubleAt(int index) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		double retVal = array[index];
+
+		rear--;
+		// shift elements
+		System.arraycopy(array, index + 1, array, index, rear - index);
+		modCount++;
+
+		return retVal;
+	}
+
+	/**
+	 * Replaces the value at the specified index.
+	 *
+	 * @param index the index of the value to replace
+	 * @param value the replacement value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public void setDouble(int index, double value) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		array[index] = value;
+		modCount++;
+	}
+
+	/**
+	 * Returns the value at the specified index.
+	 *
+	 * @param index the index of the value
+	 * @return the value at index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public double getDouble(int index) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+		return array[index];
+	}
+
+	/**
+	 * Returns the index of the first occurrence of value.
+	 * Values match the way Double.equals() matches them, so NaN is found
+	 * and 0.0 and -0.0 are different.
+	 *
+	 * @param value the value to look for
+	 * @return the index of value or -1 if it is not in the list
+	 */
+	public int indexOfDouble(double value) {
+		long bits = Double.doubleToLongBits(value);
+		for (int i = 0; i < rear; i++) {
+			if (Double.doubleToLongBits(array[i]) == bits) {
+				return i;
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Returns true if this list contains value.
+	 *
+	 * @param value the value to look for
+	 * @return true if the list contains value
+	 */
+	public boolean containsDouble(double value) {
+		return (indexOfDouble(value) != NOT_FOUND);
+	}
+
+	/**
+	 * Returns an iterator over the values in this list that does not box.
+	 *
+	 * @return a PrimitiveIterator over the values in this list
+	 */
+	public PrimitiveIterator.OfDouble doubleIterator() {
+		return new DoubleALIterator(0);
+	}
+
+	@Override
+	public void addToFront(Double element) {
+		addDouble(0, element);
+	}
+
+	@Override
+	public void addToRear(Double element) {
+		addDouble(element);
+	}
+
+	@Override
+	public void add(Double element) {
+		addDouble(element);
+	}
+
+	@Override
+	public void addAfter(Double element, Double target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		addDouble(index + 1, element);
+	}
+
+	@Override
+	public void add(int index, Double element) {
+		addDouble(index, element);
+	}
+
+	@Override
+	public Double removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return removeDoubleAt(0);
+	}
+
+	@Override
+	public Double removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return removeDoubleAt(rear - 1);
+	}
+
+	@Override
+	public Double remove(Double element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		return removeDoubleAt(index);
+	}
+
+	@Override
+	public Double remove(int index) {
+		return removeDoubleAt(index);
+	}
+
+	@Override
+	public void set(int index, Double element) {
+		setDouble(index, element);
+	}
+
+	@Override
+	public Double get(int index) {
+		return getDouble(index);
+	}
+
+	@Override
+	public int indexOf(Double element) {
+		if (element == null) { // null is never stored
+			return NOT_FOUND;
+		}
+		return indexOfDouble(element);
+	}
+
+	@Override
+	public Double first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[0];
+	}
+
+	@Override
+	public Double last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[rear - 1];
+	}
+
+	@Override
+	public boolean contains(Double target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return rear == 0;
+	}
+
+	@Override
+	public int size() {
+		return rear;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (int i = 0; i < rear; i++) {
+			str.append(array[i]);
+			str.append(", ");
+		}
+		if (rear > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public PrimitiveIterator.OfDouble iterator() {
+		return new DoubleALIterator(0);
+	}
+
+	@Override
+	public ListIterator<Double> listIterator() {
+		return new DoubleALIterator(0);
+	}
+
+	@Override
+	public ListIterator<Double> listIterator(int startingIndex) {
+		return new DoubleALIterator(startingIndex);
+	}
+
+	/** ListIterator (and primitive iterator) for DoubleIUArrayList */
+	private class DoubleALIterator implements ListIterator<Double>, PrimitiveIterator.OfDouble {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public DoubleALIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > rear) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < rear;
+		}
+
+		@Override
+		public double nextDouble() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return array[lastReturnedIndex];
+		}
+
+		@Override
+		public Double next() {
+			return nextDouble();
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public Double previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return array[lastReturnedIndex];
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			removeDoubleAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+
+			iterModCount = modCount;
+		}
+
+		@Override
+		public void set(Double e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			setDouble(lastReturnedIndex, e);
+
+			iterModCount = modCount;
+		}
+
+		@Override
+		public void add(Double e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			addDouble(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+
+			iterModCount = modCount;
+		}
+	}
+}
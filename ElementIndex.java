@@ -0,0 +1,106 @@
+import java.util.HashMap;
+
+/**
+ * Hash index from elements to where they are held in a list, kept beside
+ * the list by the list itself.
+ * For every distinct element the index counts how many times the list
+ * holds it, so contains() is a single hash lookup. For an element held
+ * exactly once it also remembers one position (a node, or an array
+ * index) that the list can go to directly. An element held more than
+ * once has no position, since only a scan of the list can tell which
+ * copy comes first; the list scans for those and may then place() the
+ * answer once the element is down to one copy again.
+ * What a position means, and whether a remembered one can go stale, is up
+ * to the list.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <E> type of the elements
+ * @param <P> type of a position in the list
+ */
+public class ElementIndex<E, P> {
+	private final HashMap<E, Entry<P>> entries;
+
+	/** Creates an empty index */
+	public ElementIndex() {
+		entries = new HashMap<E, Entry<P>>();
+	}
+
+	/**
+	 * Records one more copy of element
+	 *
+	 * @param element  element added to the list
+	 * @param position where it was added
+	 */
+	public void add(E element, P position) {
+		Entry<P> entry = entries.get(element);
+		if (entry == null) {
+			entry = new Entry<P>();
+			entries.put(element, entry);
+		}
+
+		entry.count++;
+		entry.position = (entry.count == 1) ? position : null;
+	}
+
+	/**
+	 * Records one less copy of element
+	 *
+	 * @param element element removed from the list
+	 */
+	public void remove(E element) {
+		Entry<P> entry = entries.get(element);
+		if (entry == null) {
+			return;
+		}
+
+		entry.count--;
+		if (entry.count == 0) {
+			entries.remove(element);
+		} else {
+			entry.position = null; // whichever copy is left has to be found again
+		}
+	}
+
+	/**
+	 * Remembers where element is, if the list holds exactly one copy
+	 *
+	 * @param element  element in the list
+	 * @param position where it is now
+	 */
+	public void place(E element, P position) {
+		Entry<P> entry = entries.get(element);
+		if (entry != null && entry.count == 1) {
+			entry.position = position;
+		}
+	}
+
+	/**
+	 * @param element element to look up
+	 * @return how many times the list holds element
+	 */
+	public int count(E element) {
+		Entry<P> entry = entries.get(element);
+		return (entry == null) ? 0 : entry.count;
+	}
+
+	/**
+	 * @param element element to look up
+	 * @return remembered position of the only copy of element, or null
+	 */
+	public P position(E element) {
+		Entry<P> entry = entries.get(element);
+		return (entry == null) ? null : entry.position;
+	}
+
+	/** Forgets every element */
+	public void clear() {
+		entries.clear();
+	}
+
+	/** Copy count and position of one distinct element */
+	private static class Entry<P> {
+		private int count;
+		private P position; // null unless count is 1 and the position is known
+	}
+}
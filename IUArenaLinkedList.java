@@ -0,0 +1,547 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Doubly linked implementation of IndexedUnsortedList with no node objects.
+ * Every element lives in a slot of one Object array, and the links
+ * between slots are slot numbers kept in two parallel int arrays, next and
+ * prev, so each element costs two ints of links and the whole list is
+ * four objects for the garbage collector to scan however long it gets.
+ * Slots freed by removals are chained through next into a free list and
+ * reused by later adds before the arrays grow. compact() renumbers the
+ * slots into list order so traversal walks the arrays front to back again
+ * after heavy churn.
+ * Positional methods walk from whichever end of the list is closer.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUArenaLinkedList<T> implements IndexedUnsortedList<T> {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int NOT_FOUND = -1;
+	private static final int NIL = -1; // end of a chain of links
+
+	private Object[] elements;
+	private int[] next;
+	private int[] prev;
+	private int head, tail;
+	private int free; // first slot of the free list
+	private int size;
+	private int modCount;
+
+	/** Creates an empty list with default initial capacity */
+	public IUArenaLinkedList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 */
+	public IUArenaLinkedList(int initialCapacity) {
+		int capacity = Math.max(1, initialCapacity);
+		elements = new Object[capacity];
+		next = new int[capacity];
+		prev = new int[capacity];
+		head = tail = NIL;
+		chainFree(0, capacity);
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * Chains the slots from start up to end into the free list, replacing
+	 * whatever free list there was
+	 *
+	 * @param start first unused slot
+	 * @param end   one past the last unused slot
+	 */
+	private void chainFree(int start, int end) {
+		for (int slot = start; slot < end - 1; slot++) {
+			next[slot] = slot + 1;
+		}
+		next[end - 1] = NIL;
+		free = start;
+	}
+
+	/** Double the capacity of the arrays when no free slot is left */
+	private void expandCapacity() {
+		if (free == NIL) {
+			int capacity = elements.length;
+			elements = Arrays.copyOf(elements, capacity * 2);
+			next = Arrays.copyOf(next, capacity * 2);
+			prev = Arrays.copyOf(prev, capacity * 2);
+			chainFree(capacity, capacity * 2);
+		}
+	}
+
+	/**
+	 * Takes a slot off the free list and stores element in it
+	 *
+	 * @param element element to store
+	 * @return the slot, not yet linked into the list
+	 */
+	private int allocate(T element) {
+		expandCapacity();
+		int slot = free;
+		free = next[slot];
+		elements[slot] = element;
+		return slot;
+	}
+
+	/**
+	 * Links slot into the list in front of successor.
+	 * Does not update modCount.
+	 *
+	 * @param slot      unlinked slot
+	 * @param successor slot to link in front of, or NIL to link at the end
+	 */
+	private void linkBefore(int slot, int successor) {
+		int predecessor = (successor == NIL) ? tail : prev[successor];
+
+		next[slot] = successor;
+		prev[slot] = predecessor;
+		if (predecessor == NIL) { // front of list
+			head = slot;
+		} else {
+			next[predecessor] = slot;
+		}
+		if (successor == NIL) { // end of list
+			tail = slot;
+		} else {
+			prev[successor] = slot;
+		}
+
+		size++;
+	}
+
+	/**
+	 * Unlinks slot from the list and puts it on the free list.
+	 * Does not update modCount.
+	 *
+	 * @param slot linked slot
+	 * @return element that was stored in slot
+	 */
+	@SuppressWarnings("unchecked")
+	private T unlink(int slot) {
+		T retVal = (T) elements[slot];
+		int predecessor = prev[slot];
+		int successor = next[slot];
+
+		if (predecessor == NIL) { // front of list
+			head = successor;
+		} else {
+			next[predecessor] = successor;
+		}
+		if (successor == NIL) { // end of list
+			tail = predecessor;
+		} else {
+			prev[successor] = predecessor;
+		}
+
+		elements[slot] = null; // let the element be collected
+		next[slot] = free;
+		free = slot;
+		size--;
+
+		return retVal;
+	}
+
+	/**
+	 * @param index position to find, 0 <= index <= size
+	 * @return slot at index, or NIL if index is size
+	 */
+	private int slotAt(int index) {
+		if (index == size) {
+			return NIL;
+		}
+
+		int slot;
+		if (index < size / 2) { // walk from the closer end
+			slot = head;
+			for (int i = 0; i < index; i++) {
+				slot = next[slot];
+			}
+		} else {
+			slot = tail;
+			for (int i = size - 1; i > index; i--) {
+				slot = prev[slot];
+			}
+		}
+		return slot;
+	}
+
+	/**
+	 * @param element element to look for
+	 * @return first slot holding element, or NIL
+	 */
+	private int find(T element) {
+		int slot = head;
+		while (slot != NIL && !elements[slot].equals(element)) {
+			slot = next[slot];
+		}
+		return slot;
+	}
+
+	/**
+	 * Renumbers the slots so the list occupies slots 0 to size - 1 in
+	 * order, and shrinks the arrays to fit. Invalidates iterators.
+	 */
+	public void compact() {
+		int capacity = Math.max(DEFAULT_CAPACITY, size);
+		Object[] newElements = new Object[capacity];
+		int slot = head;
+		for (int i = 0; i < size; i++) {
+			newElements[i] = elements[slot];
+			slot = next[slot];
+		}
+
+		elements = newElements;
+		next = new int[capacity];
+		prev = new int[capacity];
+		for (int i = 0; i < size; i++) {
+			next[i] = i + 1;
+			prev[i] = i - 1;
+		}
+		if (size > 0) {
+			next[size - 1] = NIL;
+			head = 0;
+			tail = size - 1;
+		} else {
+			head = tail = NIL;
+		}
+
+		free = NIL;
+		if (size < capacity) {
+			chainFree(size, capacity);
+		}
+		modCount++;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		linkBefore(allocate(element), head);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		linkBefore(allocate(element), NIL);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int targetSlot = find(target);
+		if (targetSlot == NIL) {
+			throw new NoSuchElementException();
+		}
+
+		linkBefore(allocate(element), next[targetSlot]);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int successor = slotAt(index);
+		linkBefore(allocate(element), successor);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = unlink(head);
+		modCount++;
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = unlink(tail);
+		modCount++;
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int slot = find(element);
+		if (slot == NIL) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = unlink(slot);
+		modCount++;
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = unlink(slotAt(index));
+		modCount++;
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		elements[slotAt(index)] = element;
+		modCount++;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return (T) elements[slotAt(index)];
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int index = 0;
+		for (int slot = head; slot != NIL; slot = next[slot]) {
+			if (elements[slot].equals(element)) {
+				return index;
+			}
+			index++;
+		}
+
+		return NOT_FOUND;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return (T) elements[head];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return (T) elements[tail];
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (find(target) != NIL);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (int slot = head; slot != NIL; slot = next[slot]) {
+			str.append(elements[slot].toString());
+			str.append(", ");
+		}
+		if (size > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new ArenaIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new ArenaIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new ArenaIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUArenaLinkedList */
+	private class ArenaIterator implements ListIterator<T> {
+		private int nextSlot; // NIL at the end of the list
+		private int lastReturnedSlot;
+		private int nextIndex;
+		private int iterModCount;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public ArenaIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextSlot = slotAt(startingIndex);
+			nextIndex = startingIndex;
+			lastReturnedSlot = NIL;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextSlot != NIL;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedSlot = nextSlot;
+			nextSlot = next[nextSlot];
+			nextIndex++;
+
+			return (T) elements[lastReturnedSlot];
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextSlot = (nextSlot == NIL) ? tail : prev[nextSlot];
+			lastReturnedSlot = nextSlot;
+			nextIndex--;
+
+			return (T) elements[lastReturnedSlot];
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedSlot == NIL) {
+				throw new IllegalStateException();
+			}
+
+			if (lastReturnedSlot == nextSlot) { // removed after previous()
+				nextSlot = next[nextSlot];
+			} else {
+				nextIndex--;
+			}
+			unlink(lastReturnedSlot);
+
+			lastReturnedSlot = NIL;
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedSlot == NIL) {
+				throw new IllegalStateException();
+			}
+
+			elements[lastReturnedSlot] = e;
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			linkBefore(allocate(e), nextSlot);
+			nextIndex++;
+
+			lastReturnedSlot = NIL;
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
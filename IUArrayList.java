@@ -1,11 +1,21 @@
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.ConcurrentModificationException;
+import java.util.function.Predicate;
 
 /**
  * Array-based implementation of IndexedUnsortedList.
+ * setHashIndexed(true) keeps an ElementIndex of the elements, so
+ * contains() is a hash lookup and indexOf(), remove(T) and addAfter() go
+ * straight to an element held only once. Remembered indexes go stale when
+ * elements shift; they are checked on use and renumbered all at once by
+ * the first lookup that finds one stale.
+ * setBloomFiltered(true) keeps a CountingBloomFilter of the elements, so
+ * indexOf(), contains(), remove(T) and addAfter() turn away most absent
+ * elements without a scan.
  * An Iterator with working remove() method is implemented, but
  * ListIterator is unsupported.
  * 
@@ -20,6 +30,8 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 	private T[] array;
 	private int rear;
 	private int modCount;
+	private ElementIndex<T, Integer> elementIndex; // null unless hash indexed
+	private CountingBloomFilter<T> bloomFilter; // null unless Bloom filtered
 
 	/** Creates an empty list with default initial capacity */
 	public IUArrayList() {
@@ -41,22 +53,154 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 	/** Double the capacity of array */
 	private void expandCapacity() {
 		if (array.length == rear) {
-			array = Arrays.copyOf(array, array.length * 2);
+			array = Arrays.copyOf(array, Math.max(1, array.length * 2));
+		}
+	}
+
+	/**
+	 * Grow array once, at least doubling it, so it holds minCapacity elements
+	 * 
+	 * @param minCapacity number of elements array must hold
+	 */
+	private void ensureCapacity(int minCapacity) {
+		if (array.length < minCapacity) {
+			array = Arrays.copyOf(array, Math.max(minCapacity, array.length * 2));
+		}
+	}
+
+	/**
+	 * Turns the hash index of the elements on or off
+	 * 
+	 * @param hashIndexed true to build and keep the index, false to drop it
+	 */
+	public void setHashIndexed(boolean hashIndexed) {
+		if (!hashIndexed) {
+			elementIndex = null;
+		} else if (elementIndex == null) {
+			elementIndex = new ElementIndex<T, Integer>();
+			for (int i = 0; i < rear; i++) {
+				elementIndex.add(array[i], i);
+			}
+		}
+	}
+
+	/** @return true if the list keeps a hash index of its elements */
+	public boolean isHashIndexed() {
+		return elementIndex != null;
+	}
+
+	/**
+	 * Turns the Bloom filter of the elements on or off
+	 * 
+	 * @param bloomFiltered true to build and keep the filter, false to drop it
+	 */
+	public void setBloomFiltered(boolean bloomFiltered) {
+		if (!bloomFiltered) {
+			bloomFilter = null;
+		} else if (bloomFilter == null) {
+			bloomFilter = new CountingBloomFilter<T>(rear);
+			rebuildBloomFilter();
+		}
+	}
+
+	/** @return true if the list keeps a Bloom filter of its elements */
+	public boolean isBloomFiltered() {
+		return bloomFilter != null;
+	}
+
+	/**
+	 * Returns the Bloom filter so its statistics can be read. The filter
+	 * must not be changed by the caller.
+	 * 
+	 * @return the Bloom filter, or null if the list has none
+	 */
+	public CountingBloomFilter<T> getBloomFilter() {
+		return bloomFilter;
+	}
+
+	/**
+	 * Asks the Bloom filter, if there is one, whether element is certainly
+	 * absent. Only reads the filter, so lookups stay read-only.
+	 * 
+	 * @param element element to look for
+	 * @return true if the list certainly does not hold element
+	 */
+	private boolean absent(T element) {
+		return bloomFilter != null && !bloomFilter.mightContain(element);
+	}
+
+	/**
+	 * Rebuilds the Bloom filter, if there is one, once it has drifted from
+	 * the list. Mutators call this last, when the list is consistent again.
+	 */
+	private void settleBloomFilter() {
+		if (bloomFilter != null && bloomFilter.needsRebuild()) {
+			rebuildBloomFilter();
+		}
+	}
+
+	/** Sizes the Bloom filter for the list as it is now and refills it */
+	public void rebuildBloomFilter() {
+		if (bloomFilter != null) {
+			bloomFilter.reset(rear);
+			for (int i = 0; i < rear; i++) {
+				bloomFilter.add(array[i]);
+			}
+		}
+	}
+
+	/**
+	 * Updates the hash index and Bloom filter, if there are those, for an
+	 * element added to the list
+	 * 
+	 * @param element  element added
+	 * @param position where it was added
+	 */
+	private void recordAdd(T element, int position) {
+		if (elementIndex != null) {
+			elementIndex.add(element, position);
+		}
+		if (bloomFilter != null) {
+			bloomFilter.add(element);
+		}
+	}
+
+	/**
+	 * Updates the hash index and Bloom filter, if there are those, for an
+	 * element removed from the list
+	 * 
+	 * @param element element removed
+	 */
+	private void recordRemove(T element) {
+		if (elementIndex != null) {
+			elementIndex.remove(element);
+		}
+		if (bloomFilter != null) {
+			bloomFilter.remove(element);
+		}
+	}
+
+	/** Brings every remembered index in elementIndex up to date */
+	private void renumber() {
+		for (int i = 0; i < rear; i++) {
+			elementIndex.place(array[i], i);
 		}
 	}
 
 	@Override
 	public void addToFront(T element) {
+		expandCapacity();
+
 		// move elements one to the right
 		for (int index = rear; index > 0; index--) {
 			array[index] = array[index - 1];
 		}
 
-		expandCapacity();
-
 		array[0] = element;
 		rear++;
+		recordAdd(element, 0);
 		modCount++;
+		settleBloomFilter();
 	}
 
 	@Override
@@ -64,8 +208,10 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 		expandCapacity();
 
 		array[rear] = element;
+		recordAdd(element, rear);
 		rear++;
 		modCount++;
+		settleBloomFilter();
 	}
 
 	@Override
@@ -83,14 +229,16 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 
 		expandCapacity();
 
-		rear++;
 		//shift elements
-		for(int i = rear; i > index; i--) {
+		for(int i = rear; i > index + 1; i--) {
 			array[i] = array[i - 1];
 		}
+		rear++;
 
 		array[index + 1] = element;
+		recordAdd(element, index + 1);
 		modCount++;
+		settleBloomFilter();
 	}
 
 	@Override
@@ -108,7 +256,76 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 		}
 
 		array[index] = element;
+		recordAdd(element, index);
 		modCount++;
+		settleBloomFilter();
+	}
+
+	@Override
+	public void addAll(Iterable<? extends T> elements) {
+		addAll(rear, elements);
+	}
+
+	@Override
+	public void addAll(int index, Iterable<? extends T> elements) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		List<? extends T> batch = IndexedUnsortedList.batchOf(elements);
+		int count = batch.size();
+		if (count == 0) {
+			return;
+		}
+
+		ensureCapacity(rear + count);
+
+		// shift elements once to open a gap for the whole batch
+		System.arraycopy(array, index, array, index + count, rear - index);
+		for (int i = 0; i < count; i++) {
+			array[index + i] = batch.get(i);
+			recordAdd(array[index + i], index + i);
+		}
+
+		rear += count;
+		modCount++;
+		settleBloomFilter();
+	}
+
+	@Override
+	public void addAll(T[] elements) {
+		addAll(rear, Arrays.asList(elements));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int oldRear = rear;
+		int scan = 0;
+		int kept = 0;
+		try {
+			// compact the elements to keep toward the front in one pass
+			for (; scan < rear; scan++) {
+				T element = array[scan];
+				if (filter.test(element)) {
+					recordRemove(element);
+				} else {
+					array[kept] = element;
+					kept++;
+				}
+			}
+		} finally {
+			// if filter threw, the elements it did not get to are kept
+			System.arraycopy(array, scan, array, kept, rear - scan);
+			kept += rear - scan;
+			Arrays.fill(array, kept, rear, null);
+			rear = kept;
+			if (rear < oldRear) {
+				modCount++;
+				settleBloomFilter();
+			}
+		}
+
+		return rear < oldRear;
 	}
 
 	@Override
@@ -126,7 +343,9 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 		}
 
 		array[rear] = null;
+		recordRemove(retVal);
 		modCount++;
+		settleBloomFilter();
 
 		return retVal;
 	}
@@ -141,7 +360,9 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 
 		rear--;
 		array[rear] = null;
+		recordRemove(retVal);
 		modCount++;
+		settleBloomFilter();
 
 		return retVal;
 	}
@@ -161,7 +382,9 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 			array[i] = array[i + 1];
 		}
 		array[rear] = null;
+		recordRemove(retVal);
 		modCount++;
+		settleBloomFilter();
 
 		return retVal;
 	}
@@ -179,8 +402,11 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 		for(int i = index; i < rear; i++) {
 			array[i] = array[i + 1];
 		}
+		array[rear] = null;
 
+		recordRemove(retVal);
 		modCount++;
+		settleBloomFilter();
 
 		return retVal;
 	}
@@ -191,8 +417,11 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 			throw new IndexOutOfBoundsException();
 		}
 
+		recordRemove(array[index]);
+		recordAdd(element, index);
 		array[index] = element;
 		modCount++;
+		settleBloomFilter();
 	}
 
 	@Override
@@ -205,6 +434,28 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 
 	@Override
 	public int indexOf(T element) {
+		if (absent(element)) {
+			return NOT_FOUND;
+		}
+
+		if (elementIndex != null) {
+			int count = elementIndex.count(element);
+			if (count == 0) {
+				if (bloomFilter != null) {
+					bloomFilter.recordFalsePositive();
+				}
+				return NOT_FOUND;
+			}
+			if (count == 1) { // the only copy is wherever it was last seen, or renumbering finds it
+				Integer position = elementIndex.position(element);
+				if (position == null || position >= rear || !element.equals(array[position])) {
+					renumber();
+					position = elementIndex.position(element);
+				}
+				return position;
+			}
+		}
+
 		int index = NOT_FOUND;
 
 		if (!isEmpty()) {
@@ -218,6 +469,9 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 			}
 		}
 
+		if (index == NOT_FOUND && bloomFilter != null) {
+			bloomFilter.recordFalsePositive();
+		}
 		return index;
 	}
 
@@ -241,6 +495,9 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 
 	@Override
 	public boolean contains(T target) {
+		if (elementIndex != null) {
+			return elementIndex.count(target) > 0;
+		}
 		return (indexOf(target) != NOT_FOUND);
 	}
 
@@ -329,6 +586,7 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 			removable = false;
 
 			nextIndex--;
+			recordRemove(array[nextIndex]);
 			rear--;
 			// shift elements
 			for(int i = nextIndex; i < rear; i++) {
@@ -338,6 +596,8 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
 			array[rear] = null;
 
 			modCount++;
+
+			settleBloomFilter();
 			iterModCount++;
 		}
 	}
@@ -0,0 +1,837 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * B+tree implementation of IndexedUnsortedList.
+ * Elements are stored in wide leaf arrays that are linked side by side,
+ * and internal nodes record the number of elements under each child.
+ * get(), set(), add(int, T) and remove(int) descend O(log_B n) levels
+ * of wide nodes, and iteration streams through the leaf arrays in order.
+ * Appending to the last leaf or prepending to the first leaf splits off
+ * a nearly empty leaf, so lists built at either end fill their leaves.
+ * A List Iterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUBPlusTreeList<T> implements IndexedUnsortedList<T> {
+	private static final int DEFAULT_NODE_CAPACITY = 64;
+	private static final int NOT_FOUND = -1;
+
+	private BNode<T> root;
+	private int nodeCapacity;
+	private int modCount;
+
+	/** Creates an empty list with the default node capacity */
+	public IUBPlusTreeList() {
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list whose leaves hold up to nodeCapacity elements
+	 * and whose internal nodes hold up to nodeCapacity children
+	 *
+	 * @param nodeCapacity width of each node
+	 * @throws IllegalArgumentException if nodeCapacity < 4
+	 */
+	public IUBPlusTreeList(int nodeCapacity) {
+		if (nodeCapacity < 4) {
+			throw new IllegalArgumentException();
+		}
+		this.nodeCapacity = nodeCapacity;
+		root = new LeafNode<T>(nodeCapacity);
+		modCount = 0;
+	}
+
+	/** A node of the tree */
+	private abstract static class BNode<T> {
+		/** @return number of elements under this node */
+		abstract int size();
+
+		/** @return number of elements or children stored in this node */
+		abstract int width();
+	}
+
+	/** A leaf holding an array of elements, linked to its neighbors */
+	private static class LeafNode<T> extends BNode<T> {
+		private T[] elements;
+		private int count;
+		private LeafNode<T> next, previous;
+
+		/**
+		 * Creates an empty leaf, with one spare slot for overflow before a split
+		 *
+		 * @param capacity elements per leaf
+		 */
+		@SuppressWarnings("unchecked")
+		public LeafNode(int capacity) {
+			elements = (T[]) (new Object[capacity + 1]);
+			count = 0;
+			next = previous = null;
+		}
+
+		@Override
+		int size() {
+			return count;
+		}
+
+		@Override
+		int width() {
+			return count;
+		}
+	}
+
+	/** An internal node holding children and their element counts */
+	private static class InternalNode<T> extends BNode<T> {
+		private BNode<T>[] children;
+		private int[] sizes;
+		private int childCount;
+		private int total;
+
+		/**
+		 * Creates an empty internal node, with one spare slot for overflow before a split
+		 *
+		 * @param capacity children per node
+		 */
+		@SuppressWarnings("unchecked")
+		public InternalNode(int capacity) {
+			children = (BNode<T>[]) (new BNode<?>[capacity + 1]);
+			sizes = new int[capacity + 1];
+			childCount = 0;
+			total = 0;
+		}
+
+		/**
+		 * Inserts a child at position i
+		 *
+		 * @param i     position among the children, 0 <= i <= childCount
+		 * @param child node to insert
+		 */
+		private void insertChild(int i, BNode<T> child) {
+			for (int j = childCount; j > i; j--) {
+				children[j] = children[j - 1];
+				sizes[j] = sizes[j - 1];
+			}
+			children[i] = child;
+			sizes[i] = child.size();
+			childCount++;
+		}
+
+		/**
+		 * Removes the child at position i
+		 *
+		 * @param i position among the children, 0 <= i < childCount
+		 */
+		private void removeChild(int i) {
+			childCount--;
+			for (int j = i; j < childCount; j++) {
+				children[j] = children[j + 1];
+				sizes[j] = sizes[j + 1];
+			}
+			children[childCount] = null;
+		}
+
+		@Override
+		int size() {
+			return total;
+		}
+
+		@Override
+		int width() {
+			return childCount;
+		}
+	}
+
+	/**
+	 * A position in the list: an offset into a leaf, or a null leaf
+	 * for the position after the last element.
+	 */
+	private static class Cursor<T> {
+		private LeafNode<T> leaf;
+		private int offset;
+
+		/**
+		 * Creates a cursor at the given leaf and offset, moving on to
+		 * the next leaf if offset is past the end of this one
+		 *
+		 * @param leaf   leaf holding the position
+		 * @param offset offset into leaf
+		 */
+		public Cursor(LeafNode<T> leaf, int offset) {
+			moveTo(leaf, offset);
+		}
+
+		/**
+		 * Moves to the given leaf and offset, moving on to the next leaf
+		 * if offset is past the end of this one
+		 *
+		 * @param leaf   leaf holding the position
+		 * @param offset offset into leaf
+		 */
+		public void moveTo(LeafNode<T> leaf, int offset) {
+			while (leaf != null && offset >= leaf.count) { // past the end of leaf
+				offset -= leaf.count;
+				leaf = leaf.next;
+			}
+			this.leaf = leaf;
+			this.offset = (leaf == null) ? 0 : offset;
+		}
+	}
+
+	/**
+	 * Finds the position of index by descending from the root
+	 *
+	 * @param index list index, 0 <= index <= size
+	 * @return a cursor at index
+	 */
+	private Cursor<T> locate(int index) {
+		if (index == size()) {
+			return new Cursor<T>(null, 0);
+		}
+
+		BNode<T> current = root;
+		while (current instanceof InternalNode) {
+			InternalNode<T> internal = (InternalNode<T>) current;
+			int i = 0;
+			while (index >= internal.sizes[i]) {
+				index -= internal.sizes[i];
+				i++;
+			}
+			current = internal.children[i];
+		}
+
+		return new Cursor<T>((LeafNode<T>) current, index);
+	}
+
+	/** @return the leftmost leaf */
+	private LeafNode<T> firstLeaf() {
+		BNode<T> current = root;
+		while (current instanceof InternalNode) {
+			current = ((InternalNode<T>) current).children[0];
+		}
+		return (LeafNode<T>) current;
+	}
+
+	/** @return the rightmost leaf */
+	private LeafNode<T> lastLeaf() {
+		BNode<T> current = root;
+		while (current instanceof InternalNode) {
+			InternalNode<T> internal = (InternalNode<T>) current;
+			current = internal.children[internal.childCount - 1];
+		}
+		return (LeafNode<T>) current;
+	}
+
+	/**
+	 * Inserts element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		BNode<T> sibling = insert(root, index, element);
+
+		if (sibling != null) { // root split, grow a level
+			InternalNode<T> newRoot = new InternalNode<T>(nodeCapacity);
+			newRoot.insertChild(0, root);
+			newRoot.insertChild(1, sibling);
+			newRoot.total = root.size() + sibling.size();
+			root = newRoot;
+		}
+	}
+
+	/**
+	 * Inserts element at index under node
+	 *
+	 * @param node    subtree to insert into
+	 * @param index   index within the subtree
+	 * @param element element to insert
+	 * @return the new right sibling if node split, else null
+	 */
+	private BNode<T> insert(BNode<T> node, int index, T element) {
+		if (node instanceof LeafNode) {
+			return insertIntoLeaf((LeafNode<T>) node, index, element);
+		}
+
+		InternalNode<T> internal = (InternalNode<T>) node;
+		int i = 0;
+		while (i < internal.childCount - 1 && index > internal.sizes[i]) {
+			index -= internal.sizes[i];
+			i++;
+		}
+
+		BNode<T> sibling = insert(internal.children[i], index, element);
+		internal.total++;
+		if (sibling == null) {
+			internal.sizes[i]++;
+		} else {
+			internal.sizes[i] = internal.children[i].size();
+			internal.insertChild(i + 1, sibling);
+		}
+
+		if (internal.childCount <= nodeCapacity) {
+			return null;
+		}
+
+		// split the overfull internal node in half
+		InternalNode<T> newInternal = new InternalNode<T>(nodeCapacity);
+		int keep = internal.childCount / 2;
+		for (int j = keep; j < internal.childCount; j++) {
+			newInternal.children[newInternal.childCount] = internal.children[j];
+			newInternal.sizes[newInternal.childCount] = internal.sizes[j];
+			newInternal.childCount++;
+			newInternal.total += internal.sizes[j];
+			internal.children[j] = null;
+		}
+		internal.childCount = keep;
+		internal.total -= newInternal.total;
+
+		return newInternal;
+	}
+
+	/**
+	 * Inserts element into a leaf, splitting it if it overflows
+	 *
+	 * @param leaf    leaf to insert into
+	 * @param offset  position within the leaf
+	 * @param element element to insert
+	 * @return the new right leaf if leaf split, else null
+	 */
+	private LeafNode<T> insertIntoLeaf(LeafNode<T> leaf, int offset, T element) {
+		for (int i = leaf.count; i > offset; i--) {
+			leaf.elements[i] = leaf.elements[i - 1];
+		}
+		leaf.elements[offset] = element;
+		leaf.count++;
+
+		if (leaf.count <= nodeCapacity) {
+			return null;
+		}
+
+		int keep;
+		if (leaf.next == null && offset == leaf.count - 1) { // appending to the last leaf
+			keep = leaf.count - 1;
+		} else if (leaf.previous == null && offset == 0) { // prepending to the first leaf
+			keep = 1;
+		} else {
+			keep = leaf.count / 2;
+		}
+
+		LeafNode<T> newLeaf = new LeafNode<T>(nodeCapacity);
+		for (int i = keep; i < leaf.count; i++) {
+			newLeaf.elements[newLeaf.count] = leaf.elements[i];
+			newLeaf.count++;
+			leaf.elements[i] = null;
+		}
+		leaf.count = keep;
+
+		newLeaf.next = leaf.next;
+		newLeaf.previous = leaf;
+		if (leaf.next != null) {
+			leaf.next.previous = newLeaf;
+		}
+		leaf.next = newLeaf;
+
+		return newLeaf;
+	}
+
+	/**
+	 * Removes the element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		T retVal = remove(root, index);
+
+		if (root instanceof InternalNode && ((InternalNode<T>) root).childCount == 1) { // shrink a level
+			root = ((InternalNode<T>) root).children[0];
+		}
+
+		return retVal;
+	}
+
+	/**
+	 * Removes the element at index under node, fixing underfull children
+	 *
+	 * @param node  subtree to remove from
+	 * @param index index within the subtree
+	 * @return the removed element
+	 */
+	private T remove(BNode<T> node, int index) {
+		if (node instanceof LeafNode) {
+			LeafNode<T> leaf = (LeafNode<T>) node;
+			T retVal = leaf.elements[index];
+			leaf.count--;
+			for (int i = index; i < leaf.count; i++) {
+				leaf.elements[i] = leaf.elements[i + 1];
+			}
+			leaf.elements[leaf.count] = null;
+			return retVal;
+		}
+
+		InternalNode<T> internal = (InternalNode<T>) node;
+		int i = 0;
+		while (index >= internal.sizes[i]) {
+			index -= internal.sizes[i];
+			i++;
+		}
+
+		T retVal = remove(internal.children[i], index);
+		internal.sizes[i]--;
+		internal.total--;
+
+		if (internal.children[i].width() < nodeCapacity / 2 && internal.childCount > 1) {
+			rebalance(internal, (i + 1 < internal.childCount) ? i : i - 1);
+		}
+
+		return retVal;
+	}
+
+	/**
+	 * Merges or evens out the children at positions i and i + 1
+	 *
+	 * @param parent node holding both children
+	 * @param i      position of the left child
+	 */
+	private void rebalance(InternalNode<T> parent, int i) {
+		BNode<T> left = parent.children[i];
+		BNode<T> right = parent.children[i + 1];
+		boolean merge = left.width() + right.width() <= nodeCapacity;
+
+		if (left instanceof LeafNode) {
+			LeafNode<T> leftLeaf = (LeafNode<T>) left;
+			LeafNode<T> rightLeaf = (LeafNode<T>) right;
+			int target = merge ? leftLeaf.count + rightLeaf.count : (leftLeaf.count + rightLeaf.count) / 2;
+			moveLeafElements(leftLeaf, rightLeaf, target);
+			if (merge) { // unlink the emptied right leaf
+				leftLeaf.next = rightLeaf.next;
+				if (rightLeaf.next != null) {
+					rightLeaf.next.previous = leftLeaf;
+				}
+			}
+		} else {
+			InternalNode<T> leftInternal = (InternalNode<T>) left;
+			InternalNode<T> rightInternal = (InternalNode<T>) right;
+			int target = merge ? leftInternal.childCount + rightInternal.childCount
+					: (leftInternal.childCount + rightInternal.childCount) / 2;
+			moveChildren(leftInternal, rightInternal, target);
+		}
+
+		parent.sizes[i] = left.size();
+		parent.sizes[i + 1] = right.size();
+		if (merge) {
+			parent.removeChild(i + 1);
+		}
+	}
+
+	/**
+	 * Shifts elements between adjacent leaves until left holds target elements
+	 *
+	 * @param left   left leaf
+	 * @param right  right leaf
+	 * @param target element count for left afterwards
+	 */
+	private void moveLeafElements(LeafNode<T> left, LeafNode<T> right, int target) {
+		if (left.count < target) { // move from the front of right to the end of left
+			int moving = target - left.count;
+			for (int i = 0; i < moving; i++) {
+				left.elements[left.count + i] = right.elements[i];
+			}
+			for (int i = moving; i < right.count; i++) {
+				right.elements[i - moving] = right.elements[i];
+			}
+			for (int i = right.count - moving; i < right.count; i++) {
+				right.elements[i] = null;
+			}
+			left.count += moving;
+			right.count -= moving;
+		} else if (left.count > target) { // move from the end of left to the front of right
+			int moving = left.count - target;
+			for (int i = right.count - 1; i >= 0; i--) {
+				right.elements[i + moving] = right.elements[i];
+			}
+			for (int i = 0; i < moving; i++) {
+				right.elements[i] = left.elements[target + i];
+				left.elements[target + i] = null;
+			}
+			left.count -= moving;
+			right.count += moving;
+		}
+	}
+
+	/**
+	 * Shifts children between adjacent internal nodes until left holds target children
+	 *
+	 * @param left   left node
+	 * @param right  right node
+	 * @param target child count for left afterwards
+	 */
+	private void moveChildren(InternalNode<T> left, InternalNode<T> right, int target) {
+		while (left.childCount < target) { // move the first child of right to the end of left
+			int moved = right.sizes[0];
+			left.insertChild(left.childCount, right.children[0]);
+			left.total += moved;
+			right.removeChild(0);
+			right.total -= moved;
+		}
+		while (left.childCount > target) { // move the last child of left to the front of right
+			int moved = left.sizes[left.childCount - 1];
+			right.insertChild(0, left.children[left.childCount - 1]);
+			right.total += moved;
+			left.removeChild(left.childCount - 1);
+			left.total -= moved;
+		}
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(size(), element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(size() - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Cursor<T> cursor = locate(index);
+		cursor.leaf.elements[cursor.offset] = element;
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Cursor<T> cursor = locate(index);
+		return cursor.leaf.elements[cursor.offset];
+	}
+
+	@Override
+	public int indexOf(T element) {
+		LeafNode<T> current = firstLeaf();
+		int leafStart = 0;
+
+		while (current != null) {
+			for (int i = 0; i < current.count; i++) {
+				if (element.equals(current.elements[i])) {
+					return leafStart + i;
+				}
+			}
+			leafStart += current.count;
+			current = current.next;
+		}
+
+		return NOT_FOUND;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return firstLeaf().elements[0];
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		LeafNode<T> leaf = lastLeaf();
+		return leaf.elements[leaf.count - 1];
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public int size() {
+		return root.size();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (!isEmpty()) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new BPTIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new BPTIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new BPTIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUBPlusTreeList */
+	private class BPTIterator implements ListIterator<T> {
+		private Cursor<T> nextPosition;
+		private Cursor<T> lastReturned;
+		private int lastReturnedIndex;
+		private int nextIndex;
+		private int iterModCount;
+
+		/** Initialize iterator at the start of the list */
+		public BPTIterator() {
+			this(0);
+		}
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public BPTIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextPosition = locate(startingIndex);
+			lastReturned = null;
+			lastReturnedIndex = NOT_FOUND;
+			nextIndex = startingIndex;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextPosition.leaf != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturned = new Cursor<T>(nextPosition.leaf, nextPosition.offset);
+			lastReturnedIndex = nextIndex;
+			nextPosition.moveTo(nextPosition.leaf, nextPosition.offset + 1);
+			nextIndex++;
+
+			return lastReturned.leaf.elements[lastReturned.offset];
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			if (nextPosition.leaf == null) { // end of list
+				LeafNode<T> leaf = lastLeaf();
+				nextPosition.moveTo(leaf, leaf.count - 1);
+			} else if (nextPosition.offset > 0) { // same leaf
+				nextPosition.offset--;
+			} else { // end of previous leaf
+				LeafNode<T> leaf = nextPosition.leaf.previous;
+				nextPosition.moveTo(leaf, leaf.count - 1);
+			}
+
+			nextIndex--;
+			lastReturned = new Cursor<T>(nextPosition.leaf, nextPosition.offset);
+			lastReturnedIndex = nextIndex;
+
+			return lastReturned.leaf.elements[lastReturned.offset];
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			removeAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			nextPosition = locate(nextIndex); // leaves may have been merged
+			lastReturned = null;
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			lastReturned.leaf.elements[lastReturned.offset] = e;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			insertAt(nextIndex, e);
+			nextIndex++;
+			nextPosition = locate(nextIndex); // leaves may have been split
+			lastReturned = null;
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
@@ -0,0 +1,498 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+
+/**
+ * Circular array (ring buffer) implementation of IndexedUnsortedList.
+ * Elements are stored starting at a front offset and wrap around the
+ * end of the array, so adding or removing at either end is O(1) amortized
+ * while get() and set() stay O(1). Positional adds and removes shift
+ * toward whichever end of the list is closer.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUCircularArrayList<T> implements IndexedUnsortedList<T> {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int NOT_FOUND = -1;
+
+	private T[] array;
+	private int front;
+	private int size;
+	private int modCount;
+
+	/** Creates an empty list with default initial capacity */
+	public IUCircularArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 */
+	@SuppressWarnings("unchecked")
+	public IUCircularArrayList(int initialCapacity) {
+		array = (T[]) (new Object[Math.max(1, initialCapacity)]);
+		front = 0;
+		size = 0;
+		modCount = 0;
+	}
+
+	/** Double the capacity of array, unwrapping the elements to start at 0 */
+	@SuppressWarnings("unchecked")
+	private void expandCapacity() {
+		if (array.length == size) {
+			T[] newArray = (T[]) (new Object[array.length * 2]);
+			for (int i = 0; i < size; i++) {
+				newArray[i] = array[physical(i)];
+			}
+			array = newArray;
+			front = 0;
+		}
+	}
+
+	/**
+	 * Translates a list index into a position in the array
+	 *
+	 * @param index list index, 0 <= index <= size
+	 * @return array position holding that index
+	 */
+	private int physical(int index) {
+		int position = front + index;
+		if (position >= array.length) { // wrap around
+			position -= array.length;
+		}
+		return position;
+	}
+
+	/**
+	 * Inserts element at index, shifting toward the closer end.
+	 * Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		expandCapacity();
+
+		if (index < size / 2) { // shift the front part left
+			front = (front == 0) ? array.length - 1 : front - 1;
+			for (int i = 0; i < index; i++) {
+				array[physical(i)] = array[physical(i + 1)];
+			}
+		} else { // shift the rear part right
+			for (int i = size; i > index; i--) {
+				array[physical(i)] = array[physical(i - 1)];
+			}
+		}
+
+		array[physical(index)] = element;
+		size++;
+	}
+
+	/**
+	 * Removes the element at index, closing the hole from the closer end.
+	 * Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		T retVal = array[physical(index)];
+
+		if (index < size / 2) { // shift the front part right
+			for (int i = index; i > 0; i--) {
+				array[physical(i)] = array[physical(i - 1)];
+			}
+			array[front] = null;
+			front = physical(1);
+		} else { // shift the rear part left
+			for (int i = index; i < size - 1; i++) {
+				array[physical(i)] = array[physical(i + 1)];
+			}
+			array[physical(size - 1)] = null;
+		}
+
+		size--;
+		return retVal;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(size, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public void addAll(Iterable<? extends T> elements) {
+		addAll(size, elements);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void addAll(int index, Iterable<? extends T> elements) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		List<? extends T> batch = IndexedUnsortedList.batchOf(elements);
+		int count = batch.size();
+		if (count == 0) {
+			return;
+		}
+
+		if (size + count > array.length) { // grow once, laying the elements out around the gap
+			T[] newArray = (T[]) (new Object[Math.max(size + count, array.length * 2)]);
+			for (int i = 0; i < index; i++) {
+				newArray[i] = array[physical(i)];
+			}
+			for (int i = index; i < size; i++) {
+				newArray[i + count] = array[physical(i)];
+			}
+			array = newArray;
+			front = 0;
+		} else if (index < size / 2) { // shift the front part left once
+			front = Math.floorMod(front - count, array.length);
+			for (int i = 0; i < index; i++) {
+				array[physical(i)] = array[physical(i + count)];
+			}
+		} else { // shift the rear part right once
+			for (int i = size - 1; i >= index; i--) {
+				array[physical(i + count)] = array[physical(i)];
+			}
+		}
+
+		for (int i = 0; i < count; i++) {
+			array[physical(index + i)] = batch.get(i);
+		}
+		size += count;
+		modCount++;
+	}
+
+	@Override
+	public void addAll(T[] elements) {
+		addAll(size, Arrays.asList(elements));
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(size - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		array[physical(index)] = element;
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return array[physical(index)];
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int index = NOT_FOUND;
+
+		int i = 0;
+		while (index == NOT_FOUND && i < size) {
+			if (element.equals(array[physical(i)])) {
+				index = i;
+			} else {
+				i++;
+			}
+		}
+
+		return index;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[front];
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[physical(size - 1)];
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (size > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new CALIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new CALIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new CALIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUCircularArrayList */
+	private class CALIterator implements ListIterator<T> {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/** Initialize iterator at the start of the list */
+		public CALIterator() {
+			this(0);
+		}
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public CALIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < size;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return array[physical(lastReturnedIndex)];
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return array[physical(lastReturnedIndex)];
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			removeAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			array[physical(lastReturnedIndex)] = e;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			insertAt(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
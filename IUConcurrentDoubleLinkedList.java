@@ -0,0 +1,549 @@
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free doubly linked implementation of IndexedUnsortedList for use
+ * as a deque shared by many threads.
+ * The chain of next links from the head sentinel is the list. Every link
+ * change is a compare-and-set on one next link, so no thread ever blocks
+ * another. A node is removed by first marking its own next link, which
+ * freezes it, and then unlinking it from its predecessor; any thread that
+ * finds a marked node in its way helps unlink it. prev links are only
+ * hints used to find a predecessor quickly, which makes addToRear() and
+ * removeLast() as cheap as the front operations.
+ * size() is kept in a LongAdder so writers never contend on one counter;
+ * under concurrent changes it is an estimate.
+ * Iterators are weakly consistent instead of fail-fast: they never throw
+ * ConcurrentModificationException, see each element at most once, and may
+ * or may not see changes made after they were created. Positional methods
+ * count live nodes from the head and are likewise weakly consistent.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUConcurrentDoubleLinkedList<T> implements IndexedUnsortedList<T> {
+	private static final int NOT_FOUND = -1;
+
+	private final CNode<T> head; // sentinels, never removed
+	private final CNode<T> tail;
+	private final LongAdder count;
+
+	/** Creates an empty list */
+	public IUConcurrentDoubleLinkedList() {
+		head = new CNode<T>(null);
+		tail = new CNode<T>(null);
+		head.next.set(tail, false);
+		tail.prev = head;
+		count = new LongAdder();
+	}
+
+	/**
+	 * @param node a node or the tail
+	 * @return node, or the first node after it that has not been removed
+	 */
+	private CNode<T> live(CNode<T> node) {
+		while (node != tail && node.next.isMarked()) {
+			node = node.next.getReference();
+		}
+		return node;
+	}
+
+	/**
+	 * Finds the unremoved node whose next link points at x, helping unlink
+	 * any removed node found there
+	 *
+	 * @param x a node or the tail
+	 * @return predecessor of x, or null if x is no longer linked
+	 */
+	private CNode<T> findPred(CNode<T> x) {
+		boolean[] marked = new boolean[1];
+		CNode<T> start = x.prev;
+
+		while (true) {
+			while (start != head && start.next.isMarked()) { // back up to a live node
+				start = start.prev;
+			}
+
+			CNode<T> pred = start;
+			CNode<T> current = pred.next.get(marked);
+			while (current != x) {
+				if (current == null) { // walked past the tail
+					return null;
+				}
+				pred = current;
+				current = pred.next.get(marked);
+			}
+
+			if (!marked[0]) {
+				return pred;
+			}
+			unlink(pred);
+			start = pred.prev;
+		}
+	}
+
+	/**
+	 * Links node in directly after pred
+	 *
+	 * @param pred node to insert after
+	 * @param node new node
+	 * @return false if pred was removed first
+	 */
+	private boolean insertAfter(CNode<T> pred, CNode<T> node) {
+		boolean[] marked = new boolean[1];
+
+		while (true) {
+			CNode<T> succ = pred.next.get(marked);
+			if (marked[0]) {
+				return false;
+			}
+
+			node.next.set(succ, false);
+			node.prev = pred;
+			if (pred.next.compareAndSet(succ, node, false, false)) {
+				succ.prev = node;
+				count.increment();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Links node in directly before succ
+	 *
+	 * @param succ node or tail to insert before
+	 * @param node new node
+	 * @return false if succ was removed first
+	 */
+	private boolean insertBefore(CNode<T> succ, CNode<T> node) {
+		while (true) {
+			if (succ != tail && succ.next.isMarked()) {
+				return false;
+			}
+
+			CNode<T> pred = findPred(succ);
+			if (pred == null) {
+				return false;
+			}
+
+			node.next.set(succ, false);
+			node.prev = pred;
+			if (pred.next.compareAndSet(succ, node, false, false)) {
+				succ.prev = node;
+				count.increment();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Removes x by marking its next link, then unlinks it
+	 *
+	 * @param x node to remove
+	 * @return false if another thread removed x first
+	 */
+	private boolean delete(CNode<T> x) {
+		boolean[] marked = new boolean[1];
+		CNode<T> succ = x.next.get(marked);
+
+		while (!marked[0]) {
+			if (x.next.compareAndSet(succ, succ, false, true)) {
+				count.decrement();
+				unlink(x);
+				return true;
+			}
+			succ = x.next.get(marked);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Takes a marked node out of the chain of next links
+	 *
+	 * @param x removed node
+	 */
+	private void unlink(CNode<T> x) {
+		while (true) {
+			CNode<T> pred = findPred(x);
+			if (pred == null) { // another thread unlinked it
+				return;
+			}
+
+			CNode<T> succ = x.next.getReference();
+			if (pred.next.compareAndSet(x, succ, false, false)) {
+				succ.prev = pred;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @param index position to find, 0 <= index
+	 * @return the live node at index, or the tail if index is the size
+	 * @throws IndexOutOfBoundsException if index is past the size
+	 */
+	private CNode<T> nodeAt(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		CNode<T> current = live(head.next.getReference());
+		for (int i = 0; i < index; i++) {
+			if (current == tail) {
+				throw new IndexOutOfBoundsException();
+			}
+			current = live(current.next.getReference());
+		}
+
+		return current;
+	}
+
+	/**
+	 * @param element element to look for
+	 * @return the first live node holding element, or null
+	 */
+	private CNode<T> find(T element) {
+		CNode<T> current = live(head.next.getReference());
+
+		while (current != tail) {
+			if (element.equals(current.element)) {
+				return current;
+			}
+			current = live(current.next.getReference());
+		}
+
+		return null;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAfter(head, new CNode<T>(element));
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertBefore(tail, new CNode<T>(element));
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		CNode<T> node = new CNode<T>(element);
+
+		while (true) {
+			CNode<T> targetNode = find(target);
+			if (targetNode == null) {
+				throw new NoSuchElementException();
+			}
+
+			if (insertAfter(targetNode, node)) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		CNode<T> node = new CNode<T>(element);
+
+		while (!insertBefore(nodeAt(index), node)) {
+			// the node at index was removed, find the new one
+		}
+	}
+
+	@Override
+	public T removeFirst() {
+		while (true) {
+			CNode<T> first = live(head.next.getReference());
+			if (first == tail) {
+				throw new NoSuchElementException();
+			}
+
+			if (delete(first)) {
+				return first.element;
+			}
+		}
+	}
+
+	@Override
+	public T removeLast() {
+		while (true) {
+			CNode<T> last = findPred(tail);
+			if (last == head) {
+				throw new NoSuchElementException();
+			}
+
+			if (delete(last)) {
+				return last.element;
+			}
+		}
+	}
+
+	@Override
+	public T remove(T element) {
+		while (true) {
+			CNode<T> node = find(element);
+			if (node == null) {
+				throw new NoSuchElementException();
+			}
+
+			if (delete(node)) {
+				return node.element;
+			}
+		}
+	}
+
+	@Override
+	public T remove(int index) {
+		while (true) {
+			CNode<T> node = nodeAt(index);
+			if (node == tail) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			if (delete(node)) {
+				return node.element;
+			}
+		}
+	}
+
+	@Override
+	public void set(int index, T element) {
+		CNode<T> node = nodeAt(index);
+		if (node == tail) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		node.element = element;
+	}
+
+	@Override
+	public T get(int index) {
+		CNode<T> node = nodeAt(index);
+		if (node == tail) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return node.element;
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int index = 0;
+		CNode<T> current = live(head.next.getReference());
+
+		while (current != tail) {
+			if (element.equals(current.element)) {
+				return index;
+			}
+			index++;
+			current = live(current.next.getReference());
+		}
+
+		return NOT_FOUND;
+	}
+
+	@Override
+	public T first() {
+		CNode<T> first = live(head.next.getReference());
+		if (first == tail) {
+			throw new NoSuchElementException();
+		}
+
+		return first.element;
+	}
+
+	@Override
+	public T last() {
+		CNode<T> last = findPred(tail);
+		if (last == head) {
+			throw new NoSuchElementException();
+		}
+
+		return last.element;
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (find(target) != null);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return live(head.next.getReference()) == tail;
+	}
+
+	@Override
+	public int size() {
+		return (int) Math.max(0, count.sum());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (str.length() > 1) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new CDLLIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new CDLLIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new CDLLIterator(startingIndex);
+	}
+
+	/**
+	 * Node of IUConcurrentDoubleLinkedList. A marked next link means the
+	 * node has been removed and the link will never change again.
+	 */
+	private static class CNode<T> {
+		private volatile T element;
+		private final AtomicMarkableReference<CNode<T>> next;
+		private volatile CNode<T> prev; // hint, always some earlier node
+
+		/** @param element element to store */
+		public CNode(T element) {
+			this.element = element;
+			next = new AtomicMarkableReference<CNode<T>>(null, false);
+			prev = null;
+		}
+	}
+
+	/** Weakly consistent ListIterator (and basic iterator) for IUConcurrentDoubleLinkedList */
+	private class CDLLIterator implements ListIterator<T> {
+		private CNode<T> nextNode; // node returned by next(), or tail
+		private CNode<T> lastReturned;
+		private int nextIndex;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public CDLLIterator(int startingIndex) {
+			nextNode = nodeAt(startingIndex);
+			lastReturned = null;
+			nextIndex = startingIndex;
+		}
+
+		/** @return the live node before nextNode, or head */
+		private CNode<T> previousNode() {
+			while (true) {
+				nextNode = live(nextNode);
+				CNode<T> pred = findPred(nextNode);
+				if (pred != null) {
+					return pred;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			nextNode = live(nextNode);
+			return nextNode != tail;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturned = nextNode;
+			nextNode = nextNode.next.getReference();
+			nextIndex++;
+
+			return lastReturned.element;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return previousNode() != head;
+		}
+
+		@Override
+		public T previous() {
+			CNode<T> pred = previousNode();
+			if (pred == head) {
+				throw new NoSuchElementException();
+			}
+
+			nextNode = pred;
+			lastReturned = pred;
+			nextIndex--;
+
+			return pred.element;
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			delete(lastReturned);
+			if (lastReturned == nextNode) { // removed after previous()
+				nextNode = lastReturned.next.getReference();
+			} else {
+				nextIndex--;
+			}
+			lastReturned = null;
+		}
+
+		@Override
+		public void set(T e) {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			lastReturned.element = e;
+		}
+
+		@Override
+		public void add(T e) {
+			CNode<T> node = new CNode<T>(e);
+
+			while (!insertBefore(live(nextNode), node)) {
+				// nextNode was removed, move on to its live successor
+			}
+			nextIndex++;
+			lastReturned = null;
+		}
+	}
+}
@@ -0,0 +1,496 @@
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Non-blocking singly linked implementation of IndexedUnsortedList, after
+ * Harris's lock-free linked list.
+ * Each node's next link carries a mark bit. remove() first marks the
+ * node's next link, logically deleting the node and freezing the link,
+ * and then tries to swing the predecessor's link past it. Insertions
+ * compare-and-set an unmarked link, so nothing is ever linked after a
+ * deleted node. Every search that runs into a marked node snips it out
+ * before going on, so addAfter(), remove(T) and add(int, T) from many
+ * threads only ever contend on the links they actually change.
+ * get(), indexOf(), contains() and iteration only read links and skip
+ * marked nodes, so they never wait and never retry.
+ * size() is kept in a LongAdder; under concurrent changes it is an
+ * estimate. Iterators are weakly consistent instead of fail-fast and never
+ * throw ConcurrentModificationException.
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUConcurrentSingleLinkedList<T> implements IndexedUnsortedList<T> {
+	private static final int NOT_FOUND = -1;
+
+	private final HNode<T> head; // sentinels, never removed
+	private final HNode<T> tail;
+	private final LongAdder count;
+
+	/** Creates an empty list */
+	public IUConcurrentSingleLinkedList() {
+		tail = new HNode<T>(null, null);
+		head = new HNode<T>(null, tail);
+		count = new LongAdder();
+	}
+
+	/**
+	 * Walks the list snipping out marked nodes until it reaches the first
+	 * live node matching element, or if element is null the live node at
+	 * index. When a snip fails the walk carries on from the predecessor if
+	 * it is still live, and otherwise starts over from the head.
+	 *
+	 * @param element element to look for, or null to search by position
+	 * @param index   position to look for when element is null
+	 * @return the match and its predecessor, with curr the tail if there was no match
+	 */
+	private Window<T> search(T element, int index) {
+		return search(head, 0, element, index);
+	}
+
+	/**
+	 * Searches as search(element, index) does, starting after a known node
+	 *
+	 * @param start         head, or a node to resume from
+	 * @param startPosition index of the node after start
+	 * @param element       element to look for, or null to search by position
+	 * @param index         position to look for when element is null
+	 * @return the match and its predecessor, with curr the tail if there was no match
+	 */
+	private Window<T> search(HNode<T> start, int startPosition, T element, int index) {
+		boolean[] marked = new boolean[1];
+		if (start.next.isMarked()) {
+			start = head;
+			startPosition = 0;
+		}
+
+		retry: while (true) {
+			HNode<T> pred = start;
+			HNode<T> curr = pred.next.getReference();
+			int position = startPosition;
+
+			while (true) {
+				if (curr == tail) {
+					return new Window<T>(pred, curr, position);
+				}
+
+				HNode<T> succ = curr.next.get(marked);
+				if (marked[0]) { // snip out the deleted node
+					if (pred.next.compareAndSet(curr, succ, false, false)) {
+						curr = succ;
+					} else {
+						curr = pred.next.get(marked);
+						if (marked[0]) { // pred was deleted too
+							start = head;
+							startPosition = 0;
+							continue retry;
+						}
+					}
+				} else if ((element != null) ? element.equals(curr.element) : position == index) {
+					return new Window<T>(pred, curr, position);
+				} else {
+					pred = curr;
+					curr = succ;
+					position++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Links node in between the two nodes of a window
+	 *
+	 * @param window where to insert
+	 * @param node   new node
+	 * @return false if the window changed first
+	 */
+	private boolean insert(Window<T> window, HNode<T> node) {
+		node.next.set(window.curr, false);
+		if (window.pred.next.compareAndSet(window.curr, node, false, false)) {
+			count.increment();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Logically deletes x by marking its next link, then tries once to
+	 * snip it out. A failed snip is left to the next search.
+	 *
+	 * @param pred predecessor of x, or null to leave the snip to the next search
+	 * @param x    node to delete
+	 * @return false if another thread deleted x first
+	 */
+	private boolean delete(HNode<T> pred, HNode<T> x) {
+		boolean[] marked = new boolean[1];
+		HNode<T> succ = x.next.get(marked);
+
+		while (!marked[0]) {
+			if (x.next.compareAndSet(succ, succ, false, true)) {
+				count.decrement();
+				if (pred != null) {
+					pred.next.compareAndSet(x, succ, false, false);
+				}
+				return true;
+			}
+			succ = x.next.get(marked);
+		}
+
+		return false;
+	}
+
+	/**
+	 * @param node a node or the tail
+	 * @return node, or the first node after it that has not been deleted
+	 */
+	private HNode<T> live(HNode<T> node) {
+		while (node != tail && node.next.isMarked()) {
+			node = node.next.getReference();
+		}
+		return node;
+	}
+
+	/**
+	 * @param index position to find, 0 <= index
+	 * @return the live node at index, or the tail if index is at or past the size
+	 */
+	private HNode<T> nodeAt(int index) {
+		HNode<T> current = live(head.next.getReference());
+		for (int i = 0; i < index && current != tail; i++) {
+			current = live(current.next.getReference());
+		}
+		return current;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		HNode<T> node = new HNode<T>(element, null);
+
+		while (true) {
+			HNode<T> first = head.next.getReference();
+			node.next.set(first, false);
+			if (head.next.compareAndSet(first, node, false, false)) {
+				count.increment();
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void addToRear(T element) {
+		HNode<T> node = new HNode<T>(element, null);
+		Window<T> window = search(null, Integer.MAX_VALUE);
+
+		while (!insert(window, node)) { // another thread changed the end, walk on from there
+			window = search(window.pred, window.position, null, Integer.MAX_VALUE);
+		}
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		HNode<T> node = new HNode<T>(element, null);
+		boolean[] marked = new boolean[1];
+
+		while (true) {
+			HNode<T> targetNode = search(target, NOT_FOUND).curr;
+			if (targetNode == tail) {
+				throw new NoSuchElementException();
+			}
+
+			HNode<T> succ = targetNode.next.get(marked);
+			if (!marked[0]) {
+				node.next.set(succ, false);
+				if (targetNode.next.compareAndSet(succ, node, false, false)) {
+					count.increment();
+					return;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		HNode<T> node = new HNode<T>(element, null);
+		while (true) {
+			Window<T> window = search(null, index);
+			if (window.position < index) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			if (insert(window, node)) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public T removeFirst() {
+		while (true) {
+			Window<T> window = search(null, 0);
+			if (window.curr == tail) {
+				throw new NoSuchElementException();
+			}
+
+			if (delete(window.pred, window.curr)) {
+				return window.curr.element;
+			}
+		}
+	}
+
+	@Override
+	public T removeLast() {
+		while (true) {
+			HNode<T> last = search(null, Integer.MAX_VALUE).pred;
+			if (last == head) {
+				throw new NoSuchElementException();
+			}
+
+			if (delete(null, last)) {
+				return last.element;
+			}
+		}
+	}
+
+	@Override
+	public T remove(T element) {
+		while (true) {
+			Window<T> window = search(element, NOT_FOUND);
+			if (window.curr == tail) {
+				throw new NoSuchElementException();
+			}
+
+			if (delete(window.pred, window.curr)) {
+				return window.curr.element;
+			}
+		}
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		while (true) {
+			Window<T> window = search(null, index);
+			if (window.curr == tail) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			if (delete(window.pred, window.curr)) {
+				return window.curr.element;
+			}
+		}
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		HNode<T> node = nodeAt(index);
+		if (node == tail) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		node.element = element;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		HNode<T> node = nodeAt(index);
+		if (node == tail) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return node.element;
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int index = 0;
+		HNode<T> current = live(head.next.getReference());
+
+		while (current != tail) {
+			if (element.equals(current.element)) {
+				return index;
+			}
+			index++;
+			current = live(current.next.getReference());
+		}
+
+		return NOT_FOUND;
+	}
+
+	@Override
+	public T first() {
+		HNode<T> first = live(head.next.getReference());
+		if (first == tail) {
+			throw new NoSuchElementException();
+		}
+
+		return first.element;
+	}
+
+	@Override
+	public T last() {
+		HNode<T> last = null;
+		HNode<T> current = live(head.next.getReference());
+
+		while (current != tail) {
+			last = current;
+			current = live(current.next.getReference());
+		}
+
+		if (last == null) {
+			throw new NoSuchElementException();
+		}
+		return last.element;
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return live(head.next.getReference()) == tail;
+	}
+
+	@Override
+	public int size() {
+		return (int) Math.max(0, count.sum());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (str.length() > 1) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new CSLLIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Node of IUConcurrentSingleLinkedList. A marked next link means the
+	 * node has been deleted and the link will never change again.
+	 */
+	private static class HNode<T> {
+		private volatile T element;
+		private final AtomicMarkableReference<HNode<T>> next;
+
+		/**
+		 * @param element element to store
+		 * @param next    following node
+		 */
+		public HNode(T element, HNode<T> next) {
+			this.element = element;
+			this.next = new AtomicMarkableReference<HNode<T>>(next, false);
+		}
+	}
+
+	/** Result of a search: a node and the live node linked to it */
+	private static class Window<T> {
+		private final HNode<T> pred;
+		private final HNode<T> curr;
+		private final int position; // index of curr
+
+		/**
+		 * @param pred     predecessor of curr
+		 * @param curr     node found, or the tail
+		 * @param position index of curr
+		 */
+		public Window(HNode<T> pred, HNode<T> curr, int position) {
+			this.pred = pred;
+			this.curr = curr;
+			this.position = position;
+		}
+	}
+
+	/** Weakly consistent Iterator for IUConcurrentSingleLinkedList */
+	private class CSLLIterator implements Iterator<T> {
+		private HNode<T> nextNode; // node returned by next(), or tail
+		private HNode<T> lastReturned;
+		private HNode<T> beforeLastReturned; // predecessor of lastReturned when it was read
+
+		/** Initialize iterator at the start of the list */
+		public CSLLIterator() {
+			nextNode = head.next.getReference();
+			lastReturned = null;
+			beforeLastReturned = head;
+		}
+
+		@Override
+		public boolean hasNext() {
+			nextNode = live(nextNode);
+			return nextNode != tail;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			if (lastReturned != null) {
+				beforeLastReturned = lastReturned;
+			}
+			lastReturned = nextNode;
+			nextNode = nextNode.next.getReference();
+
+			return lastReturned.element;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			delete(beforeLastReturned, lastReturned);
+			lastReturned = null;
+		}
+	}
+}
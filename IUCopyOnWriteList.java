@@ -0,0 +1,547 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Copy-on-write implementation of IndexedUnsortedList for lists that are
+ * read by many threads and written rarely.
+ * The elements live in an array that is never changed once published.
+ * Reads take no lock: they read the current array once and work on it.
+ * Every change copies the array under a lock and publishes the copy, so
+ * mutate() should be used to apply a batch of changes with one copy.
+ * Iterators walk the array that was current when they were created, so
+ * reading through one never fails however the list changes meanwhile.
+ * Only changes made through a ListIterator are fail-fast: its remove(),
+ * add() and set() throw ConcurrentModificationException once another
+ * array has been published. snapshotIterator() is read-only.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUCopyOnWriteList<T> implements IndexedUnsortedList<T> {
+	private static final int NOT_FOUND = -1;
+
+	private final Object lock = new Object(); // held by every writer
+	private volatile Object[] array;
+
+	/** Creates an empty list */
+	public IUCopyOnWriteList() {
+		array = new Object[0];
+	}
+
+	/**
+	 * Applies a batch of changes with a single copy. The batch works on a
+	 * private mutable list holding the current elements, and its result is
+	 * published as one new array when it returns. Readers see either none
+	 * or all of the batch, and nothing is published if the batch throws.
+	 *
+	 * @param batch changes to apply
+	 */
+	public void mutate(Consumer<? super IndexedUnsortedList<T>> batch) {
+		synchronized (lock) {
+			Object[] current = array;
+			IUCircularArrayList<T> work = new IUCircularArrayList<T>(Math.max(1, current.length));
+			for (int i = 0; i < current.length; i++) {
+				work.addToRear(elementAt(current, i));
+			}
+
+			batch.accept(work);
+
+			Object[] next = new Object[work.size()];
+			int i = 0;
+			for (T element : work) {
+				next[i] = element;
+				i++;
+			}
+			array = next;
+		}
+	}
+
+	/**
+	 * Returns an iterator over the elements at the time of the call that
+	 * does not support remove()
+	 *
+	 * @return read-only iterator over a snapshot of this list
+	 */
+	public Iterator<T> snapshotIterator() {
+		return new COWIterator(0, false);
+	}
+
+	/**
+	 * @param a     a published array
+	 * @param index index into a
+	 * @return the element at index
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T elementAt(Object[] a, int index) {
+		return (T) a[index];
+	}
+
+	/**
+	 * @param a       a published array
+	 * @param element element to look for
+	 * @return index of the first match in a, or NOT_FOUND
+	 */
+	private static int indexOf(Object[] a, Object element) {
+		for (int i = 0; i < a.length; i++) {
+			if (element.equals(a[i])) {
+				return i;
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Publishes a copy of the current array with element inserted. Caller
+	 * holds the lock and has checked bounds.
+	 *
+	 * @param current the current array
+	 * @param index   where the element goes, 0 <= index <= current.length
+	 * @param element element to insert
+	 */
+	private void insertAt(Object[] current, int index, T element) {
+		Object[] next = new Object[current.length + 1];
+		System.arraycopy(current, 0, next, 0, index);
+		next[index] = element;
+		System.arraycopy(current, index, next, index + 1, current.length - index);
+		array = next;
+	}
+
+	/**
+	 * Publishes one copy of the current array with a batch of elements
+	 * inserted. Caller holds the lock and has checked bounds.
+	 *
+	 * @param current the current array
+	 * @param index   where the first element goes, 0 <= index <= current.length
+	 * @param batch   elements to insert
+	 */
+	private void insertAll(Object[] current, int index, List<? extends T> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		Object[] next = new Object[current.length + batch.size()];
+		System.arraycopy(current, 0, next, 0, index);
+		for (int i = 0; i < batch.size(); i++) {
+			next[index + i] = batch.get(i);
+		}
+		System.arraycopy(current, index, next, index + batch.size(), current.length - index);
+		array = next;
+	}
+
+	/**
+	 * Publishes a copy of the current array without one element. Caller
+	 * holds the lock and has checked bounds.
+	 *
+	 * @param current the current array
+	 * @param index   index of the element to remove, 0 <= index < current.length
+	 * @return the removed element
+	 */
+	private T removeAt(Object[] current, int index) {
+		Object[] next = new Object[current.length - 1];
+		System.arraycopy(current, 0, next, 0, index);
+		System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+		array = next;
+		return elementAt(current, index);
+	}
+
+	/**
+	 * Publishes a copy of the current array with one element replaced.
+	 * Caller holds the lock and has checked bounds.
+	 *
+	 * @param current the current array
+	 * @param index   index of the element to replace
+	 * @param element the replacement element
+	 */
+	private void setAt(Object[] current, int index, T element) {
+		Object[] next = Arrays.copyOf(current, current.length);
+		next[index] = element;
+		array = next;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		synchronized (lock) {
+			insertAt(array, 0, element);
+		}
+	}
+
+	@Override
+	public void addToRear(T element) {
+		synchronized (lock) {
+			Object[] current = array;
+			insertAt(current, current.length, element);
+		}
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		synchronized (lock) {
+			Object[] current = array;
+			int index = indexOf(current, target);
+
+			if (index == NOT_FOUND) {
+				throw new NoSuchElementException();
+			}
+
+			insertAt(current, index + 1, element);
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		synchronized (lock) {
+			Object[] current = array;
+			if (index < 0 || index > current.length) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			insertAt(current, index, element);
+		}
+	}
+
+	@Override
+	public void addAll(Iterable<? extends T> elements) {
+		List<? extends T> batch = IndexedUnsortedList.batchOf(elements);
+		synchronized (lock) {
+			insertAll(array, array.length, batch);
+		}
+	}
+
+	@Override
+	public void addAll(int index, Iterable<? extends T> elements) {
+		List<? extends T> batch = IndexedUnsortedList.batchOf(elements);
+		synchronized (lock) {
+			Object[] current = array;
+			if (index < 0 || index > current.length) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			insertAll(current, index, batch);
+		}
+	}
+
+	@Override
+	public void addAll(T[] elements) {
+		addAll(Arrays.asList(elements));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		synchronized (lock) {
+			Object[] current = array;
+			Object[] next = new Object[current.length];
+			int kept = 0;
+			for (int i = 0; i < current.length; i++) {
+				if (!filter.test(elementAt(current, i))) {
+					next[kept] = current[i];
+					kept++;
+				}
+			}
+
+			if (kept == current.length) {
+				return false;
+			}
+			array = Arrays.copyOf(next, kept); // one copy published for the whole pass
+			return true;
+		}
+	}
+
+	@Override
+	public T removeFirst() {
+		synchronized (lock) {
+			Object[] current = array;
+			if (current.length == 0) {
+				throw new NoSuchElementException();
+			}
+
+			return removeAt(current, 0);
+		}
+	}
+
+	@Override
+	public T removeLast() {
+		synchronized (lock) {
+			Object[] current = array;
+			if (current.length == 0) {
+				throw new NoSuchElementException();
+			}
+
+			return removeAt(current, current.length - 1);
+		}
+	}
+
+	@Override
+	public T remove(T element) {
+		synchronized (lock) {
+			Object[] current = array;
+			int index = indexOf(current, element);
+
+			if (index == NOT_FOUND) {
+				throw new NoSuchElementException();
+			}
+
+			return removeAt(current, index);
+		}
+	}
+
+	@Override
+	public T remove(int index) {
+		synchronized (lock) {
+			Object[] current = array;
+			if (index < 0 || index >= current.length) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			return removeAt(current, index);
+		}
+	}
+
+	@Override
+	public void set(int index, T element) {
+		synchronized (lock) {
+			Object[] current = array;
+			if (index < 0 || index >= current.length) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			setAt(current, index, element);
+		}
+	}
+
+	@Override
+	public T get(int index) {
+		Object[] current = array;
+		if (index < 0 || index >= current.length) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return elementAt(current, index);
+	}
+
+	@Override
+	public int indexOf(T element) {
+		return indexOf(array, element);
+	}
+
+	@Override
+	public T first() {
+		Object[] current = array;
+		if (current.length == 0) {
+			throw new NoSuchElementException();
+		}
+
+		return elementAt(current, 0);
+	}
+
+	@Override
+	public T last() {
+		Object[] current = array;
+		if (current.length == 0) {
+			throw new NoSuchElementException();
+		}
+
+		return elementAt(current, current.length - 1);
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return array.length == 0;
+	}
+
+	@Override
+	public int size() {
+		return array.length;
+	}
+
+	@Override
+	public String toString() {
+		Object[] current = array;
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (Object element : current) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (current.length > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new COWIterator(0, true);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new COWIterator(0, true);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new COWIterator(startingIndex, true);
+	}
+
+	/**
+	 * ListIterator (and basic iterator) for IUCopyOnWriteList. Reads come
+	 * from the array published when the iterator was created and never
+	 * fail; a change through the iterator publishes a new array and moves
+	 * the iterator onto it, and fails if another array was published first.
+	 */
+	private class COWIterator implements ListIterator<T> {
+		private Object[] snapshot;
+		private boolean writable;
+		private int nextIndex;
+		private int lastReturnedIndex;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 * @param writable      whether remove(), add() and set() are supported
+		 */
+		public COWIterator(int startingIndex, boolean writable) {
+			snapshot = array;
+			if (startingIndex < 0 || startingIndex > snapshot.length) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			this.writable = writable;
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+		}
+
+		/**
+		 * Called by the changing methods, with the lock held
+		 *
+		 * @throws ConcurrentModificationException if another array was published
+		 */
+		private void checkForComodification() {
+			if (snapshot != array) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < snapshot.length;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return elementAt(snapshot, lastReturnedIndex);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return elementAt(snapshot, lastReturnedIndex);
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (!writable) {
+				throw new UnsupportedOperationException();
+			}
+
+			synchronized (lock) {
+				checkForComodification();
+
+				if (lastReturnedIndex == NOT_FOUND) {
+					throw new IllegalStateException();
+				}
+
+				removeAt(snapshot, lastReturnedIndex);
+				snapshot = array;
+			}
+
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+		}
+
+		@Override
+		public void set(T e) {
+			if (!writable) {
+				throw new UnsupportedOperationException();
+			}
+
+			synchronized (lock) {
+				checkForComodification();
+
+				if (lastReturnedIndex == NOT_FOUND) {
+					throw new IllegalStateException();
+				}
+
+				setAt(snapshot, lastReturnedIndex, e);
+				snapshot = array;
+			}
+		}
+
+		@Override
+		public void add(T e) {
+			if (!writable) {
+				throw new UnsupportedOperationException();
+			}
+
+			synchronized (lock) {
+				checkForComodification();
+
+				insertAt(snapshot, nextIndex, e);
+				snapshot = array;
+			}
+
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+		}
+	}
+}
@@ -1,10 +1,26 @@
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * Double-linked node implementation of IndexedUnsortedList.
+ * A list can be given a NodePool, in which case new nodes come from the
+ * pool and removed nodes go back to it instead of to the garbage collector.
+ * setHashIndexed(true) keeps an ElementIndex from elements to their
+ * nodes, so contains() is a hash lookup and indexOf(), remove(T) and
+ * addAfter() go straight to the node of an element held only once.
+ * setBloomFiltered(true) keeps a CountingBloomFilter of the elements, so
+ * the same lookups turn away most absent elements without a scan.
+ * transferAll(), split() and moveRange() relink whole chains of nodes
+ * between lists instead of copying elements, invalidating iterators on
+ * both lists.
+ * Positional methods seek from the head, the tail or the node last reached
+ * by index (the finger), whichever is closest, so walking the list with
+ * get(i) costs one step per call.
  * A List Iterator with working remove(), add(), set() methods.
  * 
  * @author Gabriel Tinsley
@@ -15,17 +31,350 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
     private Node<T> head, tail;
     private int size;
     private int modCount;
+    private final NodePool<T> pool; // null when nodes are not recycled
+    private Finger<T> finger; // last node reached by index, null until then
+    private ElementIndex<T, Node<T>> elementIndex; // null unless hash indexed
+    private CountingBloomFilter<T> bloomFilter; // null unless Bloom filtered
 
     /** Creates an empty list */
     public IUDoubleLinkedList() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty list that recycles its nodes through pool
+     * 
+     * @param pool pool to take nodes from and give them back to, or null
+     */
+    public IUDoubleLinkedList(NodePool<T> pool) {
         head = tail = null;
         size = 0;
         modCount = 0;
+        this.pool = pool;
+    }
+
+    /**
+     * Turns the hash index of the elements on or off
+     * 
+     * @param hashIndexed true to build and keep the index, false to drop it
+     */
+    public void setHashIndexed(boolean hashIndexed) {
+        if (!hashIndexed) {
+            elementIndex = null;
+        } else if (elementIndex == null) {
+            elementIndex = new ElementIndex<T, Node<T>>();
+            for (Node<T> current = head; current != null; current = current.getNext()) {
+                elementIndex.add(current.getElement(), current);
+            }
+        }
+    }
+
+    /** @return true if the list keeps a hash index of its elements */
+    public boolean isHashIndexed() {
+        return elementIndex != null;
+    }
+
+    /**
+     * Turns the Bloom filter of the elements on or off
+     * 
+     * @param bloomFiltered true to build and keep the filter, false to drop it
+     */
+    public void setBloomFiltered(boolean bloomFiltered) {
+        if (!bloomFiltered) {
+            bloomFilter = null;
+        } else if (bloomFilter == null) {
+            bloomFilter = new CountingBloomFilter<T>(size);
+            rebuildBloomFilter();
+        }
+    }
+
+    /** @return true if the list keeps a Bloom filter of its elements */
+    public boolean isBloomFiltered() {
+        return bloomFilter != null;
+    }
+
+    /**
+     * Returns the Bloom filter so its statistics can be read. The filter
+     * must not be changed by the caller.
+     * 
+     * @return the Bloom filter, or null if the list has none
+     */
+    public CountingBloomFilter<T> getBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * Asks the Bloom filter, if there is one, whether element is certainly
+     * absent. Only reads the filter, so lookups stay read-only.
+     * 
+     * @param element element to look for
+     * @return true if the list certainly does not hold element
+     */
+    private boolean absent(T element) {
+        return bloomFilter != null && !bloomFilter.mightContain(element);
+    }
+
+    /**
+     * Rebuilds the Bloom filter, if there is one, once it has drifted from
+     * the list. Mutators call this last, when the list is consistent again.
+     */
+    private void settleBloomFilter() {
+        if (bloomFilter != null && bloomFilter.needsRebuild()) {
+            rebuildBloomFilter();
+        }
+    }
+
+    /** Sizes the Bloom filter for the list as it is now and refills it */
+    public void rebuildBloomFilter() {
+        if (bloomFilter != null) {
+            bloomFilter.reset(size);
+            for (Node<T> current = head; current != null; current = current.getNext()) {
+                bloomFilter.add(current.getElement());
+            }
+        }
+    }
+
+    /**
+     * @param element element to store
+     * @return new detached node, from the pool if there is one, already in
+     *         the hash index and Bloom filter
+     */
+    private Node<T> newNode(T element) {
+        Node<T> node = (pool == null) ? new Node<T>(element) : pool.obtain(element);
+        if (elementIndex != null) {
+            elementIndex.add(element, node);
+        }
+        if (bloomFilter != null) {
+            bloomFilter.add(element);
+        }
+        return node;
+    }
+
+    /**
+     * Drops an unlinked node from the hash index and Bloom filter and gives
+     * it back to the pool, if there are those
+     * 
+     * @param node node no longer in the list
+     */
+    private void discard(Node<T> node) {
+        if (elementIndex != null) {
+            elementIndex.remove(node.getElement());
+        }
+        if (bloomFilter != null) {
+            bloomFilter.remove(node.getElement());
+        }
+        if (pool != null) {
+            pool.recycle(node);
+        }
+    }
+
+    /**
+     * Replaces the element of a node in the list, keeping the hash index
+     * and Bloom filter up to date
+     * 
+     * @param node    node in the list
+     * @param element new element
+     */
+    private void replace(Node<T> node, T element) {
+        if (elementIndex != null) {
+            elementIndex.remove(node.getElement());
+            elementIndex.add(element, node);
+        }
+        if (bloomFilter != null) {
+            bloomFilter.remove(node.getElement());
+            bloomFilter.add(element);
+        }
+        node.setElement(element);
+    }
+
+    /**
+     * Links a chain of nodes into the list so that first ends up at index,
+     * walking to index once
+     * 
+     * @param index where first goes, 0 <= index <= size
+     * @param first first node of the chain, with no previous node
+     * @param last  last node of the chain, with no next node
+     * @param count number of nodes in the chain
+     */
+    private void splice(int index, Node<T> first, Node<T> last, int count) {
+        Node<T> successor = (index < size) ? nodeAt(index) : null;
+        Node<T> predecessor = (successor != null) ? successor.getPrevious() : tail;
+
+        first.setPrevious(predecessor);
+        if (predecessor != null) { // middle or end of list
+            predecessor.setNext(first);
+        } else { // front of list
+            head = first;
+        }
+
+        last.setNext(successor);
+        if (successor != null) { // front or middle of list
+            successor.setPrevious(last);
+        } else { // end of list
+            tail = last;
+        }
+
+        size += count;
+        modCount++;
+        settleBloomFilter();
+        finger = new Finger<T>(first, index, modCount);
+    }
+
+    /**
+     * Cuts a run of nodes out of the list, leaving it a chain of its own
+     * 
+     * @param first first node of the run
+     * @param last  last node of the run, first or after it
+     * @param count number of nodes in the run
+     */
+    private void unlinkRange(Node<T> first, Node<T> last, int count) {
+        Node<T> predecessor = first.getPrevious();
+        Node<T> successor = last.getNext();
+
+        if (predecessor != null) { // middle or end of list
+            predecessor.setNext(successor);
+        } else { // front of list
+            head = successor;
+        }
+
+        if (successor != null) { // front or middle of list
+            successor.setPrevious(predecessor);
+        } else { // end of list
+            tail = predecessor;
+        }
+
+        first.setPrevious(null);
+        last.setNext(null);
+        forget(first, last);
+
+        size -= count;
+        modCount++;
+        settleBloomFilter();
+    }
+
+    /**
+     * Adds a chain of nodes arriving from another list to the hash index
+     * and Bloom filter, if there are those. Moved chains cost O(1) only
+     * without them.
+     * 
+     * @param first first node of the chain
+     * @param last  last node of the chain
+     */
+    private void learn(Node<T> first, Node<T> last) {
+        if (elementIndex == null && bloomFilter == null) {
+            return;
+        }
+
+        for (Node<T> node = first; node != last.getNext(); node = node.getNext()) {
+            if (elementIndex != null) {
+                elementIndex.add(node.getElement(), node);
+            }
+            if (bloomFilter != null) {
+                bloomFilter.add(node.getElement());
+            }
+        }
+    }
+
+    /**
+     * Drops a chain of nodes leaving for another list from the hash index
+     * and Bloom filter, if there are those
+     * 
+     * @param first first node of the chain
+     * @param last  last node of the chain
+     */
+    private void forget(Node<T> first, Node<T> last) {
+        if (elementIndex == null && bloomFilter == null) {
+            return;
+        }
+
+        for (Node<T> node = first; node != last.getNext(); node = node.getNext()) {
+            if (elementIndex != null) {
+                elementIndex.remove(node.getElement());
+            }
+            if (bloomFilter != null) {
+                bloomFilter.remove(node.getElement());
+            }
+        }
+    }
+
+    /**
+     * @param element element to look for
+     * @return first node holding element, or null
+     */
+    private Node<T> find(T element) {
+        if (absent(element)) {
+            return null;
+        }
+
+        if (elementIndex != null) {
+            if (elementIndex.count(element) == 0) {
+                if (bloomFilter != null) {
+                    bloomFilter.recordFalsePositive();
+                }
+                return null;
+            }
+            Node<T> node = elementIndex.position(element);
+            if (node != null) {
+                return node;
+            }
+        }
+
+        Node<T> current = head;
+        while (current != null && !current.getElement().equals(element)) {
+            current = current.getNext();
+        }
+
+        if (current != null && elementIndex != null) { // remembered if it is the only copy
+            elementIndex.place(element, current);
+        }
+        if (current == null && bloomFilter != null) {
+            bloomFilter.recordFalsePositive();
+        }
+        return current;
+    }
+
+    /**
+     * Finds the node at index by walking from the head, the tail or the
+     * finger, whichever is closest, and leaves the finger on it
+     * 
+     * @param index position to find, 0 <= index < size
+     * @return node at index
+     */
+    private Node<T> nodeAt(int index) {
+        int expectedModCount = modCount; // read before walking, so a finger made during a change is stale
+        Node<T> current = head;
+        int position = 0;
+
+        if (size - 1 - index < index) { // closer to the tail
+            current = tail;
+            position = size - 1;
+        }
+
+        Finger<T> cached = finger;
+        if (cached != null && cached.modCount == expectedModCount
+                && Math.abs(index - cached.index) < Math.abs(index - position)) {
+            current = cached.node;
+            position = cached.index;
+        }
+
+        while (position < index) {
+            current = current.getNext();
+            position++;
+        }
+        while (position > index) {
+            current = current.getPrevious();
+            position--;
+        }
+
+        if (cached == null || cached.node != current || cached.modCount != expectedModCount) {
+            finger = new Finger<T>(current, index, expectedModCount);
+        }
+        return current;
     }
 
     @Override
     public void addToFront(T element) {
-        Node<T> newNode = new Node<T>(element);
+        Node<T> newNode = newNode(element);
 
         if (!isEmpty()) { // checks for empty lists
             newNode.setNext(head);
@@ -38,11 +387,12 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
         size++;
         modCount++;
+        settleBloomFilter();
     }
 
     @Override
     public void addToRear(T element) {
-        Node<T> newNode = new Node<T>(element);
+        Node<T> newNode = newNode(element);
         if (head == null) { // empty list
             head = newNode;
         } else { // every other kind of list
@@ -53,6 +403,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
         size++;
         modCount++;
+        settleBloomFilter();
 
     }
 
@@ -63,17 +414,13 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
     @Override
     public void addAfter(T element, T target) {
-        Node<T> current = head;
-
-        while (current != null && !current.getElement().equals(target)) { // find target
-            current = current.getNext();
-        }
+        Node<T> current = find(target); // find target
 
         if (current == null) {
             throw new NoSuchElementException();
         }
 
-        Node<T> newNode = new Node<T>(element);
+        Node<T> newNode = newNode(element);
         newNode.setNext(current.getNext());
         if (current.getNext() != null) { // in the middle of list
             current.getNext().setPrevious(newNode);
@@ -87,6 +434,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         
         size++;
         modCount++;
+        settleBloomFilter();
     }
 
     @Override
@@ -100,13 +448,9 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         } else if (index == size) {
             addToRear(element);
         } else {
-            Node<T> current = head;
-
-            for (int i = 0; i < index - 1; i++) { // finds index to add after
-                current = current.getNext();
-            }
+            Node<T> current = nodeAt(index - 1); // finds index to add after
 
-            Node<T> newNode = new Node<T>(element);
+            Node<T> newNode = newNode(element);
             newNode.setNext(current.getNext());
 
             if (current.getNext() != null) { // in the middle of list
@@ -122,9 +466,194 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
             size++;
             modCount++;
+            settleBloomFilter();
+            finger = new Finger<T>(newNode, index, modCount);
         }
     }
 
+    @Override
+    public void addAll(Iterable<? extends T> elements) {
+        addAll(size, elements);
+    }
+
+    @Override
+    public void addAll(int index, Iterable<? extends T> elements) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        List<? extends T> batch = IndexedUnsortedList.batchOf(elements);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Node<T> first = null;
+        Node<T> last = null;
+        for (T element : batch) { // chain the new nodes together first
+            Node<T> newNode = newNode(element);
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.setNext(newNode);
+                newNode.setPrevious(last);
+            }
+            last = newNode;
+        }
+
+        splice(index, first, last, batch.size());
+    }
+
+    @Override
+    public void addAll(T[] elements) {
+        addAll(size, Arrays.asList(elements));
+    }
+
+    /**
+     * Moves every element of other to the rear of this list in O(1),
+     * leaving other empty
+     * 
+     * @param other list to empty into this one
+     * @throws IllegalArgumentException if other is this list
+     */
+    public void transferAll(IUDoubleLinkedList<T> other) {
+        transferAll(size, other);
+    }
+
+    /**
+     * Moves every element of other into this list so that the first of
+     * them ends up at index, leaving other empty
+     * 
+     * @param index where the first element of other goes
+     * @param other list to empty into this one
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+     * @throws IllegalArgumentException  if other is this list
+     */
+    public void transferAll(int index, IUDoubleLinkedList<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException();
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+
+        Node<T> first = other.head;
+        Node<T> last = other.tail;
+        int count = other.size;
+
+        other.forget(first, last);
+        other.head = other.tail = null;
+        other.size = 0;
+        other.modCount++;
+        other.settleBloomFilter();
+
+        learn(first, last);
+        splice(index, first, last, count);
+    }
+
+    /**
+     * Cuts this list at index, keeping the elements before it and moving
+     * the rest, in order, into a new list that uses the same node pool
+     * 
+     * @param index index of the first element to move
+     * @return new list holding the elements from index on
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+     */
+    public IUDoubleLinkedList<T> split(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        IUDoubleLinkedList<T> suffix = new IUDoubleLinkedList<T>(pool);
+        if (index < size) {
+            Node<T> first = nodeAt(index);
+            Node<T> last = tail;
+            int count = size - index;
+
+            unlinkRange(first, last, count);
+
+            suffix.head = first;
+            suffix.tail = last;
+            suffix.size = count;
+        }
+
+        suffix.setHashIndexed(elementIndex != null);
+        suffix.setBloomFiltered(bloomFilter != null);
+        return suffix;
+    }
+
+    /**
+     * Moves the elements from fromIndex up to toIndex, in order, out of
+     * this list and into target so that the first of them ends up at
+     * targetIndex
+     * 
+     * @param fromIndex   index of the first element to move
+     * @param toIndex     index after the last element to move
+     * @param target      list to move the elements into
+     * @param targetIndex where the first element goes in target
+     * @throws IndexOutOfBoundsException if a range or index is out of range
+     *                                   (fromIndex < 0 || toIndex > size || fromIndex > toIndex
+     *                                   || targetIndex < 0 || targetIndex > target.size)
+     * @throws IllegalArgumentException  if target is this list
+     */
+    public void moveRange(int fromIndex, int toIndex, IUDoubleLinkedList<T> target, int targetIndex) {
+        if (target == this) {
+            throw new IllegalArgumentException();
+        }
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex || targetIndex < 0 || targetIndex > target.size) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+
+        Node<T> first = nodeAt(fromIndex);
+        Node<T> last = nodeAt(toIndex - 1); // walks on from the finger left at first
+        int count = toIndex - fromIndex;
+
+        unlinkRange(first, last, count);
+
+        target.learn(first, last);
+        target.splice(targetIndex, first, last, count);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        int oldSize = size;
+        Node<T> current = head;
+        try {
+            // unlink matching nodes in one pass
+            while (current != null) {
+                Node<T> next = current.getNext();
+                if (filter.test(current.getElement())) {
+                    Node<T> previous = current.getPrevious();
+                    if (previous != null) { // middle or end of list
+                        previous.setNext(next);
+                    } else { // front of list
+                        head = next;
+                    }
+                    if (next != null) { // front or middle of list
+                        next.setPrevious(previous);
+                    } else { // end of list
+                        tail = previous;
+                    }
+                    discard(current);
+                    size--;
+                }
+                current = next;
+            }
+        } finally {
+            if (size < oldSize) { // even if filter threw part way
+                modCount++;
+                settleBloomFilter();
+            }
+        }
+
+        return size < oldSize;
+    }
+
     @Override
     public T removeFirst() {
         if (isEmpty()) {
@@ -132,6 +661,8 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         }
         T retVal;
 
+        Node<T> removed = head;
+
         if (size() == 1) { // puts head and tail in the right place for a one element list
             retVal = head.getElement();
             head = tail = null;
@@ -143,8 +674,10 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             head.setPrevious(null);
         }
 
+        discard(removed);
         size--;
         modCount++;
+        settleBloomFilter();
 
         return retVal;
     }
@@ -156,6 +689,8 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         }
         T retVal;
 
+        Node<T> removed = tail;
+
         if (size() == 1) { // puts head and tail in the right place for a one element list
             retVal = tail.getElement();
             head = tail = null;
@@ -167,8 +702,10 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             tail.setNext(null);
         }
 
+        discard(removed);
         size--;
         modCount++;
+        settleBloomFilter();
 
         return retVal;
     }
@@ -178,11 +715,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         if (isEmpty()) {
             throw new NoSuchElementException();
         }
-        Node<T> current = head;
-
-        while (current != null && !current.getElement().equals(element)) { // finds element to remove
-            current = current.getNext();
-        }
+        Node<T> current = find(element); // finds element to remove
 
         if (current == null) {
             throw new NoSuchElementException();
@@ -210,8 +743,10 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             tail = tempP;
         }
 
+        discard(current);
         size--;
         modCount++;
+        settleBloomFilter();
 
         return retVal;
     }
@@ -226,11 +761,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         if (index == 0) { // first node
             retVal = removeFirst();
         } else { // somewhere in the middle
-            Node<T> current = head;
-
-            for (int i = 0; i < index; i++) {
-                current = current.getNext();
-            }
+            Node<T> current = nodeAt(index);
 
             retVal = current.getElement();
 
@@ -248,8 +779,13 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             } else {
                 tail = tail.getPrevious();
             }
+            discard(current);
             size--;
             modCount++;
+            settleBloomFilter();
+            if (tempN != null) { // the next node has moved up to index
+                finger = new Finger<T>(tempN, index, modCount);
+            }
         }
 
         return retVal;
@@ -261,15 +797,14 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             throw new IndexOutOfBoundsException();
         }
 
-        Node<T> current = head;
+        Node<T> current = nodeAt(index); // finds index to change
 
-        for (int i = 0; i < index; i++) { // finds index to change
-            current = current.getNext();
-        }
-
-        current.setElement(element);
+        replace(current, element);
 
         modCount++;
+
+        settleBloomFilter();
+        finger = new Finger<T>(current, index, modCount);
     }
 
     @Override
@@ -281,19 +816,31 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         if (index == 0) { // first node
             retVal = head.getElement();
         } else { // somewhere in the middle
-            Node<T> current = head;
-            for (int i = 0; i < index; i++) {
-                current = current.getNext();
-            }
-
-            retVal = current.getElement();
-
+            retVal = nodeAt(index).getElement();
         }
         return retVal;
     }
 
     @Override
     public int indexOf(T element) {
+        if (elementIndex != null) { // count back from the node to the head
+            Node<T> node = find(element);
+            if (node == null) {
+                return -1;
+            }
+
+            int currentIndex = 0;
+            while (node != head) {
+                node = node.getPrevious();
+                currentIndex++;
+            }
+            return currentIndex;
+        }
+
+        if (absent(element)) {
+            return -1;
+        }
+
         Node<T> current = head;
         int currentIndex = 0;
 
@@ -304,6 +851,9 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
         if (current == null) {
             currentIndex = -1;
+            if (bloomFilter != null) {
+                bloomFilter.recordFalsePositive();
+            }
         }
 
         return currentIndex;
@@ -329,6 +879,9 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
     @Override
     public boolean contains(T target) {
+        if (elementIndex != null) {
+            return elementIndex.count(target) > 0;
+        }
         return (indexOf(target) != -1);
     }
 
@@ -372,6 +925,28 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         return new DLLIterator(startingIndex);
     }
 
+    /**
+     * A node and its index, valid only while the list's modCount is
+     * unchanged. Immutable, so a reader racing another reader under a
+     * shared lock never sees a node paired with the wrong index.
+     */
+    private static class Finger<T> {
+        private final Node<T> node;
+        private final int index;
+        private final int modCount;
+
+        /**
+         * @param node     node at index
+         * @param index    position of node
+         * @param modCount list modCount when node was at index
+         */
+        public Finger(Node<T> node, int index, int modCount) {
+            this.node = node;
+            this.index = index;
+            this.modCount = modCount;
+        }
+    }
+
     /** ListIterator (and basic iterator) for IUDoubleLinkedList */
     private class DLLIterator implements ListIterator<T> {
         private Node<T> nextNode;
@@ -394,10 +969,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new IndexOutOfBoundsException();
             }
 
-            nextNode = head;
-            for (int i = 0; i < startingIndex; i++) { // finds starting index
-                nextNode = nextNode.getNext();
-            }
+            nextNode = (startingIndex < size) ? nodeAt(startingIndex) : null; // finds starting index
             nextIndex = startingIndex;
             iterModCount = modCount;
             lastReturnedNode = null;
@@ -496,10 +1068,12 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 nextNode = nextNode.getNext();
             }
 
+            discard(lastReturnedNode);
             lastReturnedNode = null;
             size--;
             iterModCount++;
             modCount++;
+            settleBloomFilter();
 
         }
 
@@ -513,10 +1087,11 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new IllegalStateException();
             }
 
-            lastReturnedNode.setElement(e); // sets the element
+            replace(lastReturnedNode, e); // sets the element
 
             iterModCount++;
             modCount++;
+            settleBloomFilter();
         }
 
         @Override
@@ -525,7 +1100,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            Node<T> newNode = new Node<T>(e);
+            Node<T> newNode = newNode(e);
 
             if (head == null) { // empty list
                 head = newNode;
@@ -547,8 +1122,10 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
             size++;
             modCount++;
+            settleBloomFilter();
             iterModCount++;
             nextIndex++;
+            lastReturnedNode = null; // remove() and set() are not allowed right after add()
         }
 
     }
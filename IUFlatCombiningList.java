@@ -0,0 +1,659 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flat-combining wrapper that makes any IndexedUnsortedList thread-safe
+ * under heavy contention.
+ * A thread does not lock the list to run an operation. It pushes a
+ * request onto a lock-free publication stack and then either waits for
+ * the request to be served or, if no other thread is doing so, becomes
+ * the combiner: it takes every pending request at once and runs the
+ * whole batch against the list while holding the lock, so the lock
+ * changes hands once per batch rather than once per operation.
+ * The requests in a batch are all pending at the same moment, so they
+ * may be applied in any order. The combiner applies the add(int, T) and
+ * remove(int) requests last, sorted by index, in one forward sweep of a
+ * ListIterator, so clustered positional updates on a linked list share
+ * a single traversal instead of each walking from the head.
+ * size() and isEmpty() read a volatile count and never wait.
+ * Iterators copy the list and walk the copy. They are fail-fast, and
+ * their remove(), add() and set() are sent to the combiner like any
+ * other change.
+ * The wrapped list must not be used directly once it is wrapped.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUFlatCombiningList<T> implements IndexedUnsortedList<T> {
+	private static final int NOT_FOUND = -1;
+	private static final int SPINS_BEFORE_YIELD = 64;
+
+	// request operations
+	private static final int ADD_TO_FRONT = 0;
+	private static final int ADD_TO_REAR = 1;
+	private static final int ADD_AFTER = 2;
+	private static final int ADD_AT = 3;
+	private static final int REMOVE_FIRST = 4;
+	private static final int REMOVE_LAST = 5;
+	private static final int REMOVE_ELEMENT = 6;
+	private static final int REMOVE_AT = 7;
+	private static final int SET = 8;
+	private static final int GET = 9;
+	private static final int INDEX_OF = 10;
+	private static final int FIRST = 11;
+	private static final int LAST = 12;
+	private static final int ITER_REMOVE = 13;
+	private static final int ITER_ADD = 14;
+	private static final int ITER_SET = 15;
+
+	private final IndexedUnsortedList<T> list;
+	private final ReentrantLock combinerLock;
+	private final AtomicReference<Request<T>> published; // stack of pending requests
+	private volatile int size;
+	private volatile int modCount; // only changed by the combiner
+	private boolean sweepable; // whether the list has a ListIterator
+
+	/**
+	 * Wraps a list
+	 *
+	 * @param list list to guard, ideally one with a ListIterator
+	 */
+	public IUFlatCombiningList(IndexedUnsortedList<T> list) {
+		this.list = list;
+		combinerLock = new ReentrantLock();
+		published = new AtomicReference<Request<T>>();
+		size = list.size();
+		modCount = 0;
+		sweepable = true;
+	}
+
+	/**
+	 * Publishes a request and waits until it has been served, combining
+	 * whenever no other thread is
+	 *
+	 * @param request request to run
+	 * @return result of the request
+	 */
+	private Object execute(Request<T> request) {
+		Request<T> top;
+		do {
+			top = published.get();
+			request.next = top;
+		} while (!published.compareAndSet(top, request));
+
+		int spins = 0;
+		while (!request.done) {
+			if (combinerLock.tryLock()) {
+				try {
+					combine();
+				} finally {
+					combinerLock.unlock();
+				}
+			} else if (++spins % SPINS_BEFORE_YIELD == 0) {
+				Thread.yield();
+			} else {
+				Thread.onSpinWait();
+			}
+		}
+
+		if (request.failure != null) {
+			throw request.failure;
+		}
+		return request.result;
+	}
+
+	/** Serves every published request. Caller holds the combiner lock. */
+	private void combine() {
+		Request<T> batch = published.getAndSet(null);
+		if (batch == null) {
+			return;
+		}
+
+		// serve in arrival order, holding back positional updates for the sweep
+		Request<T> arrived = null;
+		while (batch != null) {
+			Request<T> next = batch.next;
+			batch.next = arrived;
+			batch.batchNext = arrived;
+			arrived = batch;
+			batch = next;
+		}
+
+		try {
+			Request<T> positional = null;
+			int positionalCount = 0;
+			for (Request<T> request = arrived; request != null;) {
+				Request<T> next = request.next;
+				if (request.operation == ADD_AT || request.operation == REMOVE_AT) {
+					request.next = positional;
+					positional = request;
+					positionalCount++;
+				} else {
+					apply(request);
+					finish(request);
+				}
+				request = next;
+			}
+
+			if (positionalCount > 1 && sweepable) {
+				sweep(sortByIndex(positional));
+			} else {
+				for (Request<T> request = positional; request != null;) {
+					Request<T> next = request.next;
+					apply(request);
+					finish(request);
+					request = next;
+				}
+			}
+		} finally {
+			// if serving threw, no thread may be left waiting on a request that was never finished
+			for (Request<T> request = arrived; request != null; request = request.batchNext) {
+				if (!request.done) {
+					if (request.failure == null) {
+						request.failure = new IllegalStateException("request abandoned by a failed combiner");
+					}
+					finish(request);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Publishes the outcome of a request, and the size of the list after
+	 * it, to its waiting thread
+	 *
+	 * @param request served request
+	 */
+	private void finish(Request<T> request) {
+		size = list.size(); // before done, so the thread never sees the size from before its change
+		request.next = null;
+		request.done = true;
+	}
+
+	/**
+	 * Runs one request against the list, capturing its result or failure
+	 *
+	 * @param request request to run
+	 */
+	private void apply(Request<T> request) {
+		try {
+			switch (request.operation) {
+			case ADD_TO_FRONT:
+				list.addToFront(request.element);
+				modCount++;
+				break;
+			case ADD_TO_REAR:
+				list.addToRear(request.element);
+				modCount++;
+				break;
+			case ADD_AFTER:
+				list.addAfter(request.element, request.target);
+				modCount++;
+				break;
+			case ADD_AT:
+				list.add(request.index, request.element);
+				modCount++;
+				break;
+			case REMOVE_FIRST:
+				request.result = list.removeFirst();
+				modCount++;
+				break;
+			case REMOVE_LAST:
+				request.result = list.removeLast();
+				modCount++;
+				break;
+			case REMOVE_ELEMENT:
+				request.result = list.remove(request.element);
+				modCount++;
+				break;
+			case REMOVE_AT:
+				request.result = list.remove(request.index);
+				modCount++;
+				break;
+			case SET:
+				list.set(request.index, request.element);
+				modCount++;
+				break;
+			case GET:
+				request.result = list.get(request.index);
+				break;
+			case INDEX_OF:
+				request.result = list.indexOf(request.element);
+				break;
+			case FIRST:
+				request.result = list.first();
+				break;
+			case LAST:
+				request.result = list.last();
+				break;
+			default: // iterator changes, checked against the iterator's modCount
+				if (request.expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (request.operation == ITER_REMOVE) {
+					list.remove(request.index);
+				} else if (request.operation == ITER_ADD) {
+					list.add(request.index, request.element);
+				} else {
+					list.set(request.index, request.element);
+				}
+				modCount++;
+				request.result = modCount;
+				break;
+			}
+		} catch (RuntimeException e) {
+			request.failure = e;
+		}
+	}
+
+	/**
+	 * Sorts a chain of positional requests by index, keeping arrival
+	 * order for equal indexes
+	 *
+	 * @param chain positional requests, linked through next
+	 * @return the sorted chain
+	 */
+	private Request<T> sortByIndex(Request<T> chain) {
+		Request<T> sorted = null;
+
+		while (chain != null) { // insertion sort, batches are at most one request per thread
+			Request<T> request = chain;
+			chain = chain.next;
+
+			if (sorted == null || request.index < sorted.index) {
+				request.next = sorted;
+				sorted = request;
+			} else {
+				Request<T> before = sorted;
+				while (before.next != null && before.next.index <= request.index) {
+					before = before.next;
+				}
+				request.next = before.next;
+				before.next = request;
+			}
+		}
+
+		return sorted;
+	}
+
+	/**
+	 * Applies positional requests sorted by index with one ListIterator,
+	 * started at the first target index and moved only between consecutive
+	 * target indexes
+	 *
+	 * @param sorted positional requests sorted by index
+	 */
+	private void sweep(Request<T> sorted) {
+		ListIterator<T> cursor;
+		try {
+			cursor = list.listIterator(Math.max(0, Math.min(sorted.index, list.size())));
+		} catch (UnsupportedOperationException e) {
+			sweepable = false;
+			for (Request<T> request = sorted; request != null;) {
+				Request<T> next = request.next;
+				apply(request);
+				finish(request);
+				request = next;
+			}
+			return;
+		}
+
+		int currentSize = list.size();
+		for (Request<T> request = sorted; request != null;) {
+			Request<T> next = request.next;
+			int index = request.index;
+
+			if (cursor == null) { // the cursor failed, apply the rest one at a time
+				apply(request);
+			} else if (index < 0 || index > currentSize || (request.operation == REMOVE_AT && index == currentSize)) {
+				request.failure = new IndexOutOfBoundsException();
+			} else {
+				try {
+					while (cursor.nextIndex() < index) {
+						cursor.next();
+					}
+					while (cursor.nextIndex() > index) {
+						cursor.previous();
+					}
+
+					if (request.operation == ADD_AT) {
+						cursor.add(request.element);
+						currentSize++;
+					} else {
+						request.result = cursor.next();
+						cursor.remove();
+						currentSize--;
+					}
+				} catch (RuntimeException e) {
+					request.failure = e;
+					cursor = null; // its position is no longer known
+				}
+				modCount++; // even after a failure, the list may have changed
+			}
+
+			finish(request);
+			request = next;
+		}
+	}
+
+	/**
+	 * @param operation request operation
+	 * @return new request for the operation
+	 */
+	private Request<T> request(int operation) {
+		return new Request<T>(operation);
+	}
+
+	@Override
+	public void addToFront(T element) {
+		Request<T> request = request(ADD_TO_FRONT);
+		request.element = element;
+		execute(request);
+	}
+
+	@Override
+	public void addToRear(T element) {
+		Request<T> request = request(ADD_TO_REAR);
+		request.element = element;
+		execute(request);
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		Request<T> request = request(ADD_AFTER);
+		request.element = element;
+		request.target = target;
+		execute(request);
+	}
+
+	@Override
+	public void add(int index, T element) {
+		Request<T> request = request(ADD_AT);
+		request.index = index;
+		request.element = element;
+		execute(request);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T removeFirst() {
+		return (T) execute(request(REMOVE_FIRST));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T removeLast() {
+		return (T) execute(request(REMOVE_LAST));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T remove(T element) {
+		Request<T> request = request(REMOVE_ELEMENT);
+		request.element = element;
+		return (T) execute(request);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T remove(int index) {
+		Request<T> request = request(REMOVE_AT);
+		request.index = index;
+		return (T) execute(request);
+	}
+
+	@Override
+	public void set(int index, T element) {
+		Request<T> request = request(SET);
+		request.index = index;
+		request.element = element;
+		execute(request);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		Request<T> request = request(GET);
+		request.index = index;
+		return (T) execute(request);
+	}
+
+	@Override
+	public int indexOf(T element) {
+		Request<T> request = request(INDEX_OF);
+		request.element = element;
+		return (Integer) execute(request);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T first() {
+		return (T) execute(request(FIRST));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T last() {
+		return (T) execute(request(LAST));
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (str.length() > 1) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new FCIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new FCIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new FCIterator(startingIndex);
+	}
+
+	/** An operation published for the combiner, and its outcome */
+	private static class Request<T> {
+		private final int operation;
+		private T element;
+		private T target;
+		private int index;
+		private int expectedModCount;
+		private Object result;
+		private RuntimeException failure;
+		private Request<T> next;
+		private Request<T> batchNext; // next in the batch, kept while next is relinked for serving
+		private volatile boolean done; // publishes the fields above to the waiting thread
+
+		/** @param operation one of the request operation codes */
+		public Request(int operation) {
+			this.operation = operation;
+		}
+	}
+
+	/** ListIterator (and basic iterator) over a copy of an IUFlatCombiningList */
+	private class FCIterator implements ListIterator<T> {
+		private IUCircularArrayList<T> snapshot;
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public FCIterator(int startingIndex) {
+			combinerLock.lock(); // copy between batches
+			try {
+				snapshot = new IUCircularArrayList<T>(Math.max(1, list.size()));
+				for (T element : list) {
+					snapshot.addToRear(element);
+				}
+				iterModCount = modCount;
+			} finally {
+				combinerLock.unlock();
+			}
+
+			if (startingIndex < 0 || startingIndex > snapshot.size()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+		}
+
+		/**
+		 * @throws ConcurrentModificationException if the list changed since the copy
+		 */
+		private void checkForComodification() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			checkForComodification();
+
+			return nextIndex < snapshot.size();
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return snapshot.get(lastReturnedIndex);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			checkForComodification();
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return snapshot.get(lastReturnedIndex);
+		}
+
+		@Override
+		public int nextIndex() {
+			checkForComodification();
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			checkForComodification();
+
+			return nextIndex - 1;
+		}
+
+		/**
+		 * Sends an iterator change to the combiner
+		 *
+		 * @param operation ITER_REMOVE, ITER_ADD or ITER_SET
+		 * @param index     index the change applies to
+		 * @param element   element for ITER_ADD and ITER_SET
+		 */
+		private void change(int operation, int index, T element) {
+			Request<T> request = request(operation);
+			request.index = index;
+			request.element = element;
+			request.expectedModCount = iterModCount;
+			iterModCount = (Integer) execute(request);
+		}
+
+		@Override
+		public void remove() {
+			checkForComodification();
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			change(ITER_REMOVE, lastReturnedIndex, null);
+			snapshot.remove(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+		}
+
+		@Override
+		public void set(T e) {
+			checkForComodification();
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			change(ITER_SET, lastReturnedIndex, e);
+			snapshot.set(lastReturnedIndex, e);
+		}
+
+		@Override
+		public void add(T e) {
+			change(ITER_ADD, nextIndex, e);
+			snapshot.add(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+		}
+	}
+}
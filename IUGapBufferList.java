@@ -0,0 +1,464 @@
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+
+/**
+ * Gap buffer implementation of IndexedUnsortedList.
+ * Elements are stored in an array with a single run of empty slots (the gap)
+ * that follows the most recent edit. Inserting or removing at the gap is O(1)
+ * amortized, and moving the gap costs only the distance it travels, so
+ * clustered add(int, T) and remove(int) calls near a moving cursor stay cheap.
+ * get() and set() are O(1).
+ * A ListIterator with working remove(), add(), set() methods that edit at the gap.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUGapBufferList<T> implements IndexedUnsortedList<T> {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int NOT_FOUND = -1;
+
+	private T[] array;
+	private int gapStart; // first empty slot
+	private int gapEnd; // first element after the gap
+	private int size;
+	private int modCount;
+
+	/** Creates an empty list with default initial capacity */
+	public IUGapBufferList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 */
+	@SuppressWarnings("unchecked")
+	public IUGapBufferList(int initialCapacity) {
+		array = (T[]) (new Object[Math.max(1, initialCapacity)]);
+		gapStart = 0;
+		gapEnd = array.length;
+		size = 0;
+		modCount = 0;
+	}
+
+	/** Double the capacity of array, keeping the gap where it is */
+	@SuppressWarnings("unchecked")
+	private void expandCapacity() {
+		if (gapStart == gapEnd) {
+			T[] newArray = (T[]) (new Object[array.length * 2]);
+			int rearCount = array.length - gapEnd;
+			for (int i = 0; i < gapStart; i++) {
+				newArray[i] = array[i];
+			}
+			for (int i = 0; i < rearCount; i++) {
+				newArray[newArray.length - rearCount + i] = array[gapEnd + i];
+			}
+			gapEnd = newArray.length - rearCount;
+			array = newArray;
+		}
+	}
+
+	/**
+	 * Translates a list index into a position in the array
+	 *
+	 * @param index list index, 0 <= index < size
+	 * @return array position holding that index
+	 */
+	private int physical(int index) {
+		if (index < gapStart) {
+			return index;
+		}
+		return index + (gapEnd - gapStart);
+	}
+
+	/**
+	 * Moves the gap so that it starts at the given list index
+	 *
+	 * @param index list index for the gap, 0 <= index <= size
+	 */
+	private void moveGap(int index) {
+		if (gapStart == gapEnd) { // full array, an empty gap can sit anywhere
+			gapStart = index;
+			gapEnd = index;
+		}
+		while (gapStart > index) { // move elements before the gap to after it
+			gapStart--;
+			gapEnd--;
+			array[gapEnd] = array[gapStart];
+			array[gapStart] = null;
+		}
+		while (gapStart < index) { // move elements after the gap to before it
+			array[gapStart] = array[gapEnd];
+			array[gapEnd] = null;
+			gapStart++;
+			gapEnd++;
+		}
+	}
+
+	/**
+	 * Inserts element at index by moving the gap there.
+	 * Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		moveGap(index);
+		expandCapacity();
+
+		array[gapStart] = element;
+		gapStart++;
+		size++;
+	}
+
+	/**
+	 * Removes the element at index by widening the gap over it.
+	 * Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		T retVal;
+
+		if (index == gapStart - 1) { // element right before the gap
+			gapStart--;
+			retVal = array[gapStart];
+			array[gapStart] = null;
+		} else {
+			moveGap(index);
+			retVal = array[gapEnd];
+			array[gapEnd] = null;
+			gapEnd++;
+		}
+
+		size--;
+		return retVal;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(size, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(size - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		array[physical(index)] = element;
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return array[physical(index)];
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int index = NOT_FOUND;
+
+		int i = 0;
+		while (index == NOT_FOUND && i < size) {
+			if (element.equals(array[physical(i)])) {
+				index = i;
+			} else {
+				i++;
+			}
+		}
+
+		return index;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[physical(0)];
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[physical(size - 1)];
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (size > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new GBIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new GBIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new GBIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUGapBufferList */
+	private class GBIterator implements ListIterator<T> {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/** Initialize iterator at the start of the list */
+		public GBIterator() {
+			this(0);
+		}
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public GBIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < size;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return array[physical(lastReturnedIndex)];
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return array[physical(lastReturnedIndex)];
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			removeAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			array[physical(lastReturnedIndex)] = e;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			insertAt(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
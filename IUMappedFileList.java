@@ -0,0 +1,496 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+
+/**
+ * Memory-mapped, file-backed implementation of IndexedUnsortedList.
+ * Elements are encoded by a RecordCodec into fixed-size records that follow
+ * a small header (magic number, version, record size, size, capacity) in a
+ * memory-mapped file, so reopening the file restores the list immediately.
+ * The file grows in large chunks and is remapped, and changes are forced to
+ * disk according to the chosen SyncPolicy. A single mapping limits the file
+ * to 2GB.
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUMappedFileList<T> implements IndexedUnsortedList<T>, AutoCloseable {
+	/** When changes are forced to the storage device */
+	public enum SyncPolicy {
+		/** only on force() and close(), otherwise when the operating system writes pages back */
+		ON_CLOSE,
+		/** after every change to the list */
+		EVERY_CHANGE
+	}
+
+	private static final int MAGIC = 0x49554c31; // "IUL1"
+	private static final int VERSION = 1;
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 4;
+	private static final int RECORD_SIZE_OFFSET = 8;
+	private static final int SIZE_OFFSET = 16;
+	private static final int CAPACITY_OFFSET = 24;
+	private static final int HEADER_BYTES = 32;
+	private static final int MIN_GROWTH_BYTES = 1 << 20;
+	private static final int NOT_FOUND = -1;
+
+	private Path file;
+	private RecordCodec<T> codec;
+	private int recordSize;
+	private SyncPolicy syncPolicy;
+	private MappedByteBuffer buffer; // null once closed
+	private byte[] scratch; // one record, for moving records
+	private int capacity;
+	private int rear;
+	private int modCount;
+
+	/**
+	 * Opens the list stored in file, or creates it if file is missing or empty,
+	 * syncing on close
+	 *
+	 * @param file  the backing file
+	 * @param codec encodes and decodes the elements
+	 * @throws IOException if the file cannot be mapped or is not a list with this record size
+	 */
+	public IUMappedFileList(Path file, RecordCodec<T> codec) throws IOException {
+		this(file, codec, SyncPolicy.ON_CLOSE);
+	}
+
+	/**
+	 * Opens the list stored in file, or creates it if file is missing or empty
+	 *
+	 * @param file       the backing file
+	 * @param codec      encodes and decodes the elements
+	 * @param syncPolicy when changes are forced to disk
+	 * @throws IOException if the file cannot be mapped or is not a list with this record size
+	 */
+	public IUMappedFileList(Path file, RecordCodec<T> codec, SyncPolicy syncPolicy) throws IOException {
+		this.file = file;
+		this.codec = codec;
+		this.recordSize = codec.recordSize();
+		this.syncPolicy = syncPolicy;
+		scratch = new byte[recordSize];
+		modCount = 0;
+
+		long existingBytes;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES); // checked before anything is mapped or written
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+			existingBytes = channel.size();
+			while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+				// read until the header is full or the file ends
+			}
+		}
+
+		if (existingBytes == 0) { // new list
+			map(Math.max(1, MIN_GROWTH_BYTES / recordSize));
+			buffer.putInt(MAGIC_OFFSET, MAGIC);
+			buffer.putInt(VERSION_OFFSET, VERSION);
+			buffer.putInt(RECORD_SIZE_OFFSET, recordSize);
+			buffer.putLong(SIZE_OFFSET, 0);
+			rear = 0;
+		} else { // reopen an existing list
+			if (existingBytes < HEADER_BYTES) {
+				throw new IOException("not a list file: " + file);
+			}
+			if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+				throw new IOException("not a list file: " + file);
+			}
+			if (header.getInt(RECORD_SIZE_OFFSET) != recordSize) {
+				throw new IOException("record size does not match codec: " + file);
+			}
+			long records = (existingBytes - HEADER_BYTES) / recordSize;
+			if (records > (Integer.MAX_VALUE - HEADER_BYTES) / recordSize) {
+				throw new IOException("list file larger than 2GB: " + file);
+			}
+			long storedSize = header.getLong(SIZE_OFFSET);
+			if (storedSize < 0 || storedSize > records) {
+				throw new IOException("corrupt list size: " + file);
+			}
+			map((int) records);
+			rear = (int) storedSize;
+		}
+	}
+
+	/**
+	 * Maps the header and newCapacity records of the file, extending the
+	 * file if needed. The channel is closed again since the mapping stays
+	 * valid on its own.
+	 *
+	 * @param newCapacity number of records to map
+	 * @throws IOException if the file cannot be mapped
+	 */
+	private void map(int newCapacity) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) newCapacity * recordSize);
+		}
+		capacity = newCapacity;
+		buffer.putLong(CAPACITY_OFFSET, capacity);
+	}
+
+	/**
+	 * Grows and remaps the file by a large chunk if every record slot is used
+	 *
+	 * @throws IllegalStateException if the list has been closed or is at its 2GB limit
+	 * @throws UncheckedIOException  if the file cannot be remapped
+	 */
+	private void expandCapacity() {
+		if (buffer == null) {
+			throw new IllegalStateException();
+		}
+		if (rear == capacity) {
+			int maxCapacity = (Integer.MAX_VALUE - HEADER_BYTES) / recordSize;
+			int growth = Math.max(capacity, MIN_GROWTH_BYTES / recordSize);
+			int newCapacity = (int) Math.min(maxCapacity, (long) capacity + growth);
+			if (newCapacity == capacity) {
+				throw new IllegalStateException();
+			}
+			try {
+				map(newCapacity);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/** Records the new size in the header and applies the sync policy after a change */
+	private void changed() {
+		buffer.putLong(SIZE_OFFSET, rear);
+		if (syncPolicy == SyncPolicy.EVERY_CHANGE) {
+			buffer.force();
+		}
+		modCount++;
+	}
+
+	/**
+	 * Forces every change to the list out to the storage device.
+	 *
+	 * @throws IllegalStateException if the list has been closed
+	 */
+	public void force() {
+		if (buffer == null) {
+			throw new IllegalStateException();
+		}
+		buffer.force();
+	}
+
+	/**
+	 * Forces every change to disk and releases the mapping. Afterwards the
+	 * list is empty and adding to it throws IllegalStateException; reopen
+	 * the file with a new list to use it again.
+	 */
+	@Override
+	public void close() {
+		if (buffer != null) {
+			buffer.force();
+			buffer = null;
+		}
+		rear = 0;
+		modCount++;
+	}
+
+	/**
+	 * @param index list index
+	 * @return the byte offset of index in the file
+	 */
+	private int positionFor(int index) {
+		return HEADER_BYTES + index * recordSize;
+	}
+
+	/**
+	 * Copies the record at one index over the record at another
+	 *
+	 * @param from source index
+	 * @param to   destination index
+	 */
+	private void copyRecord(int from, int to) {
+		buffer.get(positionFor(from), scratch);
+		buffer.put(positionFor(to), scratch);
+	}
+
+	/**
+	 * Inserts element at index. Does not check bounds or record the change.
+	 *
+	 * @param index   where the element goes, 0 <= index <= rear
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		expandCapacity();
+
+		// shift records
+		for (int i = rear; i > index; i--) {
+			copyRecord(i - 1, i);
+		}
+
+		codec.write(element, buffer, positionFor(index));
+		rear++;
+	}
+
+	/**
+	 * Removes the element at index. Does not check bounds or record the change.
+	 *
+	 * @param index index of the element to remove, 0 <= index < rear
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		T retVal = codec.read(buffer, positionFor(index));
+
+		rear--;
+		// shift records
+		for (int i = index; i < rear; i++) {
+			copyRecord(i + 1, i);
+		}
+
+		return retVal;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		changed();
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(rear, element);
+		changed();
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		changed();
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		changed();
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		changed();
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(rear - 1);
+		changed();
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		changed();
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		changed();
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		codec.write(element, buffer, positionFor(index));
+		changed();
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return codec.read(buffer, positionFor(index));
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int index = NOT_FOUND;
+
+		int i = 0;
+		while (index == NOT_FOUND && i < rear) {
+			if (element.equals(codec.read(buffer, positionFor(i)))) {
+				index = i;
+			} else {
+				i++;
+			}
+		}
+
+		return index;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return codec.read(buffer, positionFor(0));
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return codec.read(buffer, positionFor(rear - 1));
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return rear == 0;
+	}
+
+	@Override
+	public int size() {
+		return rear;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (rear > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new MFIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		throw new UnsupportedOperationException();
+	}
+
+	/** Iterator for IUMappedFileList */
+	private class MFIterator implements Iterator<T> {
+		private int nextIndex;
+		private int iterModCount;
+		private boolean removable;
+
+		public MFIterator() {
+			nextIndex = 0;
+			iterModCount = modCount;
+			removable = false;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < rear;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			removable = true;
+			nextIndex++;
+
+			return codec.read(buffer, positionFor(nextIndex - 1));
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (!removable) {
+				throw new IllegalStateException();
+			}
+
+			removable = false;
+
+			nextIndex--;
+			removeAt(nextIndex);
+
+			changed();
+			iterModCount++;
+		}
+	}
+}
@@ -0,0 +1,434 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+
+/**
+ * Off-heap implementation of IndexedUnsortedList.
+ * Elements are encoded by a RecordCodec into fixed-size records stored in
+ * a chain of direct ByteBuffer segments, so the garbage collector never
+ * scans the list contents. The list grows by adding a segment rather than
+ * copying. close() drops every segment; a direct buffer's memory is freed
+ * once the garbage collector reclaims the buffer, not at close() itself.
+ * Every operation on a closed list throws IllegalStateException.
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUOffHeapList<T> implements IndexedUnsortedList<T>, AutoCloseable {
+	private static final int DEFAULT_SEGMENT_BYTES = 1 << 16;
+	private static final int NOT_FOUND = -1;
+
+	private RecordCodec<T> codec;
+	private int recordSize;
+	private int recordsPerSegment;
+	private ByteBuffer[] segments; // null once closed
+	private int segmentCount;
+	private byte[] scratch; // one record, for moving records
+	private int rear;
+	private int modCount;
+
+	/**
+	 * Creates an empty list using segments of about 64KB
+	 *
+	 * @param codec encodes and decodes the elements
+	 */
+	public IUOffHeapList(RecordCodec<T> codec) {
+		this(codec, Math.max(1, DEFAULT_SEGMENT_BYTES / codec.recordSize()));
+	}
+
+	/**
+	 * Creates an empty list whose segments hold recordsPerSegment elements
+	 *
+	 * @param codec             encodes and decodes the elements
+	 * @param recordsPerSegment elements per segment
+	 * @throws IllegalArgumentException if recordsPerSegment < 1
+	 */
+	public IUOffHeapList(RecordCodec<T> codec, int recordsPerSegment) {
+		if (recordsPerSegment < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.codec = codec;
+		this.recordSize = codec.recordSize();
+		this.recordsPerSegment = recordsPerSegment;
+		segments = new ByteBuffer[4];
+		segmentCount = 0;
+		scratch = new byte[recordSize];
+		rear = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * Drops the segments of this list, leaving their off-heap memory to be
+	 * freed when the garbage collector reclaims them. Afterwards every
+	 * operation on the list throws IllegalStateException.
+	 */
+	@Override
+	public void close() {
+		segments = null;
+		segmentCount = 0;
+		rear = 0;
+		modCount++;
+	}
+
+	/**
+	 * @throws IllegalStateException if the list has been closed
+	 */
+	private void checkOpen() {
+		if (segments == null) {
+			throw new IllegalStateException("list is closed");
+		}
+	}
+
+	/**
+	 * Chains on another segment if every record slot is used
+	 *
+	 * @throws IllegalStateException if the list has been closed
+	 */
+	private void expandCapacity() {
+		checkOpen();
+		if (rear == segmentCount * recordsPerSegment) {
+			if (segmentCount == segments.length) {
+				segments = Arrays.copyOf(segments, segments.length * 2);
+			}
+			segments[segmentCount] = ByteBuffer.allocateDirect(recordsPerSegment * recordSize);
+			segmentCount++;
+		}
+	}
+
+	/** Drops trailing segments, keeping at most one empty spare */
+	private void releaseSpareSegments() {
+		while (segmentCount >= 2 && rear <= (segmentCount - 2) * recordsPerSegment) {
+			segmentCount--;
+			segments[segmentCount] = null;
+		}
+	}
+
+	/**
+	 * @param index list index
+	 * @return the segment holding index
+	 */
+	private ByteBuffer segmentFor(int index) {
+		return segments[index / recordsPerSegment];
+	}
+
+	/**
+	 * @param index list index
+	 * @return the byte offset of index within its segment
+	 */
+	private int positionFor(int index) {
+		return (index % recordsPerSegment) * recordSize;
+	}
+
+	/**
+	 * @param index list index, 0 <= index < rear
+	 * @return the decoded element at index
+	 */
+	private T read(int index) {
+		return codec.read(segmentFor(index), positionFor(index));
+	}
+
+	/**
+	 * @param index   list index, 0 <= index < capacity
+	 * @param element element to encode at index
+	 */
+	private void write(int index, T element) {
+		codec.write(element, segmentFor(index), positionFor(index));
+	}
+
+	/**
+	 * Copies the record at one index over the record at another
+	 *
+	 * @param from source index
+	 * @param to   destination index
+	 */
+	private void copyRecord(int from, int to) {
+		segmentFor(from).get(positionFor(from), scratch);
+		segmentFor(to).put(positionFor(to), scratch);
+	}
+
+	/**
+	 * Inserts element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= rear
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		expandCapacity();
+
+		// shift records
+		for (int i = rear; i > index; i--) {
+			copyRecord(i - 1, i);
+		}
+
+		write(index, element);
+		rear++;
+	}
+
+	/**
+	 * Removes the element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < rear
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		T retVal = read(index);
+
+		rear--;
+		// shift records
+		for (int i = index; i < rear; i++) {
+			copyRecord(i + 1, i);
+		}
+
+		releaseSpareSegments();
+		return retVal;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(rear, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(rear - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		write(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return read(index);
+	}
+
+	@Override
+	public int indexOf(T element) {
+		checkOpen();
+		int index = NOT_FOUND;
+
+		int i = 0;
+		while (index == NOT_FOUND && i < rear) {
+			if (element.equals(read(i))) {
+				index = i;
+			} else {
+				i++;
+			}
+		}
+
+		return index;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return read(0);
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return read(rear - 1);
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		checkOpen();
+		return rear == 0;
+	}
+
+	@Override
+	public int size() {
+		checkOpen();
+		return rear;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (rear > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		checkOpen();
+		return new OHIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		throw new UnsupportedOperationException();
+	}
+
+	/** Iterator for IUOffHeapList */
+	private class OHIterator implements Iterator<T> {
+		private int nextIndex;
+		private int iterModCount;
+		private boolean removable;
+
+		public OHIterator() {
+			nextIndex = 0;
+			iterModCount = modCount;
+			removable = false;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < rear;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			removable = true;
+			nextIndex++;
+
+			return read(nextIndex - 1);
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (!removable) {
+				throw new IllegalStateException();
+			}
+
+			removable = false;
+
+			nextIndex--;
+			removeAt(nextIndex);
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
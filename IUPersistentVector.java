@@ -0,0 +1,830 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent vector implementation of IndexedUnsortedList, built as a
+ * relaxed radix balanced (RRB) tree of 32-way nodes.
+ * Nodes filled strictly left to right are indexed by radix arithmetic;
+ * nodes made irregular by inserts and removes in the middle keep a
+ * cumulative size table instead. get(), set(), add(int, T) and remove(int)
+ * are all O(log32 n).
+ * A vector is either mutable or immutable. snapshot() returns an immutable
+ * version sharing the whole tree in O(1), and the withAdded(), withSet() and
+ * withRemoved() methods return a new immutable version that copies only
+ * the path to the change. A mutable vector works as a transient: it edits
+ * nodes it created in place and only copies nodes it shares with a
+ * snapshot, so a batch of changes costs no per-change path copying.
+ * mutableCopy() turns any version back into a builder.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUPersistentVector<T> implements IndexedUnsortedList<T> {
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS; // 32 slots per node
+	private static final int NOT_FOUND = -1;
+
+	private Node root;
+	private int shift; // BITS * height of the tree, 0 when root is a leaf
+	private int size;
+	private Object edit; // owner token of nodes this vector may change, null if immutable
+	private int modCount;
+
+	/** Creates an empty mutable vector */
+	public IUPersistentVector() {
+		edit = new Object();
+		root = new Node(edit);
+		shift = 0;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * Creates a vector over an existing tree
+	 *
+	 * @param root  root of the tree
+	 * @param shift height of the tree
+	 * @param size  number of elements in the tree
+	 * @param edit  owner token, or null for an immutable vector
+	 */
+	private IUPersistentVector(Node root, int shift, int size, Object edit) {
+		this.root = root;
+		this.shift = shift;
+		this.size = size;
+		this.edit = edit;
+		modCount = 0;
+	}
+
+	/**
+	 * Returns an immutable version of the current contents in O(1). The
+	 * tree is shared, so later changes to this vector copy each node the
+	 * first time they touch it.
+	 *
+	 * @return immutable version of this vector
+	 */
+	public IUPersistentVector<T> snapshot() {
+		if (edit != null) {
+			edit = new Object(); // every existing node now belongs to the snapshot
+		}
+		return new IUPersistentVector<T>(root, shift, size, null);
+	}
+
+	/**
+	 * Returns a new mutable vector sharing this vector's tree in O(1)
+	 *
+	 * @return mutable vector with the same contents
+	 */
+	public IUPersistentVector<T> mutableCopy() {
+		if (edit != null) {
+			edit = new Object();
+		}
+		return new IUPersistentVector<T>(root, shift, size, new Object());
+	}
+
+	/** @return true if this vector can be changed in place */
+	public boolean isMutable() {
+		return edit != null;
+	}
+
+	/**
+	 * @param element element to add at the rear
+	 * @return new immutable version with element added
+	 */
+	public IUPersistentVector<T> withAdded(T element) {
+		return withAdded(size, element);
+	}
+
+	/**
+	 * @param index   where the element goes
+	 * @param element element to insert
+	 * @return new immutable version with element inserted at index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+	 */
+	public IUPersistentVector<T> withAdded(int index, T element) {
+		IUPersistentVector<T> next = mutableCopy();
+		next.add(index, element);
+		next.edit = null;
+		return next;
+	}
+
+	/**
+	 * @param index   index of the element to replace
+	 * @param element the replacement element
+	 * @return new immutable version with element at index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public IUPersistentVector<T> withSet(int index, T element) {
+		IUPersistentVector<T> next = mutableCopy();
+		next.set(index, element);
+		next.edit = null;
+		return next;
+	}
+
+	/**
+	 * @param index index of the element to remove
+	 * @return new immutable version without the element at index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public IUPersistentVector<T> withRemoved(int index) {
+		IUPersistentVector<T> next = mutableCopy();
+		next.remove(index);
+		next.edit = null;
+		return next;
+	}
+
+	/**
+	 * @throws UnsupportedOperationException if this vector is immutable
+	 */
+	private void checkMutable() {
+		if (edit == null) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * @param node node to change
+	 * @return node itself if this vector owns it, otherwise an owned copy
+	 */
+	private Node editable(Node node) {
+		if (node.edit == edit) {
+			return node;
+		}
+		Node copy = new Node(edit);
+		System.arraycopy(node.slots, 0, copy.slots, 0, node.length);
+		copy.length = node.length;
+		copy.sizes = (node.sizes == null) ? null : node.sizes.clone();
+		return copy;
+	}
+
+	/**
+	 * @param node  a node of the tree
+	 * @param shift height of node
+	 * @return number of elements under node
+	 */
+	private static int sizeOf(Node node, int shift) {
+		if (shift == 0) {
+			return node.length;
+		}
+		if (node.sizes != null) {
+			return node.sizes[node.length - 1];
+		}
+		return ((node.length - 1) << shift) + sizeOf((Node) node.slots[node.length - 1], shift - BITS);
+	}
+
+	/**
+	 * Finds the child of an internal node holding index. An index equal to
+	 * the node's size maps to the last child.
+	 *
+	 * @param node  internal node
+	 * @param shift height of node
+	 * @param index index within node
+	 * @return slot of the child
+	 */
+	private static int childIndex(Node node, int shift, int index) {
+		int c = Math.min(index >> shift, node.length - 1); // children hold at most 2^shift elements
+		if (node.sizes != null) {
+			while (c < node.length - 1 && node.sizes[c] <= index) {
+				c++;
+			}
+		}
+		return c;
+	}
+
+	/**
+	 * @param node  internal node
+	 * @param shift height of node
+	 * @param c     slot of a child
+	 * @return index within node of the child's first element
+	 */
+	private static int childStart(Node node, int shift, int c) {
+		if (node.sizes != null) {
+			return (c == 0) ? 0 : node.sizes[c - 1];
+		}
+		return c << shift;
+	}
+
+	/**
+	 * Recomputes the size table of an internal node, dropping it when every
+	 * child but the last is full and the last is itself strict.
+	 *
+	 * @param node  internal node this vector owns
+	 * @param shift height of node
+	 */
+	private static void relax(Node node, int shift) {
+		int[] sizes = (node.sizes != null) ? node.sizes : new int[WIDTH];
+		boolean strict = true;
+		int total = 0;
+
+		for (int k = 0; k < node.length; k++) {
+			Node child = (Node) node.slots[k];
+			int childSize = sizeOf(child, shift - BITS);
+			total += childSize;
+			sizes[k] = total;
+			if (k < node.length - 1 && childSize != 1 << shift) {
+				strict = false;
+			}
+		}
+		if (shift > BITS && ((Node) node.slots[node.length - 1]).sizes != null) {
+			strict = false;
+		}
+
+		node.sizes = strict ? null : sizes;
+	}
+
+	/**
+	 * Inserts item into the slots of node, splitting node if it is full.
+	 * Appending to a full node moves only the new item to the sibling, so
+	 * a vector built by appending stays strict.
+	 *
+	 * @param node node this vector owns
+	 * @param pos  slot for item, 0 <= pos <= node.length
+	 * @param item element or child node
+	 * @return new right sibling of node, or null if node did not split
+	 */
+	private Node insertSlot(Node node, int pos, Object item) {
+		if (node.length < WIDTH) {
+			System.arraycopy(node.slots, pos, node.slots, pos + 1, node.length - pos);
+			node.slots[pos] = item;
+			node.length++;
+			return null;
+		}
+
+		Node right = new Node(edit);
+		int keep = (pos == WIDTH) ? WIDTH : WIDTH / 2;
+		System.arraycopy(node.slots, keep, right.slots, 0, WIDTH - keep);
+		for (int k = keep; k < WIDTH; k++) {
+			node.slots[k] = null;
+		}
+		right.length = WIDTH - keep;
+		node.length = keep;
+
+		if (pos < keep) {
+			insertSlot(node, pos, item);
+		} else {
+			insertSlot(right, pos - keep, item);
+		}
+		return right;
+	}
+
+	/**
+	 * Removes the item in a slot of node
+	 *
+	 * @param node node this vector owns
+	 * @param pos  slot to clear, 0 <= pos < node.length
+	 * @return the removed item
+	 */
+	private static Object removeSlot(Node node, int pos) {
+		Object item = node.slots[pos];
+		node.length--;
+		System.arraycopy(node.slots, pos + 1, node.slots, pos, node.length - pos);
+		node.slots[node.length] = null;
+		return item;
+	}
+
+	/**
+	 * Inserts element at index under node
+	 *
+	 * @param node    node this vector owns
+	 * @param shift   height of node
+	 * @param index   index within node, 0 <= index <= size of node
+	 * @param element element to insert
+	 * @return new right sibling of node, or null if node did not split
+	 */
+	private Node insert(Node node, int shift, int index, T element) {
+		if (shift == 0) {
+			return insertSlot(node, index, element);
+		}
+
+		int c = childIndex(node, shift, index);
+		Node child = editable((Node) node.slots[c]);
+		node.slots[c] = child;
+		Node childSplit = insert(child, shift - BITS, index - childStart(node, shift, c), element);
+
+		if (childSplit != null) {
+			Node split = insertSlot(node, c + 1, childSplit);
+			relax(node, shift);
+			if (split != null) {
+				relax(split, shift);
+			}
+			return split;
+		}
+
+		if (node.sizes != null) {
+			for (int k = c; k < node.length; k++) {
+				node.sizes[k]++;
+			}
+		} else if (c != node.length - 1 || (shift > BITS && child.sizes != null)) {
+			relax(node, shift);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the element at index under node, merging an underfull child
+	 * into a neighbor when the two fit in one node
+	 *
+	 * @param node  internal node or leaf this vector owns
+	 * @param shift height of node
+	 * @param index index within node, 0 <= index < size of node
+	 * @return the removed element
+	 */
+	@SuppressWarnings("unchecked")
+	private T remove(Node node, int shift, int index) {
+		if (shift == 0) {
+			return (T) removeSlot(node, index);
+		}
+
+		int c = childIndex(node, shift, index);
+		Node child = editable((Node) node.slots[c]);
+		node.slots[c] = child;
+		T retVal = remove(child, shift - BITS, index - childStart(node, shift, c));
+
+		boolean restructured = false;
+		if (child.length == 0) {
+			removeSlot(node, c);
+			restructured = true;
+		} else if (child.length < WIDTH / 2 && node.length > 1) {
+			int left = (c > 0) ? c - 1 : c;
+			Node leftNode = (Node) node.slots[left];
+			Node rightNode = (Node) node.slots[left + 1];
+			if (leftNode.length + rightNode.length <= WIDTH) {
+				leftNode = editable(leftNode);
+				System.arraycopy(rightNode.slots, 0, leftNode.slots, leftNode.length, rightNode.length);
+				leftNode.length += rightNode.length;
+				if (shift > BITS) {
+					relax(leftNode, shift - BITS);
+				}
+				node.slots[left] = leftNode;
+				removeSlot(node, left + 1);
+				restructured = true;
+			}
+		}
+
+		if (node.length == 0) {
+			return retVal; // parent removes this node
+		}
+		if (restructured || (node.sizes == null && (c != node.length - 1 || (shift > BITS && child.sizes != null)))) {
+			relax(node, shift);
+		} else if (node.sizes != null) {
+			for (int k = c; k < node.length; k++) {
+				node.sizes[k]--;
+			}
+		}
+		return retVal;
+	}
+
+	/**
+	 * Inserts element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		root = editable(root);
+		Node split = insert(root, shift, index, element);
+
+		if (split != null) { // grow a level
+			Node newRoot = new Node(edit);
+			newRoot.slots[0] = root;
+			newRoot.slots[1] = split;
+			newRoot.length = 2;
+			shift += BITS;
+			relax(newRoot, shift);
+			root = newRoot;
+		}
+		size++;
+	}
+
+	/**
+	 * Removes the element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		root = editable(root);
+		T retVal = remove(root, shift, index);
+		size--;
+
+		if (size == 0) {
+			root = new Node(edit);
+			shift = 0;
+		}
+		while (shift > 0 && root.length == 1) { // drop a level
+			root = (Node) root.slots[0];
+			shift -= BITS;
+		}
+		return retVal;
+	}
+
+	/**
+	 * Finds the leaf holding index
+	 *
+	 * @param index  index of an element, 0 <= index < size
+	 * @param offset receives the index of the leaf's first element
+	 * @return leaf holding index
+	 */
+	private Node leafFor(int index, int[] offset) {
+		Node node = root;
+		int start = 0;
+
+		for (int s = shift; s > 0; s -= BITS) {
+			int c = childIndex(node, s, index - start);
+			start += childStart(node, s, c);
+			node = (Node) node.slots[c];
+		}
+
+		offset[0] = start;
+		return node;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		checkMutable();
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		checkMutable();
+		insertAt(size, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		checkMutable();
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		checkMutable();
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		checkMutable();
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		checkMutable();
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(size - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		checkMutable();
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		checkMutable();
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		checkMutable();
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		root = editable(root);
+		Node node = root;
+		for (int s = shift; s > 0; s -= BITS) {
+			int c = childIndex(node, s, index);
+			index -= childStart(node, s, c);
+			Node child = editable((Node) node.slots[c]);
+			node.slots[c] = child;
+			node = child;
+		}
+		node.slots[index] = element;
+		modCount++;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Node node = root;
+		for (int s = shift; s > 0; s -= BITS) {
+			int c = childIndex(node, s, index);
+			index -= childStart(node, s, c);
+			node = (Node) node.slots[c];
+		}
+		return (T) node.slots[index];
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int[] offset = new int[1];
+		int index = 0;
+
+		while (index < size) {
+			Node leaf = leafFor(index, offset);
+			for (int k = 0; k < leaf.length; k++) {
+				if (element.equals(leaf.slots[k])) {
+					return offset[0] + k;
+				}
+			}
+			index = offset[0] + leaf.length;
+		}
+
+		return NOT_FOUND;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return get(0);
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return get(size - 1);
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (size > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new PVIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new PVIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new PVIterator(startingIndex);
+	}
+
+	/**
+	 * Node of the tree. Leaves hold elements and internal nodes hold
+	 * children. sizes is null while the node is strict.
+	 */
+	private static class Node {
+		private final Object edit;
+		private final Object[] slots;
+		private int length;
+		private int[] sizes; // cumulative child sizes, only in relaxed internal nodes
+
+		/** @param edit owner token of the vector creating this node */
+		public Node(Object edit) {
+			this.edit = edit;
+			slots = new Object[WIDTH];
+			length = 0;
+			sizes = null;
+		}
+	}
+
+	/** ListIterator (and basic iterator) for IUPersistentVector */
+	private class PVIterator implements ListIterator<T> {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+		private Node leaf; // leaf of the last element read, null after a change
+		private int[] leafStart;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public PVIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount;
+			leaf = null;
+			leafStart = new int[1];
+		}
+
+		/**
+		 * @param index index of an element, 0 <= index < size
+		 * @return the element, read from the cached leaf when it holds index
+		 */
+		@SuppressWarnings("unchecked")
+		private T elementAt(int index) {
+			if (leaf == null || index < leafStart[0] || index >= leafStart[0] + leaf.length) {
+				leaf = leafFor(index, leafStart);
+			}
+			return (T) leaf.slots[index - leafStart[0]];
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < size;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return elementAt(lastReturnedIndex);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return elementAt(lastReturnedIndex);
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			checkMutable();
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			removeAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+			leaf = null;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			checkMutable();
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			IUPersistentVector.this.set(lastReturnedIndex, e);
+			leaf = null;
+
+			iterModCount = modCount;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			checkMutable();
+
+			insertAt(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+			leaf = null;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
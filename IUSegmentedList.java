@@ -0,0 +1,764 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Segment-striped concurrent implementation of IndexedUnsortedList.
+ * Elements are kept in fixed-capacity array segments, each with its own
+ * lock, and a prefix-size index records how many elements come before
+ * each segment. The segment layout and the index are guarded by a
+ * read-write structure lock.
+ * Operations that touch one segment without moving any other share the
+ * structure lock and then lock only their segment, so they run in
+ * parallel with each other: get(), set(), first(), last() and size(),
+ * addToRear() while the tail segment has room, and removeLast() while it
+ * is not empty. indexOf() and contains() lock one segment at a time.
+ * Everything that shifts elements across the index, or needs a new
+ * segment, takes the structure lock exclusively. Under it a full segment
+ * is split in half, and a segment that has shrunk below a quarter of its
+ * capacity is merged into a neighbor when the two fit in half a segment.
+ * A ListIterator with working remove(), add(), set() methods. Iterators
+ * are fail-fast.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUSegmentedList<T> implements IndexedUnsortedList<T> {
+	private static final int DEFAULT_SEGMENT_CAPACITY = 256;
+	private static final int NOT_FOUND = -1;
+
+	private final int segmentCapacity;
+	private final ReentrantReadWriteLock structureLock;
+	private Segment[] segments; // only the last segment may be empty
+	private int[] prefix; // prefix[i] is the number of elements before segments[i]
+	private int segmentCount;
+	private final AtomicInteger modCount;
+
+	/** Creates an empty list with segments of 256 elements */
+	public IUSegmentedList() {
+		this(DEFAULT_SEGMENT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list
+	 *
+	 * @param segmentCapacity elements per segment
+	 * @throws IllegalArgumentException if segmentCapacity < 4
+	 */
+	public IUSegmentedList(int segmentCapacity) {
+		if (segmentCapacity < 4) {
+			throw new IllegalArgumentException();
+		}
+		this.segmentCapacity = segmentCapacity;
+		structureLock = new ReentrantReadWriteLock();
+		segments = new Segment[4];
+		prefix = new int[4];
+		segments[0] = new Segment(segmentCapacity);
+		segmentCount = 1;
+		modCount = new AtomicInteger();
+	}
+
+	/**
+	 * Finds the segment holding index. Caller holds the structure lock.
+	 *
+	 * @param index index of an element, or the size for the append point
+	 * @return position of the last segment starting at or before index
+	 */
+	private int locate(int index) {
+		int low = 0;
+		int high = segmentCount - 1;
+
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (prefix[mid] <= index) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+
+		return low;
+	}
+
+	/** @return the number of elements. Caller holds the structure lock. */
+	private int sizeLocked() {
+		Segment tail = segments[segmentCount - 1];
+		synchronized (tail) {
+			return prefix[segmentCount - 1] + tail.count;
+		}
+	}
+
+	/**
+	 * Opens a slot in the segment layout. Caller holds the structure write lock.
+	 *
+	 * @param position    where the segment goes
+	 * @param segment     new segment
+	 * @param elementsBefore number of elements before the new segment
+	 */
+	private void addSegment(int position, Segment segment, int elementsBefore) {
+		if (segmentCount == segments.length) {
+			segments = Arrays.copyOf(segments, segments.length * 2);
+			prefix = Arrays.copyOf(prefix, prefix.length * 2);
+		}
+
+		System.arraycopy(segments, position, segments, position + 1, segmentCount - position);
+		System.arraycopy(prefix, position, prefix, position + 1, segmentCount - position);
+		segments[position] = segment;
+		prefix[position] = elementsBefore;
+		segmentCount++;
+	}
+
+	/**
+	 * Drops a segment from the layout. Caller holds the structure write lock
+	 * and has moved its elements out.
+	 *
+	 * @param position segment to drop
+	 */
+	private void removeSegment(int position) {
+		segmentCount--;
+		System.arraycopy(segments, position + 1, segments, position, segmentCount - position);
+		System.arraycopy(prefix, position + 1, prefix, position, segmentCount - position);
+		segments[segmentCount] = null;
+	}
+
+	/**
+	 * Moves the upper half of a full segment into a new segment after it.
+	 * Caller holds the structure write lock.
+	 *
+	 * @param position segment to split
+	 */
+	private void split(int position) {
+		Segment left = segments[position];
+		Segment right = new Segment(segmentCapacity);
+		int keep = left.count / 2;
+
+		right.count = left.count - keep;
+		System.arraycopy(left.elements, keep, right.elements, 0, right.count);
+		Arrays.fill(left.elements, keep, left.count, null);
+		left.count = keep;
+
+		addSegment(position + 1, right, prefix[position] + keep);
+	}
+
+	/**
+	 * Merges a small segment into a neighbor when both fit in half a
+	 * segment, or drops it if it is empty and not the only one. Caller
+	 * holds the structure write lock.
+	 *
+	 * @param position segment that just shrank
+	 */
+	private void rebalance(int position) {
+		Segment segment = segments[position];
+
+		if (segment.count == 0) {
+			if (segmentCount > 1) {
+				removeSegment(position);
+			}
+		} else if (segment.count < segmentCapacity / 4 && segmentCount > 1) {
+			int left = (position > 0) ? position - 1 : position;
+			Segment leftSegment = segments[left];
+			Segment rightSegment = segments[left + 1];
+			if (leftSegment.count + rightSegment.count <= segmentCapacity / 2) {
+				System.arraycopy(rightSegment.elements, 0, leftSegment.elements, leftSegment.count, rightSegment.count);
+				leftSegment.count += rightSegment.count;
+				removeSegment(left + 1);
+			}
+		}
+	}
+
+	/**
+	 * Inserts element at index. Caller holds the structure write lock and
+	 * has checked bounds. Does not update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		int position = locate(index);
+		Segment segment = segments[position];
+		int offset = index - prefix[position];
+
+		if (segment.count == segmentCapacity) {
+			if (position == segmentCount - 1 && offset == segmentCapacity) { // start a new tail
+				addSegment(position + 1, new Segment(segmentCapacity), index);
+			} else {
+				split(position);
+			}
+			if (offset == segmentCapacity || offset > segment.count) { // goes in the new segment
+				position++;
+				segment = segments[position];
+				offset = index - prefix[position];
+			}
+		}
+
+		System.arraycopy(segment.elements, offset, segment.elements, offset + 1, segment.count - offset);
+		segment.elements[offset] = element;
+		segment.count++;
+		for (int i = position + 1; i < segmentCount; i++) {
+			prefix[i]++;
+		}
+	}
+
+	/**
+	 * Removes the element at index. Caller holds the structure write lock
+	 * and has checked bounds. Does not update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		int position = locate(index);
+		Segment segment = segments[position];
+		int offset = index - prefix[position];
+		T retVal = segment.elementAt(offset);
+
+		segment.count--;
+		System.arraycopy(segment.elements, offset + 1, segment.elements, offset, segment.count - offset);
+		segment.elements[segment.count] = null;
+		for (int i = position + 1; i < segmentCount; i++) {
+			prefix[i]--;
+		}
+
+		rebalance(position);
+		return retVal;
+	}
+
+	/**
+	 * Finds the first match. Caller holds the structure lock.
+	 *
+	 * @param element element to look for
+	 * @return index of the first match, or NOT_FOUND
+	 */
+	private int indexOfLocked(T element) {
+		for (int i = 0; i < segmentCount; i++) {
+			Segment segment = segments[i];
+			synchronized (segment) {
+				for (int k = 0; k < segment.count; k++) {
+					if (element.equals(segment.elements[k])) {
+						return prefix[i] + k;
+					}
+				}
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		structureLock.writeLock().lock();
+		try {
+			insertAt(0, element);
+			modCount.incrementAndGet();
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void addToRear(T element) {
+		structureLock.readLock().lock();
+		try {
+			Segment tail = segments[segmentCount - 1];
+			synchronized (tail) {
+				if (tail.count < segmentCapacity) {
+					tail.elements[tail.count] = element;
+					tail.count++;
+					modCount.incrementAndGet();
+					return;
+				}
+			}
+		} finally {
+			structureLock.readLock().unlock();
+		}
+
+		structureLock.writeLock().lock(); // tail segment is full
+		try {
+			insertAt(sizeLocked(), element);
+			modCount.incrementAndGet();
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		structureLock.writeLock().lock();
+		try {
+			int index = indexOfLocked(target);
+
+			if (index == NOT_FOUND) {
+				throw new NoSuchElementException();
+			}
+
+			insertAt(index + 1, element);
+			modCount.incrementAndGet();
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		structureLock.writeLock().lock();
+		try {
+			if (index < 0 || index > sizeLocked()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			insertAt(index, element);
+			modCount.incrementAndGet();
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T removeFirst() {
+		structureLock.writeLock().lock();
+		try {
+			if (sizeLocked() == 0) {
+				throw new NoSuchElementException();
+			}
+
+			T retVal = removeAt(0);
+			modCount.incrementAndGet();
+
+			return retVal;
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T removeLast() {
+		structureLock.readLock().lock();
+		try {
+			Segment tail = segments[segmentCount - 1];
+			synchronized (tail) {
+				if (tail.count > 0) {
+					tail.count--;
+					T retVal = tail.elementAt(tail.count);
+					tail.elements[tail.count] = null;
+					modCount.incrementAndGet();
+					return retVal;
+				}
+			}
+		} finally {
+			structureLock.readLock().unlock();
+		}
+
+		structureLock.writeLock().lock(); // tail segment is empty
+		try {
+			int size = sizeLocked();
+			if (size == 0) {
+				throw new NoSuchElementException();
+			}
+
+			// drop the empty tail, so the next removeLast() takes the fast path again
+			while (segmentCount > 1 && segments[segmentCount - 1].count == 0) {
+				removeSegment(segmentCount - 1);
+			}
+
+			T retVal = removeAt(size - 1);
+			modCount.incrementAndGet();
+
+			return retVal;
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T remove(T element) {
+		structureLock.writeLock().lock();
+		try {
+			int index = indexOfLocked(element);
+
+			if (index == NOT_FOUND) {
+				throw new NoSuchElementException();
+			}
+
+			T retVal = removeAt(index);
+			modCount.incrementAndGet();
+
+			return retVal;
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T remove(int index) {
+		structureLock.writeLock().lock();
+		try {
+			if (index < 0 || index >= sizeLocked()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			T retVal = removeAt(index);
+			modCount.incrementAndGet();
+
+			return retVal;
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		structureLock.readLock().lock();
+		try {
+			int position = locate(index);
+			Segment segment = segments[position];
+			synchronized (segment) {
+				int offset = index - prefix[position];
+				if (offset >= segment.count) {
+					throw new IndexOutOfBoundsException();
+				}
+
+				segment.elements[offset] = element;
+				modCount.incrementAndGet();
+			}
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		structureLock.readLock().lock();
+		try {
+			int position = locate(index);
+			Segment segment = segments[position];
+			synchronized (segment) {
+				int offset = index - prefix[position];
+				if (offset >= segment.count) {
+					throw new IndexOutOfBoundsException();
+				}
+
+				return segment.elementAt(offset);
+			}
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int indexOf(T element) {
+		structureLock.readLock().lock();
+		try {
+			return indexOfLocked(element);
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public T first() {
+		structureLock.readLock().lock();
+		try {
+			Segment segment = segments[0];
+			synchronized (segment) {
+				if (segment.count == 0) { // only the last segment can be empty
+					throw new NoSuchElementException();
+				}
+
+				return segment.elementAt(0);
+			}
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public T last() {
+		structureLock.readLock().lock();
+		try {
+			Segment tail = segments[segmentCount - 1];
+			synchronized (tail) {
+				if (tail.count > 0) {
+					return tail.elementAt(tail.count - 1);
+				}
+			}
+			if (segmentCount == 1) {
+				throw new NoSuchElementException();
+			}
+
+			Segment segment = segments[segmentCount - 2];
+			synchronized (segment) {
+				return segment.elementAt(segment.count - 1);
+			}
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public int size() {
+		structureLock.readLock().lock();
+		try {
+			return sizeLocked();
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		structureLock.readLock().lock();
+		try {
+			for (int i = 0; i < segmentCount; i++) {
+				Segment segment = segments[i];
+				synchronized (segment) {
+					for (int k = 0; k < segment.count; k++) {
+						str.append(segment.elements[k].toString());
+						str.append(", ");
+					}
+				}
+			}
+		} finally {
+			structureLock.readLock().unlock();
+		}
+		if (str.length() > 1) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new SegIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new SegIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new SegIterator(startingIndex);
+	}
+
+	/** Fixed-capacity block of elements, locked by synchronizing on it */
+	private static class Segment {
+		private final Object[] elements;
+		private int count;
+
+		/** @param capacity number of elements the segment holds */
+		public Segment(int capacity) {
+			elements = new Object[capacity];
+			count = 0;
+		}
+
+		/**
+		 * @param offset index within the segment
+		 * @return the element at offset
+		 */
+		@SuppressWarnings("unchecked")
+		private <T> T elementAt(int offset) {
+			return (T) elements[offset];
+		}
+	}
+
+	/** ListIterator (and basic iterator) for IUSegmentedList */
+	private class SegIterator implements ListIterator<T> {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public SegIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount.get();
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount.get()) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < size();
+		}
+
+		/**
+		 * Reads an element, checking for comodification and bounds under the
+		 * same read section as the read, so a concurrent removal shows up as a
+		 * ConcurrentModificationException instead of a stale index.
+		 *
+		 * @param index index of the element to read
+		 * @return the element at index
+		 * @throws ConcurrentModificationException if the list changed behind the iterator
+		 * @throws NoSuchElementException          if index is out of range
+		 */
+		private T read(int index) {
+			structureLock.readLock().lock();
+			try {
+				int position = locate(index);
+				Segment segment = segments[position];
+				synchronized (segment) { // changes on the read lock hold the segment's monitor
+					if (iterModCount != modCount.get()) {
+						throw new ConcurrentModificationException();
+					}
+
+					int offset = index - prefix[position];
+					if (offset < 0 || offset >= segment.count) {
+						throw new NoSuchElementException();
+					}
+
+					return segment.elementAt(offset);
+				}
+			} finally {
+				structureLock.readLock().unlock();
+			}
+		}
+
+		@Override
+		public T next() {
+			T retVal = read(nextIndex);
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return retVal;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount.get()) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			T retVal = read(nextIndex - 1);
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return retVal;
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount.get()) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount.get()) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			structureLock.writeLock().lock();
+			try {
+				if (iterModCount != modCount.get()) {
+					throw new ConcurrentModificationException();
+				}
+
+				if (lastReturnedIndex == NOT_FOUND) {
+					throw new IllegalStateException();
+				}
+
+				removeAt(lastReturnedIndex);
+				iterModCount = modCount.incrementAndGet();
+			} finally {
+				structureLock.writeLock().unlock();
+			}
+
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+		}
+
+		@Override
+		public void set(T e) {
+			structureLock.writeLock().lock();
+			try {
+				if (iterModCount != modCount.get()) {
+					throw new ConcurrentModificationException();
+				}
+
+				if (lastReturnedIndex == NOT_FOUND) {
+					throw new IllegalStateException();
+				}
+
+				int position = locate(lastReturnedIndex);
+				segments[position].elements[lastReturnedIndex - prefix[position]] = e;
+				iterModCount = modCount.incrementAndGet();
+			} finally {
+				structureLock.writeLock().unlock();
+			}
+		}
+
+		@Override
+		public void add(T e) {
+			structureLock.writeLock().lock();
+			try {
+				if (iterModCount != modCount.get()) {
+					throw new ConcurrentModificationException();
+				}
+
+				insertAt(nextIndex, e);
+				iterModCount = modCount.incrementAndGet();
+			} finally {
+				structureLock.writeLock().unlock();
+			}
+
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+		}
+	}
+}
@@ -1,10 +1,20 @@
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * Single-linked node implementation of IndexedUnsortedList.
+ * A list can be given a NodePool, in which case new nodes come from the
+ * pool and removed nodes go back to it instead of to the garbage collector.
+ * setHashIndexed(true) keeps an ElementIndex from elements to their
+ * nodes, so contains() is a hash lookup and remove(T) and addAfter() go
+ * straight to the node of an element held only once.
+ * setBloomFiltered(true) keeps a CountingBloomFilter of the elements, so
+ * the same lookups turn away most absent elements without a scan.
  * An Iterator with working remove() method is implemented, but
  * ListIterator is unsupported.
  * 
@@ -16,17 +26,200 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 	private Node<T> head, tail;
 	private int size;
 	private int modCount;
+	private final NodePool<T> pool; // null when nodes are not recycled
+	private ElementIndex<T, Node<T>> elementIndex; // null unless hash indexed
+	private CountingBloomFilter<T> bloomFilter; // null unless Bloom filtered
 
 	/** Creates an empty list */
 	public IUSingleLinkedList() {
+		this(null);
+	}
+
+	/**
+	 * Creates an empty list that recycles its nodes through pool
+	 * 
+	 * @param pool pool to take nodes from and give them back to, or null
+	 */
+	public IUSingleLinkedList(NodePool<T> pool) {
 		head = tail = null;
 		size = 0;
 		modCount = 0;
+		this.pool = pool;
+	}
+
+	/**
+	 * Turns the hash index of the elements on or off
+	 * 
+	 * @param hashIndexed true to build and keep the index, false to drop it
+	 */
+	public void setHashIndexed(boolean hashIndexed) {
+		if (!hashIndexed) {
+			elementIndex = null;
+		} else if (elementIndex == null) {
+			elementIndex = new ElementIndex<T, Node<T>>();
+			for (Node<T> current = head; current != null; current = current.getNext()) {
+				elementIndex.add(current.getElement(), current);
+			}
+		}
+	}
+
+	/** @return true if the list keeps a hash index of its elements */
+	public boolean isHashIndexed() {
+		return elementIndex != null;
+	}
+
+	/**
+	 * Turns the Bloom filter of the elements on or off
+	 * 
+	 * @param bloomFiltered true to build and keep the filter, false to drop it
+	 */
+	public void setBloomFiltered(boolean bloomFiltered) {
+		if (!bloomFiltered) {
+			bloomFilter = null;
+		} else if (bloomFilter == null) {
+			bloomFilter = new CountingBloomFilter<T>(size);
+			rebuildBloomFilter();
+		}
+	}
+
+	/** @return true if the list keeps a Bloom filter of its elements */
+	public boolean isBloomFiltered() {
+		return bloomFilter != null;
+	}
+
+	/**
+	 * Returns the Bloom filter so its statistics can be read. The filter
+	 * must not be changed by the caller.
+	 * 
+	 * @return the Bloom filter, or null if the list has none
+	 */
+	public CountingBloomFilter<T> getBloomFilter() {
+		return bloomFilter;
+	}
+
+	/**
+	 * Asks the Bloom filter, if there is one, whether element is certainly
+	 * absent. Only reads the filter, so lookups stay read-only.
+	 * 
+	 * @param element element to look for
+	 * @return true if the list certainly does not hold element
+	 */
+	private boolean absent(T element) {
+		return bloomFilter != null && !bloomFilter.mightContain(element);
+	}
+
+	/**
+	 * Rebuilds the Bloom filter, if there is one, once it has drifted from
+	 * the list. Mutators call this last, when the list is consistent again.
+	 */
+	private void settleBloomFilter() {
+		if (bloomFilter != null && bloomFilter.needsRebuild()) {
+			rebuildBloomFilter();
+		}
+	}
+
+	/** Sizes the Bloom filter for the list as it is now and refills it */
+	public void rebuildBloomFilter() {
+		if (bloomFilter != null) {
+			bloomFilter.reset(size);
+			for (Node<T> current = head; current != null; current = current.getNext()) {
+				bloomFilter.add(current.getElement());
+			}
+		}
+	}
+
+	/**
+	 * @param element element to store
+	 * @return new detached node, from the pool if there is one, already in
+	 *         the hash index and Bloom filter
+	 */
+	private Node<T> newNode(T element) {
+		Node<T> node = (pool == null) ? new Node<T>(element) : pool.obtain(element);
+		if (elementIndex != null) {
+			elementIndex.add(element, node);
+		}
+		if (bloomFilter != null) {
+			bloomFilter.add(element);
+		}
+		return node;
+	}
+
+	/**
+	 * Drops an unlinked node from the hash index and Bloom filter and gives
+	 * it back to the pool, if there are those
+	 * 
+	 * @param node node no longer in the list
+	 */
+	private void discard(Node<T> node) {
+		if (elementIndex != null) {
+			elementIndex.remove(node.getElement());
+		}
+		if (bloomFilter != null) {
+			bloomFilter.remove(node.getElement());
+		}
+		if (pool != null) {
+			pool.recycle(node);
+		}
+	}
+
+	/**
+	 * Replaces the element of a node in the list, keeping the hash index
+	 * and Bloom filter up to date
+	 * 
+	 * @param node    node in the list
+	 * @param element new element
+	 */
+	private void replace(Node<T> node, T element) {
+		if (elementIndex != null) {
+			elementIndex.remove(node.getElement());
+			elementIndex.add(element, node);
+		}
+		if (bloomFilter != null) {
+			bloomFilter.remove(node.getElement());
+			bloomFilter.add(element);
+		}
+		node.setElement(element);
+	}
+
+	/**
+	 * @param element element to look for
+	 * @return first node holding element, or null
+	 */
+	private Node<T> find(T element) {
+		if (absent(element)) {
+			return null;
+		}
+
+		if (elementIndex != null) {
+			if (elementIndex.count(element) == 0) {
+				if (bloomFilter != null) {
+					bloomFilter.recordFalsePositive();
+				}
+				return null;
+			}
+			Node<T> node = elementIndex.position(element);
+			if (node != null) {
+				return node;
+			}
+		}
+
+		Node<T> current = head;
+		while (current != null && !current.getElement().equals(element)) {
+			current = current.getNext();
+		}
+
+		if (current != null && elementIndex != null) { // remembered if it is the only copy
+			elementIndex.place(element, current);
+		}
+		if (current == null && bloomFilter != null) {
+			bloomFilter.recordFalsePositive();
+		}
+		return current;
 	}
 
 	@Override
 	public void addToFront(T element) {
-		Node<T> newNode = new Node<T>(element);
+		Node<T> newNode = newNode(element);
 		newNode.setNext(head);
 		head = newNode;
 
@@ -36,11 +229,12 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
 		size++;
 		modCount++;
+		settleBloomFilter();
 	}
 
 	@Override
 	public void addToRear(T element) {
-		Node<T> newNode = new Node<T>(element);
+		Node<T> newNode = newNode(element);
 
 		if (head == null) { // empty list
 			head = newNode;
@@ -51,6 +245,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 		tail = newNode;
 		size++;
 		modCount++;
+		settleBloomFilter();
 	}
 
 	@Override
@@ -61,17 +256,13 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 	@Override
 	public void addAfter(T element, T target) {
 
-		Node<T> current = head;
-
-		while (current != null && !current.getElement().equals(target)) { // finds target
-			current = current.getNext();
-		}
+		Node<T> current = find(target); // finds target
 
 		if (current == null) {
 			throw new NoSuchElementException();
 		}
 
-		Node<T> newNode = new Node<T>(element);
+		Node<T> newNode = newNode(element);
 		newNode.setNext(current.getNext());
 		current.setNext(newNode);
 
@@ -81,6 +272,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
 		size++;
 		modCount++;
+		settleBloomFilter();
 
 	}
 
@@ -97,7 +289,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			for (int i = 0; i < index - 1; i++) { // finds index to add after
 				current = current.getNext();
 			}
-			Node<T> newNode = new Node<T>(element);
+			Node<T> newNode = newNode(element);
 			newNode.setNext(current.getNext());
 			current.setNext(newNode);
 			if (newNode.getNext() == null) { // puts tail in the right place
@@ -106,15 +298,112 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
 			size++;
 			modCount++;
+			settleBloomFilter();
 		}
 	}
 
+	@Override
+	public void addAll(Iterable<? extends T> elements) {
+		addAll(size, elements);
+	}
+
+	@Override
+	public void addAll(int index, Iterable<? extends T> elements) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		List<? extends T> batch = IndexedUnsortedList.batchOf(elements);
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		Node<T> previous = null; // node to add after, walked to once
+		if (index == size) {
+			previous = tail;
+		} else if (index > 0) {
+			previous = head;
+			for (int i = 0; i < index - 1; i++) {
+				previous = previous.getNext();
+			}
+		}
+
+		Node<T> first = null;
+		Node<T> last = null;
+		for (T element : batch) { // chain the new nodes together first
+			Node<T> newNode = newNode(element);
+			if (first == null) {
+				first = newNode;
+			} else {
+				last.setNext(newNode);
+			}
+			last = newNode;
+		}
+
+		if (previous == null) { // front of list
+			last.setNext(head);
+			head = first;
+		} else { // middle or end of list
+			last.setNext(previous.getNext());
+			previous.setNext(first);
+		}
+
+		if (last.getNext() == null) { // puts tail in the right place
+			tail = last;
+		}
+
+		size += batch.size();
+		modCount++;
+		settleBloomFilter();
+	}
+
+	@Override
+	public void addAll(T[] elements) {
+		addAll(size, Arrays.asList(elements));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		int oldSize = size;
+		Node<T> previous = null;
+		Node<T> current = head;
+		try {
+			// unlink matching nodes in one pass, keeping the last node kept
+			while (current != null) {
+				Node<T> next = current.getNext();
+				if (filter.test(current.getElement())) {
+					if (previous != null) { // middle or end of list
+						previous.setNext(next);
+					} else { // front of list
+						head = next;
+					}
+					if (current == tail) {
+						tail = previous;
+					}
+					discard(current);
+					size--;
+				} else {
+					previous = current;
+				}
+				current = next;
+			}
+		} finally {
+			if (size < oldSize) { // even if filter threw part way
+				modCount++;
+				settleBloomFilter();
+			}
+		}
+
+		return size < oldSize;
+	}
+
 	@Override
 	public T removeFirst() {
 		if (isEmpty()) {
 			throw new NoSuchElementException();
 		}
 		T retVal;
+		Node<T> removed = head;
 
 		if (size() == 1) { // puts head and tail in the right place for a one element list
 			retVal = head.getElement();
@@ -126,8 +415,10 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			head = current.getNext();
 		}
 
+		discard(removed);
 		size--;
 		modCount++;
+		settleBloomFilter();
 
 		return retVal;
 	}
@@ -138,6 +429,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			throw new NoSuchElementException();
 		}
 		T retVal;
+		Node<T> removed = tail;
 		if (size() == 1) { // puts head and tail in the right place for a one element list
 			retVal = head.getElement();
 			head = tail = null;
@@ -152,8 +444,10 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			tail = current;
 		}
 
+		discard(removed);
 		size--;
 		modCount++;
+		settleBloomFilter();
 
 		return retVal;
 	}
@@ -164,6 +458,36 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			throw new NoSuchElementException();
 		}
 
+		if (elementIndex != null) {
+			Node<T> node = find(element);
+			if (node == null) {
+				throw new NoSuchElementException();
+			}
+
+			if (node != tail) { // no link back to the previous node, so take over the next node instead
+				T retVal = node.getElement();
+				Node<T> successor = node.getNext();
+
+				replace(node, successor.getElement());
+				node.setNext(successor.getNext());
+				if (successor == tail) {
+					tail = node;
+				}
+				discard(successor);
+				elementIndex.place(node.getElement(), node);
+
+				size--;
+				modCount++;
+				settleBloomFilter();
+
+				return retVal;
+			}
+		}
+
+		if (absent(element)) {
+			throw new NoSuchElementException();
+		}
+
 		boolean found = false;
 		Node<T> previous = null;
 		Node<T> current = head;
@@ -178,6 +502,9 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 		}
 
 		if (!found) {
+			if (bloomFilter != null) {
+				bloomFilter.recordFalsePositive();
+			}
 			throw new NoSuchElementException();
 		}
 
@@ -192,10 +519,13 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			previous.setNext(current.getNext());
 		}
 
+		T retVal = current.getElement();
+		discard(current);
 		size--;
 		modCount++;
+		settleBloomFilter();
 
-		return current.getElement();
+		return retVal;
 	}
 
 	@Override
@@ -222,8 +552,10 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			if (current.getNext() == null) { // puts the tail in place
 				tail = previous;
 			}
+			discard(current);
 			size--;
 			modCount++;
+			settleBloomFilter();
 		}
 
 		return retVal;
@@ -242,9 +574,11 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			current = current.getNext();
 		}
 
-		current.setElement(element);
+		replace(current, element);
 
 		modCount++;
+
+		settleBloomFilter();
 	}
 
 	@Override
@@ -269,6 +603,23 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
 	@Override
 	public int indexOf(T element) {
+		if (elementIndex != null) { // count nodes up to the one found
+			Node<T> node = find(element);
+			if (node == null) {
+				return -1;
+			}
+
+			int currentIndex = 0;
+			for (Node<T> current = head; current != node; current = current.getNext()) {
+				currentIndex++;
+			}
+			return currentIndex;
+		}
+
+		if (absent(element)) {
+			return -1;
+		}
+
 		Node<T> current = head;
 		int currentIndex = 0;
 
@@ -279,6 +630,9 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
 		if (current == null) {
 			currentIndex = -1;
+			if (bloomFilter != null) {
+				bloomFilter.recordFalsePositive();
+			}
 		}
 
 		return currentIndex;
@@ -302,6 +656,9 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
 	@Override
 	public boolean contains(T target) {
+		if (elementIndex != null) {
+			return elementIndex.count(target) > 0;
+		}
 		return (indexOf(target) != -1);
 	}
 
@@ -392,7 +749,9 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 			removable = false;
 
 			Node<T> prevPrevNode = null;
+			Node<T> removed;
 			if (head.getNext() == nextNode) { // for the case of removing first element
+				removed = head;
 				head = nextNode;
 			} else { // removing everything else
 				prevPrevNode = head;
@@ -400,6 +759,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 					prevPrevNode = prevPrevNode.getNext();
 				}
 
+				removed = prevPrevNode.getNext();
 				prevPrevNode.setNext(nextNode);
 
 			}
@@ -407,9 +767,12 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 				tail = prevPrevNode;
 			}
 
+			discard(removed);
 			size--;
 
 			modCount++;
+
+			settleBloomFilter();
 			iterModCount++;
 		}
 	}
@@ -0,0 +1,527 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Indexable skip list implementation of IndexedUnsortedList.
+ * Every node is linked at the bottom level in list order and at a random
+ * number of higher "express" levels. Each link records how many positions
+ * it spans, so get(), set(), add(int, T) and remove(int) descend the levels
+ * in O(log n) expected time instead of walking from head.
+ * A List Iterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUSkipList<T> implements IndexedUnsortedList<T> {
+	private static final int MAX_LEVEL = 32;
+	private static final int NOT_FOUND = -1;
+
+	private SkipNode<T> head; // sentinel before index 0
+	private SkipNode<T> tail;
+	private int level; // levels currently in use
+	private int size;
+	private int modCount;
+	private Random random;
+
+	/** Creates an empty list */
+	public IUSkipList() {
+		head = new SkipNode<T>(null, MAX_LEVEL);
+		head.width[0] = 1;
+		tail = null;
+		level = 1;
+		size = 0;
+		modCount = 0;
+		random = new Random();
+	}
+
+	/** A node with forward links and their spans at each of its levels */
+	private static class SkipNode<T> {
+		private T element;
+		private SkipNode<T> previous; // bottom level only
+		private SkipNode<T>[] next;
+		private int[] width; // positions spanned by next[l], or to one past the end if next[l] is null
+
+		/**
+		 * Creates a node with the given number of levels
+		 *
+		 * @param element element to store
+		 * @param levels  number of levels this node is linked at
+		 */
+		@SuppressWarnings("unchecked")
+		public SkipNode(T element, int levels) {
+			this.element = element;
+			previous = null;
+			next = (SkipNode<T>[]) (new SkipNode<?>[levels]);
+			width = new int[levels];
+		}
+	}
+
+	/** @return a random level from 1 to MAX_LEVEL, each level half as likely as the one below */
+	private int randomLevel() {
+		int newLevel = 1;
+		while (newLevel < MAX_LEVEL && random.nextBoolean()) {
+			newLevel++;
+		}
+		return newLevel;
+	}
+
+	/**
+	 * Fills update with the last node before index at each level, and
+	 * positions with their indexes (head is -1).
+	 *
+	 * @param index     list index, 0 <= index <= size
+	 * @param update    predecessors, one per level
+	 * @param positions indexes of the predecessors
+	 */
+	private void findPredecessors(int index, SkipNode<T>[] update, int[] positions) {
+		SkipNode<T> current = head;
+		int position = -1;
+
+		for (int l = level - 1; l >= 0; l--) {
+			while (current.next[l] != null && position + current.width[l] < index) {
+				position += current.width[l];
+				current = current.next[l];
+			}
+			update[l] = current;
+			positions[l] = position;
+		}
+	}
+
+	/**
+	 * Returns the node at index, descending from the top level.
+	 *
+	 * @param index list index, 0 <= index < size
+	 * @return node at index
+	 */
+	private SkipNode<T> nodeAt(int index) {
+		SkipNode<T> current = head;
+		int position = -1;
+
+		for (int l = level - 1; l >= 0; l--) {
+			while (current.next[l] != null && position + current.width[l] <= index) {
+				position += current.width[l];
+				current = current.next[l];
+			}
+		}
+
+		return current;
+	}
+
+	/**
+	 * Inserts element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	@SuppressWarnings("unchecked")
+	private void insertAt(int index, T element) {
+		int newLevel = randomLevel();
+		while (level < newLevel) { // start using a new level
+			head.next[level] = null;
+			head.width[level] = size + 1;
+			level++;
+		}
+
+		SkipNode<T>[] update = (SkipNode<T>[]) (new SkipNode<?>[level]);
+		int[] positions = new int[level];
+		findPredecessors(index, update, positions);
+
+		SkipNode<T> newNode = new SkipNode<T>(element, newLevel);
+		for (int l = 0; l < level; l++) {
+			if (l < newLevel) { // link in and split the span
+				int span = update[l].width[l];
+				newNode.next[l] = update[l].next[l];
+				newNode.width[l] = positions[l] + span - index + 1;
+				update[l].next[l] = newNode;
+				update[l].width[l] = index - positions[l];
+			} else { // link passes over the new node
+				update[l].width[l]++;
+			}
+		}
+
+		// bottom level back link
+		newNode.previous = (update[0] == head) ? null : update[0];
+		if (newNode.next[0] != null) {
+			newNode.next[0].previous = newNode;
+		} else {
+			tail = newNode;
+		}
+
+		size++;
+	}
+
+	/**
+	 * Removes the element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	@SuppressWarnings("unchecked")
+	private T removeAt(int index) {
+		SkipNode<T>[] update = (SkipNode<T>[]) (new SkipNode<?>[level]);
+		int[] positions = new int[level];
+		findPredecessors(index, update, positions);
+
+		SkipNode<T> target = update[0].next[0];
+		for (int l = 0; l < level; l++) {
+			if (update[l].next[l] == target) { // unlink and join the spans
+				update[l].width[l] += target.width[l] - 1;
+				update[l].next[l] = target.next[l];
+			} else { // link passes over the removed node
+				update[l].width[l]--;
+			}
+		}
+
+		if (target.next[0] != null) {
+			target.next[0].previous = target.previous;
+		} else {
+			tail = target.previous;
+		}
+
+		while (level > 1 && head.next[level - 1] == null) { // drop empty levels
+			level--;
+		}
+
+		size--;
+		return target.element;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(size, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(size - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		nodeAt(index).element = element;
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return nodeAt(index).element;
+	}
+
+	@Override
+	public int indexOf(T element) {
+		SkipNode<T> current = head.next[0];
+		int currentIndex = 0;
+
+		while (current != null && !current.element.equals(element)) { // finds index of element
+			current = current.next[0];
+			currentIndex++;
+		}
+
+		if (current == null) {
+			currentIndex = NOT_FOUND;
+		}
+
+		return currentIndex;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return head.next[0].element;
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return tail.element;
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (size > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new SkipIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new SkipIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new SkipIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUSkipList */
+	private class SkipIterator implements ListIterator<T> {
+		private SkipNode<T> nextNode;
+		private SkipNode<T> lastReturnedNode;
+		private int nextIndex;
+		private int iterModCount;
+
+		/** Initialize iterator at the start of the list */
+		public SkipIterator() {
+			this(0);
+		}
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public SkipIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextNode = (startingIndex == size) ? null : nodeAt(startingIndex);
+			nextIndex = startingIndex;
+			iterModCount = modCount;
+			lastReturnedNode = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextNode != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedNode = nextNode;
+			nextNode = nextNode.next[0];
+			nextIndex++;
+
+			return lastReturnedNode.element;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			if (nextNode != null) { // middle of list
+				nextNode = nextNode.previous;
+			} else { // end of list
+				nextNode = tail;
+			}
+
+			lastReturnedNode = nextNode;
+			nextIndex--;
+
+			return nextNode.element;
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturnedNode == null) {
+				throw new IllegalStateException();
+			}
+
+			if (lastReturnedNode == nextNode) { // after previous()
+				nextNode = nextNode.next[0];
+				removeAt(nextIndex);
+			} else { // after next()
+				nextIndex--;
+				removeAt(nextIndex);
+			}
+
+			lastReturnedNode = null;
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturnedNode == null) {
+				throw new IllegalStateException();
+			}
+
+			lastReturnedNode.element = e;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			insertAt(nextIndex, e);
+			nextIndex++;
+			lastReturnedNode = null;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
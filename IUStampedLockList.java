@@ -0,0 +1,506 @@
+import java.util.ConcurrentModificationException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe wrapper for any IndexedUnsortedList, guarded by a
+ * StampedLock.
+ * first(), last(), size() and isEmpty() first run as optimistic reads that
+ * take no lock at all and are kept only if no writer got in while they
+ * ran; otherwise, or if the read threw because it saw a half-made change,
+ * they run again under the read lock. An optimistic read may run while a
+ * writer changes the list, so whatever it wrote would outlive the retry:
+ * the wrapped list's first(), last() and size() must only read.
+ * get(), indexOf() and contains() take the read lock. Lookups in some lists
+ * update caches, such as the finger of IUDoubleLinkedList or the remembered
+ * positions of a hash index; that is safe only while no writer runs, and
+ * only if lookups running at the same time leave the caches correct.
+ * Mutators take the write lock.
+ * Iterators copy the list under the read lock and walk the copy. They are
+ * fail-fast against changes made through the wrapper, and their remove(),
+ * add() and set() take the write lock and apply the change to both the
+ * list and the copy.
+ * The wrapped list must not be used directly once it is wrapped.
+ * A ListIterator with working remove(), add(), set() methods, whether or
+ * not the wrapped list supports one.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUStampedLockList<T> implements IndexedUnsortedList<T> {
+	private static final int NOT_FOUND = -1;
+
+	private final IndexedUnsortedList<T> list;
+	private final StampedLock lock;
+	private volatile int modCount; // only changed under the write lock
+
+	/**
+	 * Wraps a list
+	 *
+	 * @param list list to guard
+	 */
+	public IUStampedLockList(IndexedUnsortedList<T> list) {
+		this.list = list;
+		lock = new StampedLock();
+		modCount = 0;
+	}
+
+	/**
+	 * Runs reader optimistically, falling back to the read lock
+	 *
+	 * @param reader read-only operation on the list
+	 * @return result of reader
+	 */
+	private <R> R read(Supplier<R> reader) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0L) {
+			try {
+				R result = reader.get();
+				if (lock.validate(stamp)) {
+					return result;
+				}
+			} catch (RuntimeException e) {
+				if (lock.validate(stamp)) { // a real failure, not a torn read
+					throw e;
+				}
+			}
+		}
+
+		return readLocked(reader);
+	}
+
+	/**
+	 * Runs reader under the read lock
+	 *
+	 * @param reader lookup on the list, which may update the list's caches
+	 * @return result of reader
+	 */
+	private <R> R readLocked(Supplier<R> reader) {
+		long stamp = lock.readLock();
+		try {
+			return reader.get();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Runs reader optimistically, falling back to the read lock, without
+	 * boxing its result
+	 *
+	 * @param reader read-only operation on the list
+	 * @return result of reader
+	 */
+	private int readInt(IntSupplier reader) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0L) {
+			try {
+				int result = reader.getAsInt();
+				if (lock.validate(stamp)) {
+					return result;
+				}
+			} catch (RuntimeException e) {
+				if (lock.validate(stamp)) {
+					throw e;
+				}
+			}
+		}
+
+		return readIntLocked(reader);
+	}
+
+	/**
+	 * Runs reader under the read lock, without boxing its result
+	 *
+	 * @param reader lookup on the list, which may update the list's caches
+	 * @return result of reader
+	 */
+	private int readIntLocked(IntSupplier reader) {
+		long stamp = lock.readLock();
+		try {
+			return reader.getAsInt();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public void addToFront(T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.addToFront(element);
+			modCount++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addToRear(T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.addToRear(element);
+			modCount++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		long stamp = lock.writeLock();
+		try {
+			list.addAfter(element, target);
+			modCount++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.add(index, element);
+			modCount++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addAll(Iterable<? extends T> elements) {
+		List<? extends T> batch = IndexedUnsortedList.batchOf(elements); // copied first, so the list may add itself
+		long stamp = lock.writeLock();
+		try {
+			list.addAll(batch);
+			modCount++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addAll(int index, Iterable<? extends T> elements) {
+		List<? extends T> batch = IndexedUnsortedList.batchOf(elements);
+		long stamp = lock.writeLock();
+		try {
+			list.addAll(index, batch);
+			modCount++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void addAll(T[] elements) {
+		addAll(Arrays.asList(elements));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		long stamp = lock.writeLock();
+		int oldSize = list.size();
+		try {
+			return list.removeIf(filter);
+		} finally {
+			if (list.size() < oldSize) { // even if filter threw part way
+				modCount++;
+			}
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T removeFirst() {
+		long stamp = lock.writeLock();
+		try {
+			T retVal = list.removeFirst();
+			modCount++;
+			return retVal;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T removeLast() {
+		long stamp = lock.writeLock();
+		try {
+			T retVal = list.removeLast();
+			modCount++;
+			return retVal;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T remove(T element) {
+		long stamp = lock.writeLock();
+		try {
+			T retVal = list.remove(element);
+			modCount++;
+			return retVal;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T remove(int index) {
+		long stamp = lock.writeLock();
+		try {
+			T retVal = list.remove(index);
+			modCount++;
+			return retVal;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void set(int index, T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.set(index, element);
+			modCount++;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public T get(int index) {
+		return readLocked(() -> list.get(index));
+	}
+
+	@Override
+	public int indexOf(T element) {
+		return readIntLocked(() -> list.indexOf(element));
+	}
+
+	@Override
+	public T first() {
+		return read(() -> list.first());
+	}
+
+	@Override
+	public T last() {
+		return read(() -> list.last());
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (size() == 0);
+	}
+
+	@Override
+	public int size() {
+		return readInt(() -> list.size());
+	}
+
+	@Override
+	public String toString() {
+		long stamp = lock.readLock();
+		try {
+			return list.toString();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new SLIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new SLIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new SLIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) over a copy of an IUStampedLockList */
+	private class SLIterator implements ListIterator<T> {
+		private IUCircularArrayList<T> snapshot;
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public SLIterator(int startingIndex) {
+			long stamp = lock.readLock();
+			try {
+				snapshot = new IUCircularArrayList<T>(Math.max(1, list.size()));
+				for (T element : list) {
+					snapshot.addToRear(element);
+				}
+				iterModCount = modCount;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+
+			if (startingIndex < 0 || startingIndex > snapshot.size()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < snapshot.size();
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return snapshot.get(lastReturnedIndex);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return snapshot.get(lastReturnedIndex);
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			long stamp = lock.writeLock();
+			try {
+				if (iterModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+
+				if (lastReturnedIndex == NOT_FOUND) {
+					throw new IllegalStateException();
+				}
+
+				list.remove(lastReturnedIndex);
+				modCount++;
+				iterModCount = modCount;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+
+			snapshot.remove(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+		}
+
+		@Override
+		public void set(T e) {
+			long stamp = lock.writeLock();
+			try {
+				if (iterModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+
+				if (lastReturnedIndex == NOT_FOUND) {
+					throw new IllegalStateException();
+				}
+
+				list.set(lastReturnedIndex, e);
+				modCount++;
+				iterModCount = modCount;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+
+			snapshot.set(lastReturnedIndex, e);
+		}
+
+		@Override
+		public void add(T e) {
+			long stamp = lock.writeLock();
+			try {
+				if (iterModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+
+				list.add(nextIndex, e);
+				modCount++;
+				iterModCount = modCount;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+
+			snapshot.add(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+		}
+	}
+}
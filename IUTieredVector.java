@@ -0,0 +1,453 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Tiered vector implementation of IndexedUnsortedList.
+ * Elements are split across a list of circular tiers of equal capacity k,
+ * every tier full except the last, so get() and set() are O(1) arithmetic.
+ * add(int, T) and remove(int) shift within one tier and then pass a single
+ * element between each later pair of tiers, which is O(k + n/k). The tier
+ * capacity is rebuilt as a power of two near sqrt(n) as the list grows and
+ * shrinks, keeping both parts O(sqrt(n)).
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUTieredVector<T> implements IndexedUnsortedList<T> {
+	private static final int MIN_TIER_SHIFT = 3; // tiers hold at least 8 elements
+	private static final int NOT_FOUND = -1;
+
+	private IUArrayList<IUCircularArrayList<T>> tiers;
+	private int tierShift; // tiers hold 2^tierShift elements
+	private int size;
+	private int modCount;
+
+	/** Creates an empty list */
+	public IUTieredVector() {
+		tierShift = MIN_TIER_SHIFT;
+		tiers = new IUArrayList<IUCircularArrayList<T>>();
+		size = 0;
+		modCount = 0;
+	}
+
+	/** @return the number of elements each tier holds */
+	private int tierCapacity() {
+		return 1 << tierShift;
+	}
+
+	/** @return a new empty tier */
+	private IUCircularArrayList<T> newTier() {
+		return new IUCircularArrayList<T>(tierCapacity());
+	}
+
+	/**
+	 * Inserts element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		int tierIndex = index >> tierShift;
+		int offset = index & (tierCapacity() - 1);
+		T carry = element;
+		boolean carrying = true;
+
+		while (carrying) {
+			if (tierIndex == tiers.size()) { // every tier is full
+				tiers.addToRear(newTier());
+			}
+
+			IUCircularArrayList<T> tier = tiers.get(tierIndex);
+			if (tier.size() == tierCapacity()) { // pass the last element on to the next tier
+				T overflow = tier.removeLast();
+				tier.add(offset, carry);
+				carry = overflow;
+				offset = 0;
+				tierIndex++;
+			} else {
+				tier.add(offset, carry);
+				carrying = false;
+			}
+		}
+
+		size++;
+		if (tiers.size() > 2 * tierCapacity()) { // tiers too small for this many elements
+			rebuild(tierShift + 1);
+		}
+	}
+
+	/**
+	 * Removes the element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		int tierIndex = index >> tierShift;
+		T retVal = tiers.get(tierIndex).remove(index & (tierCapacity() - 1));
+
+		// pull the first element of each later tier back one tier
+		for (int i = tierIndex + 1; i < tiers.size(); i++) {
+			tiers.get(i - 1).addToRear(tiers.get(i).removeFirst());
+		}
+		if (tiers.last().isEmpty()) {
+			tiers.removeLast();
+		}
+
+		size--;
+		if (tierShift > MIN_TIER_SHIFT && tiers.size() < tierCapacity() / 4) { // tiers too large
+			rebuild(tierShift - 1);
+		}
+
+		return retVal;
+	}
+
+	/**
+	 * Copies every element into new tiers of capacity 2^newShift
+	 *
+	 * @param newShift log2 of the new tier capacity
+	 */
+	private void rebuild(int newShift) {
+		IUArrayList<IUCircularArrayList<T>> oldTiers = tiers;
+
+		tierShift = newShift;
+		tiers = new IUArrayList<IUCircularArrayList<T>>();
+		IUCircularArrayList<T> current = null;
+		for (IUCircularArrayList<T> tier : oldTiers) {
+			for (T element : tier) {
+				if (current == null || current.size() == tierCapacity()) {
+					current = newTier();
+					tiers.addToRear(current);
+				}
+				current.addToRear(element);
+			}
+		}
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(size, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(size - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		tiers.get(index >> tierShift).set(index & (tierCapacity() - 1), element);
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return tiers.get(index >> tierShift).get(index & (tierCapacity() - 1));
+	}
+
+	@Override
+	public int indexOf(T element) {
+		int tierStart = 0;
+
+		for (IUCircularArrayList<T> tier : tiers) {
+			int offset = tier.indexOf(element);
+			if (offset != NOT_FOUND) {
+				return tierStart + offset;
+			}
+			tierStart += tier.size();
+		}
+
+		return NOT_FOUND;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return tiers.first().first();
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return tiers.last().last();
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (size > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new TVIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new TVIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new TVIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUTieredVector */
+	private class TVIterator implements ListIterator<T> {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/** Initialize iterator at the start of the list */
+		public TVIterator() {
+			this(0);
+		}
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public TVIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < size;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return get(lastReturnedIndex);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return get(lastReturnedIndex);
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			removeAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			tiers.get(lastReturnedIndex >> tierShift).set(lastReturnedIndex & (tierCapacity() - 1), e);
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			insertAt(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
@@ -0,0 +1,621 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Implicit treap implementation of IndexedUnsortedList.
+ * Elements are kept in a binary tree ordered by list position and balanced
+ * by random heap priorities. Each node stores the size of its subtree, which
+ * serves as its implicit index. Every positional operation is a split and
+ * merge of the tree in O(log n) expected time, and whole ranges can be cut
+ * off with split(int) or appended with concat().
+ * A List Iterator with working remove(), add(), set() methods that walks
+ * the tree in order through parent links.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUTreapList<T> implements IndexedUnsortedList<T> {
+	private static final int NOT_FOUND = -1;
+
+	private TreapNode<T> root;
+	private int modCount;
+	private Random random;
+
+	/** Creates an empty list */
+	public IUTreapList() {
+		root = null;
+		modCount = 0;
+		random = new Random();
+	}
+
+	/** A tree node holding one element and the size of its subtree */
+	private static class TreapNode<T> {
+		private T element;
+		private int priority;
+		private int size;
+		private TreapNode<T> left, right, parent;
+
+		/**
+		 * Creates a single node tree
+		 *
+		 * @param element  element to store
+		 * @param priority heap priority
+		 */
+		public TreapNode(T element, int priority) {
+			this.element = element;
+			this.priority = priority;
+			size = 1;
+			left = right = parent = null;
+		}
+	}
+
+	/** The two halves produced by splitting a tree */
+	private static class Split<T> {
+		private TreapNode<T> left, right;
+	}
+
+	/**
+	 * @param node subtree root, may be null
+	 * @return number of elements in the subtree
+	 */
+	private static <T> int sizeOf(TreapNode<T> node) {
+		return (node == null) ? 0 : node.size;
+	}
+
+	/**
+	 * Recomputes the size of node and points its children back at it
+	 *
+	 * @param node node whose children changed
+	 */
+	private static <T> void update(TreapNode<T> node) {
+		node.size = 1 + sizeOf(node.left) + sizeOf(node.right);
+		if (node.left != null) {
+			node.left.parent = node;
+		}
+		if (node.right != null) {
+			node.right.parent = node;
+		}
+	}
+
+	/**
+	 * Makes node the root of this list's tree
+	 *
+	 * @param node new root, may be null
+	 */
+	private void setRoot(TreapNode<T> node) {
+		root = node;
+		if (root != null) {
+			root.parent = null;
+		}
+	}
+
+	/**
+	 * Joins two trees, with every element of a before every element of b
+	 *
+	 * @param a left tree, may be null
+	 * @param b right tree, may be null
+	 * @return root of the joined tree
+	 */
+	private static <T> TreapNode<T> merge(TreapNode<T> a, TreapNode<T> b) {
+		if (a == null) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+
+		if (a.priority > b.priority) {
+			a.right = merge(a.right, b);
+			update(a);
+			return a;
+		} else {
+			b.left = merge(a, b.left);
+			update(b);
+			return b;
+		}
+	}
+
+	/**
+	 * Splits a tree into its first count elements and the rest
+	 *
+	 * @param node  tree to split, may be null
+	 * @param count number of elements for the left half
+	 * @param result receives the two halves
+	 */
+	private static <T> void split(TreapNode<T> node, int count, Split<T> result) {
+		if (node == null) {
+			result.left = result.right = null;
+		} else if (sizeOf(node.left) < count) { // node goes left
+			split(node.right, count - sizeOf(node.left) - 1, result);
+			node.right = result.left;
+			update(node);
+			result.left = node;
+		} else { // node goes right
+			split(node.left, count, result);
+			node.left = result.right;
+			update(node);
+			result.right = node;
+		}
+	}
+
+	/**
+	 * Returns the node at index, descending from the root.
+	 *
+	 * @param index list index, 0 <= index < size
+	 * @return node at index
+	 */
+	private TreapNode<T> nodeAt(int index) {
+		TreapNode<T> current = root;
+
+		while (sizeOf(current.left) != index) {
+			if (index < sizeOf(current.left)) {
+				current = current.left;
+			} else {
+				index -= sizeOf(current.left) + 1;
+				current = current.right;
+			}
+		}
+
+		return current;
+	}
+
+	/**
+	 * @param node a node of this tree, may be null
+	 * @return the leftmost node under node, or null
+	 */
+	private static <T> TreapNode<T> leftmost(TreapNode<T> node) {
+		while (node != null && node.left != null) {
+			node = node.left;
+		}
+		return node;
+	}
+
+	/**
+	 * @param node a node of this tree, may be null
+	 * @return the rightmost node under node, or null
+	 */
+	private static <T> TreapNode<T> rightmost(TreapNode<T> node) {
+		while (node != null && node.right != null) {
+			node = node.right;
+		}
+		return node;
+	}
+
+	/**
+	 * @param node a node of this tree
+	 * @return the node after node in list order, or null
+	 */
+	private static <T> TreapNode<T> successor(TreapNode<T> node) {
+		if (node.right != null) {
+			return leftmost(node.right);
+		}
+		while (node.parent != null && node.parent.right == node) { // climb out of right subtrees
+			node = node.parent;
+		}
+		return node.parent;
+	}
+
+	/**
+	 * @param node a node of this tree
+	 * @return the node before node in list order, or null
+	 */
+	private static <T> TreapNode<T> predecessor(TreapNode<T> node) {
+		if (node.left != null) {
+			return rightmost(node.left);
+		}
+		while (node.parent != null && node.parent.left == node) { // climb out of left subtrees
+			node = node.parent;
+		}
+		return node.parent;
+	}
+
+	/**
+	 * Inserts element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index   where the element goes, 0 <= index <= size
+	 * @param element element to insert
+	 */
+	private void insertAt(int index, T element) {
+		Split<T> halves = new Split<T>();
+		split(root, index, halves);
+		TreapNode<T> newNode = new TreapNode<T>(element, random.nextInt());
+		setRoot(merge(merge(halves.left, newNode), halves.right));
+	}
+
+	/**
+	 * Removes the element at index. Does not check bounds or update modCount.
+	 *
+	 * @param index index of the element to remove, 0 <= index < size
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		Split<T> halves = new Split<T>();
+		split(root, index, halves);
+		TreapNode<T> front = halves.left;
+		split(halves.right, 1, halves);
+		setRoot(merge(front, halves.right));
+		return halves.left.element;
+	}
+
+	/**
+	 * Removes the elements from index to the end of this list and
+	 * returns them as a new list.
+	 *
+	 * @param index index of the first element to move
+	 * @return a list holding the elements that were at index and after
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+	 */
+	public IUTreapList<T> split(int index) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Split<T> halves = new Split<T>();
+		split(root, index, halves);
+		setRoot(halves.left);
+
+		IUTreapList<T> suffix = new IUTreapList<T>();
+		suffix.setRoot(halves.right);
+
+		modCount++;
+		return suffix;
+	}
+
+	/**
+	 * Moves every element of other onto the end of this list, leaving
+	 * other empty.
+	 *
+	 * @param other list whose elements are appended
+	 * @throws IllegalArgumentException if other is this list
+	 */
+	public void concat(IUTreapList<T> other) {
+		if (other == this) {
+			throw new IllegalArgumentException();
+		}
+
+		setRoot(merge(root, other.root));
+		other.setRoot(null);
+
+		modCount++;
+		other.modCount++;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(0, element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(size(), element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		insertAt(index + 1, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(index, element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(0);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(size() - 1);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(index);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		nodeAt(index).element = element;
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		return nodeAt(index).element;
+	}
+
+	@Override
+	public int indexOf(T element) {
+		TreapNode<T> current = leftmost(root);
+		int currentIndex = 0;
+
+		while (current != null && !current.element.equals(element)) { // finds index of element
+			current = successor(current);
+			currentIndex++;
+		}
+
+		if (current == null) {
+			currentIndex = NOT_FOUND;
+		}
+
+		return currentIndex;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return leftmost(root).element;
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return rightmost(root).element;
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	@Override
+	public int size() {
+		return sizeOf(root);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (!isEmpty()) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new TreapIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new TreapIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new TreapIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUTreapList */
+	private class TreapIterator implements ListIterator<T> {
+		private TreapNode<T> nextNode;
+		private TreapNode<T> lastReturnedNode;
+		private int nextIndex;
+		private int iterModCount;
+
+		/** Initialize iterator at the start of the list */
+		public TreapIterator() {
+			this(0);
+		}
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public TreapIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size()) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextNode = (startingIndex == size()) ? null : nodeAt(startingIndex);
+			nextIndex = startingIndex;
+			iterModCount = modCount;
+			lastReturnedNode = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextNode != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedNode = nextNode;
+			nextNode = successor(nextNode);
+			nextIndex++;
+
+			return lastReturnedNode.element;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			if (nextNode != null) { // middle of list
+				nextNode = predecessor(nextNode);
+			} else { // end of list
+				nextNode = rightmost(root);
+			}
+
+			lastReturnedNode = nextNode;
+			nextIndex--;
+
+			return nextNode.element;
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturnedNode == null) {
+				throw new IllegalStateException();
+			}
+
+			if (lastReturnedNode == nextNode) { // after previous()
+				nextNode = successor(nextNode);
+				removeAt(nextIndex);
+			} else { // after next()
+				nextIndex--;
+				removeAt(nextIndex);
+			}
+
+			lastReturnedNode = null;
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturnedNode == null) {
+				throw new IllegalStateException();
+			}
+
+			lastReturnedNode.element = e;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			insertAt(nextIndex, e);
+			nextIndex++;
+			lastReturnedNode = null;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
@@ -0,0 +1,601 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unrolled double-linked implementation of IndexedUnsortedList.
+ * Each ChunkNode holds a small array of elements, so traversal reads
+ * neighboring elements from the same array and the per-element cost of
+ * node headers and links is shared by a whole chunk. Full nodes are split
+ * when adding and sparse neighbors are merged when removing.
+ * A List Iterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> type to store
+ */
+public class IUUnrolledLinkedList<T> implements IndexedUnsortedList<T> {
+	private static final int DEFAULT_NODE_CAPACITY = 32;
+	private static final int NOT_FOUND = -1;
+
+	private ChunkNode<T> head, tail;
+	private int nodeCapacity;
+	private int size;
+	private int modCount;
+
+	/** Creates an empty list with the default node capacity */
+	public IUUnrolledLinkedList() {
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list whose nodes hold up to nodeCapacity elements
+	 *
+	 * @param nodeCapacity elements per node
+	 * @throws IllegalArgumentException if nodeCapacity < 2
+	 */
+	public IUUnrolledLinkedList(int nodeCapacity) {
+		if (nodeCapacity < 2) {
+			throw new IllegalArgumentException();
+		}
+		this.nodeCapacity = nodeCapacity;
+		head = tail = null;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * A position in the list: an offset into a node, or a null node
+	 * for the position after the last element.
+	 */
+	private class Cursor {
+		private ChunkNode<T> node;
+		private int offset;
+
+		/**
+		 * Creates a cursor at the given node and offset, moving on to
+		 * the next node if offset is past the end of this one
+		 *
+		 * @param node   node holding the position
+		 * @param offset offset into node
+		 */
+		public Cursor(ChunkNode<T> node, int offset) {
+			moveTo(node, offset);
+		}
+
+		/**
+		 * Moves to the given node and offset, moving on to the next node
+		 * if offset is past the end of this one
+		 *
+		 * @param node   node holding the position
+		 * @param offset offset into node
+		 */
+		public void moveTo(ChunkNode<T> node, int offset) {
+			if (node != null && offset >= node.getCount()) { // past the end of node
+				node = node.getNext();
+				offset = 0;
+			}
+			this.node = node;
+			this.offset = (node == null) ? 0 : offset;
+		}
+	}
+
+	/**
+	 * Finds the position of index, walking from whichever end is closer
+	 *
+	 * @param index list index, 0 <= index <= size
+	 * @return a cursor at index
+	 */
+	private Cursor locate(int index) {
+		if (index == size) {
+			return new Cursor(null, 0);
+		}
+
+		ChunkNode<T> current;
+		int offset;
+		if (index < size / 2) { // walk from head
+			current = head;
+			offset = index;
+			while (offset >= current.getCount()) {
+				offset -= current.getCount();
+				current = current.getNext();
+			}
+		} else { // walk from tail
+			current = tail;
+			int remaining = size - index;
+			while (remaining > current.getCount()) {
+				remaining -= current.getCount();
+				current = current.getPrevious();
+			}
+			offset = current.getCount() - remaining;
+		}
+
+		return new Cursor(current, offset);
+	}
+
+	/**
+	 * Links a new empty node after the given node, or at the front of the
+	 * list if node is null.
+	 *
+	 * @param node node to follow, or null
+	 * @return the new node
+	 */
+	private ChunkNode<T> linkAfter(ChunkNode<T> node) {
+		ChunkNode<T> newNode = new ChunkNode<T>(nodeCapacity);
+		ChunkNode<T> nextNode = (node == null) ? head : node.getNext();
+
+		newNode.setPrevious(node);
+		newNode.setNext(nextNode);
+		if (node != null) {
+			node.setNext(newNode);
+		} else {
+			head = newNode;
+		}
+		if (nextNode != null) {
+			nextNode.setPrevious(newNode);
+		} else {
+			tail = newNode;
+		}
+
+		return newNode;
+	}
+
+	/**
+	 * Removes a node from the chain
+	 *
+	 * @param node node to unlink
+	 */
+	private void unlink(ChunkNode<T> node) {
+		if (node.getPrevious() != null) {
+			node.getPrevious().setNext(node.getNext());
+		} else {
+			head = node.getNext();
+		}
+		if (node.getNext() != null) {
+			node.getNext().setPrevious(node.getPrevious());
+		} else {
+			tail = node.getPrevious();
+		}
+	}
+
+	/**
+	 * Inserts element at the cursor, splitting a full node if needed, and
+	 * moves the cursor to the position after the new element.
+	 * Does not update modCount.
+	 *
+	 * @param cursor  position to insert at
+	 * @param element element to insert
+	 */
+	private void insertAt(Cursor cursor, T element) {
+		ChunkNode<T> node = cursor.node;
+		int offset = cursor.offset;
+
+		if (node == null) { // end of list
+			if (tail == null || tail.isFull()) {
+				linkAfter(tail);
+			}
+			tail.insertElement(tail.getCount(), element);
+		} else if (!node.isFull()) { // room in this node
+			node.insertElement(offset, element);
+			cursor.moveTo(node, offset + 1);
+		} else if (offset == 0 && node.getPrevious() == null) { // front of list
+			linkAfter(null).insertElement(0, element);
+		} else if (offset == 0 && !node.getPrevious().isFull()) { // room at end of previous node
+			node.getPrevious().insertElement(node.getPrevious().getCount(), element);
+		} else { // split the full node in half
+			int half = node.getCount() / 2;
+			ChunkNode<T> newNode = linkAfter(node);
+			node.transferTo(half, newNode);
+			if (offset <= half) {
+				node.insertElement(offset, element);
+				cursor.moveTo(node, offset + 1);
+			} else {
+				newNode.insertElement(offset - half, element);
+				cursor.moveTo(newNode, offset - half + 1);
+			}
+		}
+
+		size++;
+	}
+
+	/**
+	 * Removes the element at the cursor, merging sparse neighbors, and
+	 * moves the cursor to the element that followed the removed one.
+	 * Does not update modCount.
+	 *
+	 * @param cursor position of the element to remove
+	 * @return the removed element
+	 */
+	private T removeAt(Cursor cursor) {
+		ChunkNode<T> node = cursor.node;
+		int offset = cursor.offset;
+		T retVal = node.removeElement(offset);
+
+		if (node.getCount() == 0) { // drop the empty node
+			unlink(node);
+			cursor.moveTo(node.getNext(), 0);
+		} else {
+			ChunkNode<T> nextNode = node.getNext();
+			if (nextNode != null && node.getCount() + nextNode.getCount() <= nodeCapacity / 2) {
+				nextNode.transferTo(0, node);
+				unlink(nextNode);
+			}
+			ChunkNode<T> prevNode = node.getPrevious();
+			if (prevNode != null && prevNode.getCount() + node.getCount() <= nodeCapacity / 2) {
+				offset += prevNode.getCount();
+				node.transferTo(0, prevNode);
+				unlink(node);
+				node = prevNode;
+			}
+			cursor.moveTo(node, offset);
+		}
+
+		size--;
+		return retVal;
+	}
+
+	@Override
+	public void addToFront(T element) {
+		insertAt(new Cursor(head, 0), element);
+		modCount++;
+	}
+
+	@Override
+	public void addToRear(T element) {
+		insertAt(new Cursor(null, 0), element);
+		modCount++;
+	}
+
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	@Override
+	public void addAfter(T element, T target) {
+		Cursor cursor = find(target);
+
+		if (cursor == null) {
+			throw new NoSuchElementException();
+		}
+
+		cursor.moveTo(cursor.node, cursor.offset + 1);
+		insertAt(cursor, element);
+		modCount++;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		insertAt(locate(index), element);
+		modCount++;
+	}
+
+	@Override
+	public T removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(new Cursor(head, 0));
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(new Cursor(tail, tail.getCount() - 1));
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(T element) {
+		Cursor cursor = find(element);
+
+		if (cursor == null) {
+			throw new NoSuchElementException();
+		}
+
+		T retVal = removeAt(cursor);
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		T retVal = removeAt(locate(index));
+		modCount++;
+
+		return retVal;
+	}
+
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Cursor cursor = locate(index);
+		cursor.node.setElement(cursor.offset, element);
+
+		modCount++;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Cursor cursor = locate(index);
+		return cursor.node.getElement(cursor.offset);
+	}
+
+	/**
+	 * Finds the first element matching target
+	 *
+	 * @param target element to look for
+	 * @return a cursor at the match, or null if there is none
+	 */
+	private Cursor find(T target) {
+		ChunkNode<T> current = head;
+
+		while (current != null) {
+			for (int i = 0; i < current.getCount(); i++) {
+				if (target.equals(current.getElement(i))) {
+					return new Cursor(current, i);
+				}
+			}
+			current = current.getNext();
+		}
+
+		return null;
+	}
+
+	@Override
+	public int indexOf(T element) {
+		ChunkNode<T> current = head;
+		int nodeStart = 0;
+
+		while (current != null) {
+			for (int i = 0; i < current.getCount(); i++) {
+				if (element.equals(current.getElement(i))) {
+					return nodeStart + i;
+				}
+			}
+			nodeStart += current.getCount();
+			current = current.getNext();
+		}
+
+		return NOT_FOUND;
+	}
+
+	@Override
+	public T first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return head.getElement(0);
+	}
+
+	@Override
+	public T last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return tail.getElement(tail.getCount() - 1);
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (T element : this) {
+			str.append(element.toString());
+			str.append(", ");
+		}
+		if (size > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new ULLIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return new ULLIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new ULLIterator(startingIndex);
+	}
+
+	/** ListIterator (and basic iterator) for IUUnrolledLinkedList */
+	private class ULLIterator implements ListIterator<T> {
+		private Cursor nextPosition;
+		private Cursor lastReturned;
+		private int nextIndex;
+		private int iterModCount;
+
+		/** Initialize iterator at the start of the list */
+		public ULLIterator() {
+			this(0);
+		}
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public ULLIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > size) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextPosition = locate(startingIndex);
+			lastReturned = null;
+			nextIndex = startingIndex;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextPosition.node != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturned = new Cursor(nextPosition.node, nextPosition.offset);
+			nextPosition.moveTo(nextPosition.node, nextPosition.offset + 1);
+			nextIndex++;
+
+			return lastReturned.node.getElement(lastReturned.offset);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			if (nextPosition.node == null) { // end of list
+				nextPosition.moveTo(tail, tail.getCount() - 1);
+			} else if (nextPosition.offset > 0) { // same node
+				nextPosition.offset--;
+			} else { // end of previous node
+				ChunkNode<T> prevNode = nextPosition.node.getPrevious();
+				nextPosition.moveTo(prevNode, prevNode.getCount() - 1);
+			}
+
+			lastReturned = new Cursor(nextPosition.node, nextPosition.offset);
+			nextIndex--;
+
+			return lastReturned.node.getElement(lastReturned.offset);
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			boolean afterNext = (lastReturned.node != nextPosition.node || lastReturned.offset != nextPosition.offset);
+			removeAt(lastReturned);
+			if (afterNext) {
+				nextIndex--;
+			}
+			// either way the next element is the one that followed the removed one
+			nextPosition = lastReturned;
+			lastReturned = null;
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void set(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+
+			lastReturned.node.setElement(lastReturned.offset, e);
+
+			modCount++;
+			iterModCount++;
+		}
+
+		@Override
+		public void add(T e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			insertAt(nextPosition, e);
+			nextIndex++;
+			lastReturned = null;
+
+			modCount++;
+			iterModCount++;
+		}
+	}
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  *  Interface for an Iterable, Indexed, Unsorted List ADT.
@@ -55,6 +56,121 @@ public interface IndexedUnsortedList<T> extends Iterable<T>
      */
     public void add(int index, T element);
 
+    /**  
+     * Adds the given elements to the rear of this list, in iteration order. 
+     * The default adds them one at a time; implementations may grow,
+     * shift or walk just once for the whole batch.
+     *
+     * @param elements the elements to be added to the rear of this list
+     */
+    public default void addAll(Iterable<? extends T> elements) {
+        for (T element : batchOf(elements)) {
+            addToRear(element);
+        }
+    }
+
+    /**  
+     * Inserts the given elements, in iteration order, so that the first of
+     * them ends up at the specified index. 
+     * The default adds them one at a time; implementations may grow,
+     * shift or walk just once for the whole batch.
+     * 
+     * @param index    the index at which the first element is to be inserted
+     * @param elements the elements to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+     */
+    public default void addAll(int index, Iterable<? extends T> elements) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        for (T element : batchOf(elements)) {
+            add(index, element);
+            index++;
+        }
+    }
+
+    /**  
+     * Adds the given elements to the rear of this list, in array order. 
+     *
+     * @param elements the elements to be added to the rear of this list
+     */
+    public default void addAll(T[] elements) {
+        addAll(Arrays.asList(elements));
+    }
+
+    /**  
+     * Copies elements before any of them are added, so that a list can be
+     * added to itself without its iterator failing. 
+     *
+     * @param elements the elements about to be added
+     * @return the elements in iteration order
+     */
+    public static <T> List<T> batchOf(Iterable<? extends T> elements) {
+        if (elements instanceof Collection) {
+            return new ArrayList<T>((Collection<? extends T>) elements);
+        }
+
+        ArrayList<T> batch = new ArrayList<T>();
+        for (T element : elements) {
+            batch.add(element);
+        }
+        return batch;
+    }
+
+    /**  
+     * Removes every element of this list that matches the given filter. 
+     * The default removes them one at a time through the iterator;
+     * implementations may remove them all in a single pass.
+     *
+     * @param filter returns true for the elements to be removed
+     * @return true if any element was removed
+     */
+    public default boolean removeIf(Predicate<? super T> filter) {
+        boolean removed = false;
+        Iterator<T> it = iterator();
+        while (it.hasNext()) {
+            if (filter.test(it.next())) {
+                it.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**  
+     * Removes every element of this list that is also in the given collection. 
+     *
+     * @param elements the elements to be removed
+     * @return true if any element was removed
+     */
+    public default boolean removeAll(Collection<?> elements) {
+        Set<Object> members = membershipOf(elements);
+        return removeIf(element -> members.contains(element));
+    }
+
+    /**  
+     * Removes every element of this list that is not in the given collection. 
+     *
+     * @param elements the elements to be kept
+     * @return true if any element was removed
+     */
+    public default boolean retainAll(Collection<?> elements) {
+        Set<Object> members = membershipOf(elements);
+        return removeIf(element -> !members.contains(element));
+    }
+
+    /**  
+     * Copies elements into a HashSet, so that testing each element of a
+     * list against them is a hash lookup rather than a scan of the collection. 
+     *
+     * @param elements the elements to be tested against
+     * @return the elements as a set
+     */
+    public static Set<Object> membershipOf(Collection<?> elements) {
+        return new HashSet<Object>(elements);
+    }
+
     /**  
      * Removes and returns the first element from this list. 
      * 
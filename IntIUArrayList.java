@@ -0,0 +1,447 @@
+import java.util.Arrays;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Array-based list of int values, backed by an int[] instead of boxed Integers.
+ * The addInt(), getInt(), setInt(), removeIntAt() and indexOfInt() methods and
+ * the PrimitiveIterator.OfInt returned by intIterator() never box. The
+ * IndexedUnsortedList&lt;Integer&gt; methods are a boxed view of the same values
+ * for code written against the interface.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ */
+public class IntIUArrayList implements IndexedUnsortedList<Integer> {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int NOT_FOUND = -1;
+
+	private int[] array;
+	private int rear;
+	private int modCount;
+
+	/** Creates an empty list with default initial capacity */
+	public IntIUArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 */
+	public IntIUArrayList(int initialCapacity) {
+		array = new int[Math.max(1, initialCapacity)];
+		rear = 0;
+		modCount = 0;
+	}
+
+	/** Double the capacity of array */
+	private void expandCapacity() {
+		if (array.length == rear) {
+			array = Arrays.copyOf(array, array.length * 2);
+		}
+	}
+
+	/**
+	 * Adds value to the rear of this list.
+	 *
+	 * @param value the value to be added
+	 */
+	public void addInt(int value) {
+		expandCapacity();
+
+		array[rear] = value;
+		rear++;
+		modCount++;
+	}
+
+	/**
+	 * Inserts value at the specified index.
+	 *
+	 * @param index the index to insert at
+	 * @param value the value to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+	 */
+	public void addInt(int index, int value) {
+		if (index < 0 || index > rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		expandCapacity();
+
+		// shift elements
+		System.arraycopy(array, index, array, index + 1, rear - index);
+		array[index] = value;
+		rear++;
+		modCount++;
+	}
+
+	/**
+	 * Removes and returns the value at the specified index.
+	 *
+	 * @param index the index of the value to remove
+	 * @return the removed value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public int removeIntAt(int index) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int retVal = array[index];
+
+		rear--;
+		// shift elements
+		System.arraycopy(array, index + 1, array, index, rear - index);
+		modCount++;
+
+		return retVal;
+	}
+
+	/**
+	 * Replaces the value at the specified index.
+	 *
+	 * @param index the index of the value to replace
+	 * @param value the replacement value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public void setInt(int index, int value) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		array[index] = value;
+		modCount++;
+	}
+
+	/**
+	 * Returns the value at the specified index.
+	 *
+	 * @param index the index of the value
+	 * @return the value at index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public int getInt(int index) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+		return array[index];
+	}
+
+	/**
+	 * Returns the index of the first occurrence of value.
+	 *
+	 * @param value the value to look for
+	 * @return the index of value or -1 if it is not in the list
+	 */
+	public int indexOfInt(int value) {
+		for (int i = 0; i < rear; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Returns true if this list contains value.
+	 *
+	 * @param value the value to look for
+	 * @return true if the list contains value
+	 */
+	public boolean containsInt(int value) {
+		return (indexOfInt(value) != NOT_FOUND);
+	}
+
+	/**
+	 * Returns an iterator over the values in this list that does not box.
+	 *
+	 * @return a PrimitiveIterator over the values in this list
+	 */
+	public PrimitiveIterator.OfInt intIterator() {
+		return new IntALIterator(0);
+	}
+
+	@Override
+	public void addToFront(Integer element) {
+		addInt(0, element);
+	}
+
+	@Override
+	public void addToRear(Integer element) {
+		addInt(element);
+	}
+
+	@Override
+	public void add(Integer element) {
+		addInt(element);
+	}
+
+	@Override
+	public void addAfter(Integer element, Integer target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		addInt(index + 1, element);
+	}
+
+	@Override
+	public void add(int index, Integer element) {
+		addInt(index, element);
+	}
+
+	@Override
+	public Integer removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return removeIntAt(0);
+	}
+
+	@Override
+	public Integer removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return removeIntAt(rear - 1);
+	}
+
+	@Override
+	public Integer remove(Integer element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		return removeIntAt(index);
+	}
+
+	@Override
+	public Integer remove(int index) {
+		return removeIntAt(index);
+	}
+
+	@Override
+	public void set(int index, Integer element) {
+		setInt(index, element);
+	}
+
+	@Override
+	public Integer get(int index) {
+		return getInt(index);
+	}
+
+	@Override
+	public int indexOf(Integer element) {
+		if (element == null) { // null is never stored
+			return NOT_FOUND;
+		}
+		return indexOfInt(element);
+	}
+
+	@Override
+	public Integer first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[0];
+	}
+
+	@Override
+	public Integer last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[rear - 1];
+	}
+
+	@Override
+	public boolean contains(Integer target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return rear == 0;
+	}
+
+	@Override
+	public int size() {
+		return rear;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (int i = 0; i < rear; i++) {
+			str.append(array[i]);
+			str.append(", ");
+		}
+		if (rear > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new IntALIterator(0);
+	}
+
+	@Override
+	public ListIterator<Integer> listIterator() {
+		return new IntALIterator(0);
+	}
+
+	@Override
+	public ListIterator<Integer> listIterator(int startingIndex) {
+		return new IntALIterator(startingIndex);
+	}
+
+	/** ListIterator (and primitive iterator) for IntIUArrayList */
+	private class IntALIterator implements ListIterator<Integer>, PrimitiveIterator.OfInt {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public IntALIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > rear) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < rear;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return array[lastReturnedIndex];
+		}
+
+		@Override
+		public Integer next() {
+			return nextInt();
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public Integer previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return array[lastReturnedIndex];
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			removeIntAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+
+			iterModCount = modCount;
+		}
+
+		@Override
+		public void set(Integer e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			setInt(lastReturnedIndex, e);
+
+			iterModCount = modCount;
+		}
+
+		@Override
+		public void add(Integer e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			addInt(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+
+			iterModCount = modCount;
+		}
+	}
+}
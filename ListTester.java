@@ -1,7 +1,19 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * A unit test class for lists that implement IndexedUnsortedList. 
@@ -17,14 +29,21 @@ import java.util.NoSuchElementException;
 public class ListTester {
 	//possible lists that could be tested
 	private static enum ListToUse {
-		goodList, badList, arrayList, singleLinkedList, doubleLinkedList
+		goodList, badList, arrayList, singleLinkedList, doubleLinkedList,
+		circularArrayList, gapBufferList, unrolledLinkedList, skipList,
+		treapList, bPlusTreeList, tieredVector, intArrayList, offHeapList,
+		mappedFileList, persistentVector, copyOnWriteList,
+		concurrentDoubleLinkedList, concurrentSingleLinkedList,
+		stampedLockList, segmentedList, flatCombiningList, arenaLinkedList,
+		pooledDoubleLinkedList, pooledSingleLinkedList,
+		longArrayList, doubleArrayList
 	};
 	// TODO: THIS IS WHERE YOU CHOOSE WHICH LIST TO TEST
 	private final static ListToUse LIST_TO_USE = ListToUse.doubleLinkedList;
 
 	// possible results expected in tests
 	private enum Result {
-		IndexOutOfBounds, IllegalState, NoSuchElement, 
+		IndexOutOfBounds, IllegalState, IllegalArgument, NoSuchElement, 
 		ConcurrentModification, UnsupportedOperation, 
 		NoException, UnexpectedException,
 		True, False, Pass, Fail, 
@@ -42,6 +61,14 @@ public class ListTester {
 
 	// determine whether to include ListIterator functionality tests
 	private final boolean SUPPORTS_LIST_ITERATOR; //initialized in constructor
+	// determine whether to include fail-fast iterator concurrency tests
+	private final boolean FAIL_FAST_ITERATORS; //initialized in constructor
+	// determine whether to include multi-threaded tests
+	private final boolean THREAD_SAFE; //initialized in constructor
+	// how long a test thread may run before it counts as hung
+	private static final long THREAD_TIMEOUT_MS = 10000;
+	// shared by every pooled list newList() builds, so recycled nodes move between lists
+	private final NodePool<Integer> scenarioPool = new NodePool<Integer>(8);
 	
 	//tracking number of tests and test results
 	private int passes = 0;
@@ -84,12 +111,53 @@ public class ListTester {
 		}
 		switch (LIST_TO_USE) {
 		case doubleLinkedList:
+		case circularArrayList:
+		case gapBufferList:
+		case unrolledLinkedList:
+		case skipList:
+		case treapList:
+		case bPlusTreeList:
+		case tieredVector:
+		case intArrayList:
+		case longArrayList:
+		case doubleArrayList:
+		case persistentVector:
+		case copyOnWriteList:
+		case concurrentDoubleLinkedList:
+		case stampedLockList:
+		case segmentedList:
+		case flatCombiningList:
+		case arenaLinkedList:
+		case pooledDoubleLinkedList:
 			SUPPORTS_LIST_ITERATOR = true;
 			break;
 		default:
 			SUPPORTS_LIST_ITERATOR = false;
 			break;
 		}
+		switch (LIST_TO_USE) {
+		case concurrentDoubleLinkedList: // weakly consistent iterators
+		case concurrentSingleLinkedList:
+		case copyOnWriteList: // snapshot iterators
+			FAIL_FAST_ITERATORS = false;
+			break;
+		default:
+			FAIL_FAST_ITERATORS = true;
+			break;
+		}
+		switch (LIST_TO_USE) {
+		case concurrentDoubleLinkedList:
+		case concurrentSingleLinkedList:
+		case stampedLockList:
+		case segmentedList:
+		case flatCombiningList:
+		case copyOnWriteList:
+			THREAD_SAFE = true;
+			break;
+		default:
+			THREAD_SAFE = false;
+			break;
+		}
 	}
 
 	/** Print test results in a consistent format
@@ -250,10 +318,71 @@ public class ListTester {
 		testThreeElementList(ABC_listIterIndex1PreviousSetD_DBC, "ABC_listIterIndex1PreviousSetD_DBC", LIST_DBC, STRING_DBC); // list iterator
 		testThreeElementList(ABC_listIterIndex2PreviousSetD_ADC, "ABC_listIterIndex2PreviousSetD_ADC", LIST_ADC, STRING_ADC); // list iterator
 		testThreeElementList(ABC_listIterIndex3PreviousSetD_ABD, "ABC_listIterIndex3PreviousSetD_ABD", LIST_ABD, STRING_ABD); // list iterator
+		//bulk adds
+		testSingleElementList(emptyList_addAllA_A, "emptyList_addAllA_A", LIST_A, STRING_A);
+		testSingleElementList(emptyList_addAllArrayA_A, "emptyList_addAllArrayA_A", LIST_A, STRING_A);
+		testSingleElementList(emptyList_addAll0A_A, "emptyList_addAll0A_A", LIST_A, STRING_A);
+		testTwoElementList(A_addAllB_AB, "A_addAllB_AB", LIST_AB, STRING_AB);
+		testTwoElementList(A_addAll0B_BA, "A_addAll0B_BA", LIST_BA, STRING_BA);
+		testTwoElementList(AB_addAllNone_AB, "AB_addAllNone_AB", LIST_AB, STRING_AB);
+		testThreeElementList(A_addAll1BC_ABC, "A_addAll1BC_ABC", LIST_ABC, STRING_ABC);
+		testThreeElementList(A_addAllArrayBC_ABC, "A_addAllArrayBC_ABC", LIST_ABC, STRING_ABC);
+		testThreeElementList(AB_addAll1C_ACB, "AB_addAll1C_ACB", LIST_ACB, STRING_ACB);
+		testThreeElementList(B_addAll0CA_CAB, "B_addAll0CA_CAB", LIST_CAB, STRING_CAB);
+		//bulk removes
+		testEmptyList(A_removeIfA_emptyList, "A_removeIfA_emptyList");
+		testEmptyList(A_removeAllA_emptyList, "A_removeAllA_emptyList");
+		testEmptyList(A_retainAllX_emptyList, "A_retainAllX_emptyList");
+		testEmptyList(ABC_removeIfAll_emptyList, "ABC_removeIfAll_emptyList");
+		testSingleElementList(AB_removeIfB_A, "AB_removeIfB_A", LIST_A, STRING_A);
+		testSingleElementList(ABC_removeAllAC_B, "ABC_removeAllAC_B", LIST_B, STRING_B);
+		testSingleElementList(ABC_retainAllAX_A, "ABC_retainAllAX_A", LIST_A, STRING_A);
+		testTwoElementList(ABC_removeIfB_AC, "ABC_removeIfB_AC", LIST_AC, STRING_AC);
+		testTwoElementList(ABC_retainAllBC_BC, "ABC_retainAllBC_BC", LIST_BC, STRING_BC);
+		testThreeElementList(ABC_removeAllX_ABC, "ABC_removeAllX_ABC", LIST_ABC, STRING_ABC);
 		//Iterator concurrency tests
-		test_IterConcurrency();
-		if (SUPPORTS_LIST_ITERATOR) {
-			test_ListIterConcurrency();
+		if (FAIL_FAST_ITERATORS) {
+			test_IterConcurrency();
+			if (SUPPORTS_LIST_ITERATOR) {
+				test_ListIterConcurrency();
+			}
+		}
+
+		//Bulk operation tests
+		test_AddAll();
+		test_RemoveIf();
+
+		//List-specific operation tests
+		if (LIST_TO_USE == ListToUse.doubleLinkedList || LIST_TO_USE == ListToUse.pooledDoubleLinkedList) {
+			test_Splicing();
+		}
+		if (LIST_TO_USE == ListToUse.persistentVector) {
+			test_PersistentVersions();
+		}
+		if (LIST_TO_USE == ListToUse.copyOnWriteList) {
+			test_CopyOnWrite();
+		}
+		if (LIST_TO_USE == ListToUse.arenaLinkedList) {
+			test_Compact();
+		}
+		if (LIST_TO_USE == ListToUse.flatCombiningList) {
+			test_CombinerFailures();
+		}
+		if (LIST_TO_USE == ListToUse.pooledDoubleLinkedList || LIST_TO_USE == ListToUse.pooledSingleLinkedList) {
+			test_NodePool();
+		}
+		if (LIST_TO_USE == ListToUse.longArrayList || LIST_TO_USE == ListToUse.doubleArrayList) {
+			test_PrimitiveMatching();
+		}
+		if (LIST_TO_USE == ListToUse.arrayList || LIST_TO_USE == ListToUse.singleLinkedList
+				|| LIST_TO_USE == ListToUse.doubleLinkedList) {
+			test_HashIndex();
+			test_BloomFilter();
+		}
+
+		//Thread safety tests
+		if (THREAD_SAFE) {
+			test_ThreadSafety();
 		}
 
 		// report final verdict
@@ -290,6 +419,78 @@ public class ListTester {
 		case doubleLinkedList:
 			listToUse = new IUDoubleLinkedList<Integer>();
 			break;
+		case circularArrayList:
+			listToUse = new IUCircularArrayList<Integer>();
+			break;
+		case gapBufferList:
+			listToUse = new IUGapBufferList<Integer>();
+			break;
+		case unrolledLinkedList:
+			listToUse = new IUUnrolledLinkedList<Integer>();
+			break;
+		case skipList:
+			listToUse = new IUSkipList<Integer>();
+			break;
+		case treapList:
+			listToUse = new IUTreapList<Integer>();
+			break;
+		case bPlusTreeList:
+			listToUse = new IUBPlusTreeList<Integer>();
+			break;
+		case tieredVector:
+			listToUse = new IUTieredVector<Integer>();
+			break;
+		case intArrayList:
+			listToUse = new IntIUArrayList();
+			break;
+		case longArrayList: // tested through Integer values
+			listToUse = new IntegerView<Long>(new LongIUArrayList(), Integer::longValue, Long::intValue);
+			break;
+		case doubleArrayList:
+			listToUse = new IntegerView<Double>(new DoubleIUArrayList(), Integer::doubleValue, Double::intValue);
+			break;
+		case offHeapList:
+			listToUse = new IUOffHeapList<Integer>(RecordCodec.INTEGER);
+			break;
+		case mappedFileList:
+			try {
+				Path file = Files.createTempFile("ListTester", ".list");
+				file.toFile().deleteOnExit();
+				listToUse = new IUMappedFileList<Integer>(file, RecordCodec.INTEGER);
+			} catch (IOException e) {
+				listToUse = null;
+			}
+			break;
+		case persistentVector:
+			listToUse = new IUPersistentVector<Integer>();
+			break;
+		case copyOnWriteList:
+			listToUse = new IUCopyOnWriteList<Integer>();
+			break;
+		case concurrentDoubleLinkedList:
+			listToUse = new IUConcurrentDoubleLinkedList<Integer>();
+			break;
+		case concurrentSingleLinkedList:
+			listToUse = new IUConcurrentSingleLinkedList<Integer>();
+			break;
+		case stampedLockList:
+			listToUse = new IUStampedLockList<Integer>(new IUDoubleLinkedList<Integer>());
+			break;
+		case segmentedList:
+			listToUse = new IUSegmentedList<Integer>();
+			break;
+		case flatCombiningList:
+			listToUse = new IUFlatCombiningList<Integer>(new IUDoubleLinkedList<Integer>());
+			break;
+		case arenaLinkedList:
+			listToUse = new IUArenaLinkedList<Integer>();
+			break;
+		case pooledDoubleLinkedList:
+			listToUse = new IUDoubleLinkedList<Integer>(scenarioPool);
+			break;
+		case pooledSingleLinkedList:
+			listToUse = new IUSingleLinkedList<Integer>(scenarioPool);
+			break;
 		default:
 			listToUse = null;
 		}
@@ -1140,6 +1341,206 @@ public class ListTester {
 	}
 	private Scenario<Integer> ABC_listIterIndex3PreviousSetD_ABD = () -> ABC_listIterIndex3PreviousSetD_ABD();
 
+	/** Scenario: empty list -> addAll([A]) -> [A]
+	 * @return [A] after addAll([A])
+	 */
+	private IndexedUnsortedList<Integer> emptyList_addAllA_A() {
+		IndexedUnsortedList<Integer> list = newList();
+		list.addAll(Arrays.asList(ELEMENT_A));
+		return list;
+	}
+	private Scenario<Integer> emptyList_addAllA_A = () -> emptyList_addAllA_A();
+
+	/** Scenario: empty list -> addAll({A}) -> [A]
+	 * @return [A] after addAll of an array holding A
+	 */
+	private IndexedUnsortedList<Integer> emptyList_addAllArrayA_A() {
+		IndexedUnsortedList<Integer> list = newList();
+		list.addAll(new Integer[] {ELEMENT_A});
+		return list;
+	}
+	private Scenario<Integer> emptyList_addAllArrayA_A = () -> emptyList_addAllArrayA_A();
+
+	/** Scenario: empty list -> addAll(0,[A]) -> [A]
+	 * @return [A] after addAll(0,[A])
+	 */
+	private IndexedUnsortedList<Integer> emptyList_addAll0A_A() {
+		IndexedUnsortedList<Integer> list = newList();
+		list.addAll(0, Arrays.asList(ELEMENT_A));
+		return list;
+	}
+	private Scenario<Integer> emptyList_addAll0A_A = () -> emptyList_addAll0A_A();
+
+	/** Scenario: [A] -> addAll([B]) -> [A,B]
+	 * @return [A,B] after addAll([B])
+	 */
+	private IndexedUnsortedList<Integer> A_addAllB_AB() {
+		IndexedUnsortedList<Integer> list = emptyList_addToFrontA_A();
+		list.addAll(Arrays.asList(ELEMENT_B));
+		return list;
+	}
+	private Scenario<Integer> A_addAllB_AB = () -> A_addAllB_AB();
+
+	/** Scenario: [A] -> addAll(0,[B]) -> [B,A]
+	 * @return [B,A] after addAll(0,[B])
+	 */
+	private IndexedUnsortedList<Integer> A_addAll0B_BA() {
+		IndexedUnsortedList<Integer> list = emptyList_addToFrontA_A();
+		list.addAll(0, Arrays.asList(ELEMENT_B));
+		return list;
+	}
+	private Scenario<Integer> A_addAll0B_BA = () -> A_addAll0B_BA();
+
+	/** Scenario: [A,B] -> addAll([]) -> [A,B]
+	 * @return [A,B] after addAll of no elements
+	 */
+	private IndexedUnsortedList<Integer> AB_addAllNone_AB() {
+		IndexedUnsortedList<Integer> list = A_addToRearB_AB();
+		list.addAll(Arrays.asList(new Integer[0]));
+		return list;
+	}
+	private Scenario<Integer> AB_addAllNone_AB = () -> AB_addAllNone_AB();
+
+	/** Scenario: [A] -> addAll(1,[B,C]) -> [A,B,C]
+	 * @return [A,B,C] after addAll(1,[B,C])
+	 */
+	private IndexedUnsortedList<Integer> A_addAll1BC_ABC() {
+		IndexedUnsortedList<Integer> list = emptyList_addToFrontA_A();
+		list.addAll(1, Arrays.asList(ELEMENT_B, ELEMENT_C));
+		return list;
+	}
+	private Scenario<Integer> A_addAll1BC_ABC = () -> A_addAll1BC_ABC();
+
+	/** Scenario: [A] -> addAll({B,C}) -> [A,B,C]
+	 * @return [A,B,C] after addAll of an array holding B and C
+	 */
+	private IndexedUnsortedList<Integer> A_addAllArrayBC_ABC() {
+		IndexedUnsortedList<Integer> list = emptyList_addToFrontA_A();
+		list.addAll(new Integer[] {ELEMENT_B, ELEMENT_C});
+		return list;
+	}
+	private Scenario<Integer> A_addAllArrayBC_ABC = () -> A_addAllArrayBC_ABC();
+
+	/** Scenario: [A,B] -> addAll(1,[C]) -> [A,C,B]
+	 * @return [A,C,B] after addAll(1,[C])
+	 */
+	private IndexedUnsortedList<Integer> AB_addAll1C_ACB() {
+		IndexedUnsortedList<Integer> list = A_addToRearB_AB();
+		list.addAll(1, Arrays.asList(ELEMENT_C));
+		return list;
+	}
+	private Scenario<Integer> AB_addAll1C_ACB = () -> AB_addAll1C_ACB();
+
+	/** Scenario: [B] -> addAll(0,[C,A]) -> [C,A,B]
+	 * @return [C,A,B] after addAll(0,[C,A])
+	 */
+	private IndexedUnsortedList<Integer> B_addAll0CA_CAB() {
+		IndexedUnsortedList<Integer> list = A_set0_B();
+		list.addAll(0, Arrays.asList(ELEMENT_C, ELEMENT_A));
+		return list;
+	}
+	private Scenario<Integer> B_addAll0CA_CAB = () -> B_addAll0CA_CAB();
+
+	/** Scenario: [A] -> removeIf(A) -> [ ]
+	 * @return [ ] after removeIf(e -> e == A)
+	 */
+	private IndexedUnsortedList<Integer> A_removeIfA_emptyList() {
+		IndexedUnsortedList<Integer> list = emptyList_addToFrontA_A();
+		list.removeIf(element -> element.equals(ELEMENT_A));
+		return list;
+	}
+	private Scenario<Integer> A_removeIfA_emptyList = () -> A_removeIfA_emptyList();
+
+	/** Scenario: [A] -> removeAll([A]) -> [ ]
+	 * @return [ ] after removeAll([A])
+	 */
+	private IndexedUnsortedList<Integer> A_removeAllA_emptyList() {
+		IndexedUnsortedList<Integer> list = emptyList_addToFrontA_A();
+		list.removeAll(Arrays.asList(ELEMENT_A));
+		return list;
+	}
+	private Scenario<Integer> A_removeAllA_emptyList = () -> A_removeAllA_emptyList();
+
+	/** Scenario: [A] -> retainAll([X]) -> [ ]
+	 * @return [ ] after retainAll([X])
+	 */
+	private IndexedUnsortedList<Integer> A_retainAllX_emptyList() {
+		IndexedUnsortedList<Integer> list = emptyList_addToFrontA_A();
+		list.retainAll(Arrays.asList(ELEMENT_X));
+		return list;
+	}
+	private Scenario<Integer> A_retainAllX_emptyList = () -> A_retainAllX_emptyList();
+
+	/** Scenario: [A,B,C] -> removeIf(any) -> [ ]
+	 * @return [ ] after removeIf(e -> true)
+	 */
+	private IndexedUnsortedList<Integer> ABC_removeIfAll_emptyList() {
+		IndexedUnsortedList<Integer> list = AB_addToRearC_ABC();
+		list.removeIf(element -> true);
+		return list;
+	}
+	private Scenario<Integer> ABC_removeIfAll_emptyList = () -> ABC_removeIfAll_emptyList();
+
+	/** Scenario: [A,B] -> removeIf(B) -> [A]
+	 * @return [A] after removeIf(e -> e == B)
+	 */
+	private IndexedUnsortedList<Integer> AB_removeIfB_A() {
+		IndexedUnsortedList<Integer> list = A_addToRearB_AB();
+		list.removeIf(element -> element.equals(ELEMENT_B));
+		return list;
+	}
+	private Scenario<Integer> AB_removeIfB_A = () -> AB_removeIfB_A();
+
+	/** Scenario: [A,B,C] -> removeAll([A,C]) -> [B]
+	 * @return [B] after removeAll([A,C])
+	 */
+	private IndexedUnsortedList<Integer> ABC_removeAllAC_B() {
+		IndexedUnsortedList<Integer> list = AB_addToRearC_ABC();
+		list.removeAll(Arrays.asList(ELEMENT_A, ELEMENT_C));
+		return list;
+	}
+	private Scenario<Integer> ABC_removeAllAC_B = () -> ABC_removeAllAC_B();
+
+	/** Scenario: [A,B,C] -> retainAll([A,X]) -> [A]
+	 * @return [A] after retainAll([A,X])
+	 */
+	private IndexedUnsortedList<Integer> ABC_retainAllAX_A() {
+		IndexedUnsortedList<Integer> list = AB_addToRearC_ABC();
+		list.retainAll(Arrays.asList(ELEMENT_A, ELEMENT_X));
+		return list;
+	}
+	private Scenario<Integer> ABC_retainAllAX_A = () -> ABC_retainAllAX_A();
+
+	/** Scenario: [A,B,C] -> removeIf(B) -> [A,C]
+	 * @return [A,C] after removeIf(e -> e == B)
+	 */
+	private IndexedUnsortedList<Integer> ABC_removeIfB_AC() {
+		IndexedUnsortedList<Integer> list = AB_addToRearC_ABC();
+		list.removeIf(element -> element.equals(ELEMENT_B));
+		return list;
+	}
+	private Scenario<Integer> ABC_removeIfB_AC = () -> ABC_removeIfB_AC();
+
+	/** Scenario: [A,B,C] -> retainAll([B,C]) -> [B,C]
+	 * @return [B,C] after retainAll([B,C])
+	 */
+	private IndexedUnsortedList<Integer> ABC_retainAllBC_BC() {
+		IndexedUnsortedList<Integer> list = AB_addToRearC_ABC();
+		list.retainAll(Arrays.asList(ELEMENT_B, ELEMENT_C));
+		return list;
+	}
+	private Scenario<Integer> ABC_retainAllBC_BC = () -> ABC_retainAllBC_BC();
+
+	/** Scenario: [A,B,C] -> removeAll([X]) -> [A,B,C]
+	 * @return [A,B,C] after removeAll([X])
+	 */
+	private IndexedUnsortedList<Integer> ABC_removeAllX_ABC() {
+		IndexedUnsortedList<Integer> list = AB_addToRearC_ABC();
+		list.removeAll(Arrays.asList(ELEMENT_X));
+		return list;
+	}
+	private Scenario<Integer> ABC_removeAllX_ABC = () -> ABC_removeAllX_ABC();
+
 
 
 
@@ -4202,7 +4603,1804 @@ public class ListTester {
 			}
 		}
 	}
-}// end class IndexedUnsortedListTester
+
+	////////////////////////////////////////////////////////
+	// XXX Bulk Add Tests
+	////////////////////////////////////////////////////////
+
+	/** run addAll() tests that need more than a scenario: bounds, adding a list to itself, iterators */
+	private void test_AddAll() {
+		System.out.println("\nBulk Add Tests\n");
+		try {
+			printTest("emptyList_testAddAllNeg1X", testAddAllAtIndex(newList(), -1, Arrays.asList(ELEMENT_X), Result.IndexOutOfBounds));
+			printTest("emptyList_testAddAll1X", testAddAllAtIndex(newList(), 1, Arrays.asList(ELEMENT_X), Result.IndexOutOfBounds));
+			printTest("ABC_testAddAll3X", testAddAllAtIndex(AB_addToRearC_ABC(), 3, Arrays.asList(ELEMENT_X), Result.NoException));
+			printTest("ABC_testAddAll4X", testAddAllAtIndex(AB_addToRearC_ABC(), 4, Arrays.asList(ELEMENT_X), Result.IndexOutOfBounds));
+			IndexedUnsortedList<Integer> list = AB_addToRearC_ABC();
+			testAddAllAtIndex(list, 4, Arrays.asList(ELEMENT_X), Result.IndexOutOfBounds);
+			printTest("ABC_addAll4X_testContentsABC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+
+			list = A_addToRearB_AB();
+			list.addAll(list);
+			printTest("AB_addAllSelf_testContentsABAB", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_A, ELEMENT_B}));
+			list = A_addToRearB_AB();
+			list.addAll(1, list);
+			printTest("AB_addAll1Self_testContentsAABB", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_A, ELEMENT_B, ELEMENT_B}));
+			list = newList();
+			list.addAll(list);
+			printTest("emptyList_addAllSelf_testSize", testSize(list, 0));
+
+			if (FAIL_FAST_ITERATORS) {
+				list = A_addToRearB_AB();
+				Iterator<Integer> it = list.iterator();
+				list.addAll(Arrays.asList(ELEMENT_C, ELEMENT_D));
+				printTest("AB_addAllCD_testIterHasNextConcurrent", testIterHasNext(it, Result.ConcurrentModification));
+				list = A_addToRearB_AB();
+				it = list.iterator();
+				list.addAll(0, Arrays.asList(ELEMENT_C));
+				printTest("AB_addAll0C_testIterNextConcurrent", testIterNext(it, ELEMENT_A, Result.ConcurrentModification));
+				list = A_addToRearB_AB();
+				it = list.iterator();
+				it.next();
+				list.addAll(new Integer[] {ELEMENT_C});
+				printTest("AB_addAllArrayC_testIterRemoveConcurrent", testIterRemove(it, Result.ConcurrentModification));
+			}
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_AddAll");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Bulk Remove Tests
+	////////////////////////////////////////////////////////
+
+	/** run removeIf(), removeAll() and retainAll() tests of return values, duplicates and iterators */
+	private void test_RemoveIf() {
+		System.out.println("\nBulk Remove Tests\n");
+		try {
+			printTest("emptyList_testRemoveIfAny", testRemoveIf(newList(), element -> true, Result.False));
+			printTest("A_testRemoveIfX", testRemoveIf(emptyList_addToFrontA_A(), element -> element.equals(ELEMENT_X), Result.False));
+			printTest("A_testRemoveIfA", testRemoveIf(emptyList_addToFrontA_A(), element -> element.equals(ELEMENT_A), Result.True));
+			printTest("ABC_testRemoveIfB", testRemoveIf(AB_addToRearC_ABC(), element -> element.equals(ELEMENT_B), Result.True));
+			printTest("ABC_testRemoveAllX", testBulkRemove(AB_addToRearC_ABC(), list -> list.removeAll(Arrays.asList(ELEMENT_X)), Result.False));
+			printTest("ABC_testRemoveAllCX", testBulkRemove(AB_addToRearC_ABC(), list -> list.removeAll(Arrays.asList(ELEMENT_C, ELEMENT_X)), Result.True));
+			printTest("ABC_testRetainAllABC", testBulkRemove(AB_addToRearC_ABC(), list -> list.retainAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C)), Result.False));
+			printTest("ABC_testRetainAllX", testBulkRemove(AB_addToRearC_ABC(), list -> list.retainAll(Arrays.asList(ELEMENT_X)), Result.True));
+
+			IndexedUnsortedList<Integer> list = newList();
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_A, ELEMENT_C, ELEMENT_A));
+			list.removeIf(element -> element.equals(ELEMENT_A));
+			printTest("ABACA_removeIfA_testContentsBC", testContents(list, new Integer[] {ELEMENT_B, ELEMENT_C}));
+			list = newList();
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_A, ELEMENT_C, ELEMENT_A));
+			list.retainAll(Arrays.asList(ELEMENT_A));
+			printTest("ABACA_retainAllA_testContentsAAA", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_A, ELEMENT_A}));
+			list.add(ELEMENT_B);
+			printTest("AAA_removeIfA_addB_testContentsAAAB", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_A, ELEMENT_A, ELEMENT_B}));
+			list = AB_addToRearC_ABC();
+			list.removeAll(Arrays.asList(ELEMENT_C, ELEMENT_B, ELEMENT_A));
+			printTest("ABC_removeAllCBA_testSize", testSize(list, 0));
+			list.add(ELEMENT_D);
+			printTest("ABC_removeAllCBA_addD_testContentsD", testContents(list, new Integer[] {ELEMENT_D}));
+
+			if (FAIL_FAST_ITERATORS) {
+				list = AB_addToRearC_ABC();
+				Iterator<Integer> it = list.iterator();
+				list.removeIf(element -> element.equals(ELEMENT_B));
+				printTest("ABC_removeIfB_testIterHasNextConcurrent", testIterHasNext(it, Result.ConcurrentModification));
+				list = AB_addToRearC_ABC();
+				it = list.iterator();
+				list.retainAll(Arrays.asList(ELEMENT_A));
+				printTest("ABC_retainAllA_testIterNextConcurrent", testIterNext(it, ELEMENT_A, Result.ConcurrentModification));
+				list = AB_addToRearC_ABC();
+				it = list.iterator();
+				list.removeAll(Arrays.asList(ELEMENT_X));
+				printTest("ABC_removeAllX_testIterNextA", testIterNext(it, ELEMENT_A, Result.MatchingValue));
+			}
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_RemoveIf");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Runs removeIf(filter) method on a given list and checks the returned value against expectedResult
+	 * @param list a list already prepared for a given change scenario
+	 * @param filter
+	 * @param expectedResult True or False for the value removeIf() should return
+	 * @return test success
+	 */
+	private boolean testRemoveIf(IndexedUnsortedList<Integer> list, Predicate<Integer> filter, Result expectedResult) {
+		return testBulkRemove(list, l -> l.removeIf(filter), expectedResult);
+	}
+
+	/** Runs a bulk remove (removeIf(), removeAll() or retainAll()) on a given list and checks the returned value against expectedResult
+	 * @param list a list already prepared for a given change scenario
+	 * @param bulkRemove the call to make on the list
+	 * @param expectedResult True or False for the value the call should return
+	 * @return test success
+	 */
+	private boolean testBulkRemove(IndexedUnsortedList<Integer> list, Predicate<IndexedUnsortedList<Integer>> bulkRemove, Result expectedResult) {
+		Result result;
+		try {
+			if (bulkRemove.test(list)) {
+				result = Result.True;
+			} else {
+				result = Result.False;
+			}
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testBulkRemove", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Thread Safety Tests
+	////////////////////////////////////////////////////////
+
+	/** run tests that change one list from several threads at once */
+	private void test_ThreadSafety() {
+		System.out.println("\nThread Safety Tests\n");
+		try {
+			printTest("4threads_mixedEnds_testNoneLostOrDuplicated", testConcurrentChanges(4, 100, 50000, false, 13));
+			printTest("4threads_mixedEndsAndPositions_testNoneLostOrDuplicated", testConcurrentChanges(4, 100, 20000, true, 1013));
+			printTest("8threads_mixedEndsAndPositions_testNoneLostOrDuplicated", testConcurrentChanges(8, 100, 5000, true, 2013));
+			printTest("8threads_3000elements_mixedEndsAndPositions_testNoneLostOrDuplicated", testConcurrentChanges(8, 3000, 5000, true, 3016));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ThreadSafety");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Has several threads at once make random changes to one list, then checks that every
+	 * element ever added is either still in the list or was removed, exactly once. Each thread
+	 * adds its own elements, so a lost or duplicated element shows up as a count other than one.
+	 * One more thread walks the list during the changes. Weakly consistent iterators must see each
+	 * element at most once, and fail-fast iterators must fail with ConcurrentModificationException.
+	 * @param threads number of threads changing the list
+	 * @param initial number of elements in the list to begin with
+	 * @param changes number of changes each thread makes
+	 * @param positional false for changes at the ends only, true to add positional and by-element changes
+	 * @param seed
+	 * @return test success
+	 */
+	private boolean testConcurrentChanges(int threads, int initial, int changes, boolean positional, long seed) {
+		IndexedUnsortedList<Integer> list = newList();
+		int values = initial + threads * changes;
+		boolean[] added = new boolean[values]; // each thread only writes its own elements
+		AtomicIntegerArray removed = new AtomicIntegerArray(values);
+		AtomicBoolean failed = new AtomicBoolean(false);
+		AtomicBoolean changing = new AtomicBoolean(true);
+		for (int i = 0; i < initial; i++) {
+			list.add(i);
+			added[i] = true;
+		}
+
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			int first = initial + t * changes;
+			Random random = new Random(seed + t);
+			workers[t] = new Thread(() -> {
+				for (int i = 0; i < changes && !failed.get(); i++) {
+					Integer element = first + i;
+					Integer target = random.nextInt(first + i);
+					int index = random.nextInt(Math.max(0, list.size()) + 1);
+					Integer gone = null;
+					try {
+						switch (random.nextInt(positional ? 9 : 4)) {
+						case 0:
+							list.addToFront(element);
+							added[element] = true;
+							break;
+						case 1:
+							list.addToRear(element);
+							added[element] = true;
+							break;
+						case 2:
+							gone = list.removeFirst();
+							break;
+						case 3:
+							gone = list.removeLast();
+							break;
+						case 4:
+							list.add(index, element);
+							added[element] = true;
+							break;
+						case 5:
+							list.addAfter(element, target);
+							added[element] = true;
+							break;
+						case 6:
+							gone = list.remove(index);
+							break;
+						case 7:
+							gone = list.remove(target);
+							break;
+						default:
+							Integer seen = list.get(index);
+							if (seen < 0 || seen >= values) {
+								failed.set(true);
+							}
+						}
+					} catch (NoSuchElementException | IndexOutOfBoundsException e) {
+						// the list changed under this thread; nothing was added or removed
+					} catch (RuntimeException e) {
+						System.out.printf("%s caught unexpected %s\n", "testConcurrentChanges", e.toString());
+						e.printStackTrace();
+						failed.set(true);
+					}
+					if (gone != null) {
+						if (gone < 0 || gone >= values) {
+							failed.set(true);
+						} else {
+							removed.incrementAndGet(gone);
+						}
+					}
+				}
+			});
+			workers[t].setDaemon(true); // a hung thread must not keep the tester running
+		}
+		Thread walker = new Thread(() -> {
+			while (changing.get() && !failed.get()) {
+				boolean[] seen = new boolean[values];
+				try {
+					for (Integer element : list) {
+						if (element < 0 || element >= values || seen[element]) {
+							failed.set(true); // each element at most once, the walk is over one version or weakly consistent
+						} else {
+							seen[element] = true;
+						}
+					}
+				} catch (ConcurrentModificationException e) {
+					// a fail-fast iterator saw the change; walk again
+				} catch (RuntimeException e) {
+					System.out.printf("%s walker caught unexpected %s\n", "testConcurrentChanges", e.toString());
+					e.printStackTrace();
+					failed.set(true);
+				}
+			}
+		});
+		walker.setDaemon(true);
+
+		try {
+			for (Thread worker : workers) {
+				worker.start();
+			}
+			walker.start();
+			long deadline = System.currentTimeMillis() + THREAD_TIMEOUT_MS;
+			for (Thread worker : workers) {
+				worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+				if (worker.isAlive()) {
+					System.out.printf("%s: a thread is still running after %d ms\n", "testConcurrentChanges", THREAD_TIMEOUT_MS);
+					return false;
+				}
+			}
+			changing.set(false);
+			walker.join(THREAD_TIMEOUT_MS);
+			if (walker.isAlive() || failed.get()) {
+				return false;
+			}
+
+			int[] count = new int[values];
+			int total = 0;
+			for (Integer element : list) {
+				if (element < 0 || element >= values) {
+					return false;
+				}
+				count[element]++;
+				total++;
+			}
+			for (int i = 0; i < values; i++) {
+				if (count[i] + removed.get(i) != (added[i] ? 1 : 0)) {
+					return false;
+				}
+			}
+			return list.size() == total;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testConcurrentChanges", e.toString());
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Primitive Matching Tests (LongIUArrayList, DoubleIUArrayList)
+	////////////////////////////////////////////////////////
+
+	/** run tests of values an Integer view cannot hold: longs beyond int range, NaN and signed zeros */
+	private void test_PrimitiveMatching() {
+		System.out.println("\nPrimitive Matching Tests\n");
+		try {
+			if (LIST_TO_USE == ListToUse.longArrayList) {
+				LongIUArrayList longs = new LongIUArrayList();
+				longs.addLong(Long.MAX_VALUE);
+				longs.add(Long.MIN_VALUE);
+				longs.addLong(1L << 32);
+				printTest("MaxMin2pow32_testIndexOfLong2pow32", longs.indexOfLong(1L << 32) == 2);
+				printTest("MaxMin2pow32_testIndexOf0", longs.indexOf(0L) == -1); // 1 << 32 does not match 0 in its low bits
+				printTest("MaxMin2pow32_testContainsMin", longs.contains(Long.MIN_VALUE) && longs.containsLong(Long.MIN_VALUE));
+				printTest("MaxMin2pow32_testGet0", longs.get(0) == Long.MAX_VALUE);
+				printTest("MaxMin2pow32_testRemoveMax", longs.remove(Long.valueOf(Long.MAX_VALUE)) == Long.MAX_VALUE && longs.size() == 2);
+			} else {
+				// values match by their bits, like Double.equals(): NaN matches NaN, and 0.0 and -0.0 differ
+				DoubleIUArrayList doubles = new DoubleIUArrayList();
+				doubles.addDouble(Double.NaN);
+				doubles.add(0.0);
+				printTest("NaN0_testIndexOfDoubleNaN", doubles.indexOfDouble(Double.NaN) == 0);
+				printTest("NaN0_testIndexOfNaN", doubles.indexOf(Double.NaN) == 0);
+				printTest("NaN0_testContainsNaN", doubles.contains(Double.NaN) && doubles.containsDouble(0.0 / 0.0));
+				printTest("NaN0_testIndexOf0", doubles.indexOf(0.0) == 1);
+				printTest("NaN0_testIndexOfNeg0", doubles.indexOf(-0.0) == -1 && doubles.indexOfDouble(-0.0) == -1);
+				printTest("NaN0_testContainsNeg0", !doubles.contains(-0.0) && !doubles.containsDouble(-0.0));
+				doubles.addDouble(-0.0);
+				printTest("NaN0_addNeg0_testIndexOfNeg0", doubles.indexOf(-0.0) == 2);
+				printTest("NaN0_addNeg0_testIndexOf0", doubles.indexOfDouble(0.0) == 1);
+				printTest("NaN0Neg0_testRemoveNeg0", doubles.remove(Double.valueOf(-0.0)).equals(-0.0) && doubles.indexOf(0.0) == 1);
+				printTest("NaN0_testRemoveNaN", doubles.remove(Double.valueOf(Double.NaN)).isNaN() && !doubles.contains(Double.NaN));
+				printTest("0_testAddAfterNeg0", testCall(() -> doubles.addAfter(1.0, -0.0), Result.NoSuchElement));
+				printTest("0_testContents0", doubles.size() == 1 && Double.doubleToLongBits(doubles.first()) == 0L);
+			}
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_PrimitiveMatching");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Node Pool Tests (pooled IUDoubleLinkedList, IUSingleLinkedList)
+	////////////////////////////////////////////////////////
+
+	/** run NodePool tests of reuse, counters, the capacity bound and iterator changes on pooled lists */
+	private void test_NodePool() {
+		System.out.println("\nNode Pool Tests\n");
+		try {
+			printTest("testNewNodePoolNeg1", testCall(() -> new NodePool<Integer>(-1), Result.IllegalArgument));
+
+			// a pool of 0 keeps nothing, so every node is new
+			NodePool<Integer> pool = new NodePool<Integer>(0);
+			IndexedUnsortedList<Integer> list = newPooledList(pool);
+			for (int i = 0; i < 10; i++) {
+				list.add(i);
+				list.removeFirst();
+			}
+			printTest("pool0_churn10_testHitsMisses", pool.hits() == 0 && pool.misses() == 10 && pool.size() == 0);
+
+			// the pool fills up to capacity and no further, and serves new nodes from what it kept
+			pool = new NodePool<Integer>(4);
+			list = newPooledList(pool);
+			for (int i = 0; i < 10; i++) {
+				list.add(i);
+			}
+			printTest("pool4_add10_testHitsMisses", pool.hits() == 0 && pool.misses() == 10);
+			while (!list.isEmpty()) {
+				list.removeLast();
+			}
+			printTest("pool4_add10_removeAll_testPoolSize", pool.size() == 4 && pool.capacity() == 4);
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D, ELEMENT_X, ELEMENT_Z));
+			printTest("pool4_removeAll_addAll6_testHitsMisses", pool.hits() == 4 && pool.misses() == 12 && pool.size() == 0);
+			printTest("pool4_removeAll_addAll6_testContents", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D, ELEMENT_X, ELEMENT_Z}));
+			pool.resetCounters();
+			printTest("pool4_resetCounters_testHitsMisses", pool.hits() == 0 && pool.misses() == 0);
+
+			// steady churn stops allocating once the pool has warmed up
+			pool = new NodePool<Integer>(4);
+			list = newPooledList(pool);
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C));
+			boolean bounded = true;
+			for (int i = 0; i < 1000; i++) {
+				list.addToFront(i); // [i,A,B,C]
+				list.remove(1); // [i,B,C]
+				list.add(list.size() - 1, -i - 1); // [i,B,-i-1,C]
+				list.remove(Integer.valueOf(-i - 1)); // [i,B,C]
+				list.set(0, ELEMENT_A); // [A,B,C]
+				bounded &= pool.size() <= pool.capacity();
+			}
+			printTest("pool4_churn1000_testPoolNeverOverCapacity", bounded);
+			printTest("pool4_churn1000_testHitsMisses", pool.misses() == 4 && pool.hits() == 1999);
+			printTest("pool4_churn1000_testContents", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+
+			// two lists sharing a pool: nodes one gives back are reused by the other, and never touched again
+			pool = new NodePool<Integer>(8);
+			IndexedUnsortedList<Integer> first = newPooledList(pool);
+			IndexedUnsortedList<Integer> second = newPooledList(pool);
+			for (int i = 0; i < 100; i++) {
+				first.addToRear(i);
+				second.addToFront(i);
+				if (i % 3 == 0) {
+					second.remove(Integer.valueOf(i));
+					first.add(first.size() / 2, -i - 1);
+					first.removeIf(element -> element < 0);
+				}
+			}
+			Integer[] expectedFirst = new Integer[100];
+			Integer[] expectedSecond = new Integer[66];
+			int s = 0;
+			for (int i = 0; i < 100; i++) {
+				expectedFirst[i] = i;
+				if ((99 - i) % 3 != 0) {
+					expectedSecond[s] = 99 - i;
+					s++;
+				}
+			}
+			printTest("sharedPool_churn_testFirstContents", testContents(first, expectedFirst));
+			printTest("sharedPool_churn_testSecondContents", testContents(second, expectedSecond));
+
+			// iterator changes hand nodes back too
+			pool = new NodePool<Integer>(4);
+			list = newPooledList(pool);
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D));
+			Iterator<Integer> it = list.iterator();
+			while (it.hasNext()) {
+				if (it.next() % 2 == 0) {
+					it.remove();
+				}
+			}
+			printTest("pooled_ABCD_iterRemoveEven_testContentsAC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_C}));
+			printTest("pooled_ABCD_iterRemoveEven_testPoolSize", pool.size() == 2);
+			list.add(ELEMENT_X);
+			list.addToFront(ELEMENT_Z);
+			printTest("pooled_AC_addX_addToFrontZ_testContentsZACX", testContents(list, new Integer[] {ELEMENT_Z, ELEMENT_A, ELEMENT_C, ELEMENT_X}));
+			if (SUPPORTS_LIST_ITERATOR) {
+				pool = new NodePool<Integer>(4);
+				list = newPooledList(pool);
+				list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C));
+				ListIterator<Integer> listIt = list.listIterator();
+				listIt.next();
+				listIt.next();
+				listIt.remove(); // B goes to the pool
+				listIt.add(ELEMENT_D); // and its node comes straight back for D
+				printTest("pooled_ABC_listIterRemoveB_addD_testIterRemove", testIterRemove(listIt, Result.IllegalState));
+				printTest("pooled_ABC_listIterRemoveB_addD_testContentsADC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_D, ELEMENT_C}));
+				printTest("pooled_ABC_listIterRemoveB_addD_testHits", pool.hits() == 1);
+				printTest("pooled_ABC_listIterRemoveB_addD_testListIterNextC", testIterNext(listIt, ELEMENT_C, Result.MatchingValue));
+				printTest("pooled_ABC_listIterRemoveB_addD_testListIterPreviousC", listIt.previous().equals(ELEMENT_C) && listIt.previous().equals(ELEMENT_D));
+				listIt.set(ELEMENT_B);
+				printTest("pooled_ADC_listIterSetB_testContentsABC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			}
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_NodePool");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Builds an empty list of the chosen pooled kind over the given pool
+	 * @param pool
+	 * @return new list
+	 */
+	private IndexedUnsortedList<Integer> newPooledList(NodePool<Integer> pool) {
+		if (LIST_TO_USE == ListToUse.pooledDoubleLinkedList) {
+			return new IUDoubleLinkedList<Integer>(pool);
+		}
+		return new IUSingleLinkedList<Integer>(pool);
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Combiner Failure Tests (IUFlatCombiningList)
+	////////////////////////////////////////////////////////
+
+	/** run tests that a request failing inside a combined batch never leaves other threads waiting */
+	private void test_CombinerFailures() {
+		System.out.println("\nCombiner Failure Tests\n");
+		try {
+			// addToFront(Z) throws an Error from the wrapped list, and a sweep adding X through its ListIterator
+			// throws too. addToRear(D) is slow, so positional requests pile up into batches that are swept.
+			IUFlatCombiningList<Integer> list = new IUFlatCombiningList<Integer>(new IUDoubleLinkedList<Integer>() {
+				@Override
+				public void addToRear(Integer element) {
+					if (element.equals(ELEMENT_D)) {
+						try {
+							Thread.sleep(1);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+					super.addToRear(element);
+				}
+
+				@Override
+				public void addToFront(Integer element) {
+					if (element.equals(ELEMENT_Z)) {
+						throw new AssertionError("faulty list");
+					}
+					super.addToFront(element);
+				}
+
+				@Override
+				public ListIterator<Integer> listIterator(int startingIndex) {
+					return new FaultyListIterator(super.listIterator(startingIndex));
+				}
+			});
+			for (int i = 0; i < 10; i++) {
+				list.add(i);
+			}
+
+			AtomicIntegerArray outcomes = new AtomicIntegerArray(2); // requests that returned, requests that threw
+			Thread[] workers = new Thread[4];
+			for (int t = 0; t < workers.length; t++) {
+				Random random = new Random(17 + t);
+				workers[t] = new Thread(() -> {
+					for (int i = 0; i < 2000; i++) {
+						int index = random.nextInt(5);
+						try {
+							if (i % 100 == 0) {
+								list.addToFront(ELEMENT_Z);
+							} else if (i % 10 == 0) {
+								list.addToRear(ELEMENT_D);
+							} else if (i % 5 == 0) {
+								list.add(index, ELEMENT_X);
+							} else if (i % 2 == 0) {
+								list.add(index, i);
+							} else {
+								list.remove(index);
+							}
+							outcomes.incrementAndGet(0);
+						} catch (RuntimeException | AssertionError e) {
+							outcomes.incrementAndGet(1);
+						}
+					}
+				});
+				workers[t].setDaemon(true); // a hung thread must not keep the tester running
+				workers[t].start();
+			}
+			boolean finished = true;
+			long deadline = System.currentTimeMillis() + THREAD_TIMEOUT_MS;
+			for (Thread worker : workers) {
+				worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+				finished &= !worker.isAlive();
+			}
+			printTest("faulty_4threads_testNoThreadLeftWaiting", finished);
+			printTest("faulty_4threads_testEveryRequestAnswered", finished && outcomes.get(0) + outcomes.get(1) == 4 * 2000);
+			printTest("faulty_4threads_testFaultsReported", finished && outcomes.get(1) >= 4 * 20);
+			printTest("faulty_4threads_testContainsZ", testContains(list, ELEMENT_Z, Result.False));
+			printTest("faulty_4threads_testSize", list.size() == contentsOf(list).length);
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_CombinerFailures");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** ListIterator that passes every call on to another, except that adding ELEMENT_X throws */
+	private static class FaultyListIterator implements ListIterator<Integer> {
+		private final ListIterator<Integer> iterator;
+
+		/** @param iterator the ListIterator to pass calls on to */
+		public FaultyListIterator(ListIterator<Integer> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public Integer next() {
+			return iterator.next();
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return iterator.hasPrevious();
+		}
+
+		@Override
+		public Integer previous() {
+			return iterator.previous();
+		}
+
+		@Override
+		public int nextIndex() {
+			return iterator.nextIndex();
+		}
+
+		@Override
+		public int previousIndex() {
+			return iterator.previousIndex();
+		}
+
+		@Override
+		public void remove() {
+			iterator.remove();
+		}
+
+		@Override
+		public void set(Integer e) {
+			iterator.set(e);
+		}
+
+		@Override
+		public void add(Integer e) {
+			if (e.equals(ELEMENT_X)) {
+				throw new IllegalStateException("faulty iterator");
+			}
+			iterator.add(e);
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Splicing Tests (IUDoubleLinkedList)
+	////////////////////////////////////////////////////////
+
+	/** run transferAll(), split() and moveRange() tests on IUDoubleLinkedList */
+	private void test_Splicing() {
+		System.out.println("\nSplicing Tests\n");
+		try {
+			// transferAll
+			IUDoubleLinkedList<Integer> list = newDoubleLinkedList(ELEMENT_A);
+			IUDoubleLinkedList<Integer> other = newDoubleLinkedList(ELEMENT_B, ELEMENT_C);
+			list.transferAll(other);
+			printTest("A_transferAllBC_testContentsABC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			printTest("A_transferAllBC_testOtherSize", testSize(other, 0));
+			other.add(ELEMENT_D);
+			printTest("A_transferAllBC_otherAddD_testOtherContentsD", testContents(other, new Integer[] {ELEMENT_D}));
+			printTest("A_transferAllBC_otherAddD_testContentsABC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			list = newDoubleLinkedList(ELEMENT_B);
+			list.transferAll(0, newDoubleLinkedList(ELEMENT_C, ELEMENT_A));
+			printTest("B_transferAll0CA_testContentsCAB", testContents(list, new Integer[] {ELEMENT_C, ELEMENT_A, ELEMENT_B}));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B);
+			list.transferAll(1, newDoubleLinkedList(ELEMENT_C));
+			printTest("AB_transferAll1C_testContentsACB", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_C, ELEMENT_B}));
+			list = newDoubleLinkedList();
+			list.transferAll(newDoubleLinkedList(ELEMENT_A));
+			printTest("emptyList_transferAllA_testContentsA", testContents(list, new Integer[] {ELEMENT_A}));
+			list = newDoubleLinkedList(ELEMENT_A);
+			list.transferAll(newDoubleLinkedList());
+			printTest("A_transferAllEmpty_testContentsA", testContents(list, new Integer[] {ELEMENT_A}));
+			IUDoubleLinkedList<Integer> self = newDoubleLinkedList(ELEMENT_A);
+			printTest("A_testTransferAllSelf", testCall(() -> self.transferAll(self), Result.IllegalArgument));
+			printTest("A_transferAllSelf_testContentsA", testContents(self, new Integer[] {ELEMENT_A}));
+			IUDoubleLinkedList<Integer> target = newDoubleLinkedList(ELEMENT_A);
+			IUDoubleLinkedList<Integer> source = newDoubleLinkedList(ELEMENT_B);
+			printTest("A_testTransferAllNeg1B", testCall(() -> target.transferAll(-1, source), Result.IndexOutOfBounds));
+			printTest("A_testTransferAll2B", testCall(() -> target.transferAll(2, source), Result.IndexOutOfBounds));
+			printTest("A_transferAll2B_testContentsA", testContents(target, new Integer[] {ELEMENT_A}));
+			printTest("A_transferAll2B_testOtherContentsB", testContents(source, new Integer[] {ELEMENT_B}));
+
+			// split
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			other = list.split(1);
+			printTest("ABC_split1_testContentsA", testContents(list, new Integer[] {ELEMENT_A}));
+			printTest("ABC_split1_testSuffixContentsBC", testContents(other, new Integer[] {ELEMENT_B, ELEMENT_C}));
+			list.add(ELEMENT_D);
+			other.addToFront(ELEMENT_X);
+			printTest("ABC_split1_addD_testContentsAD", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_D}));
+			printTest("ABC_split1_suffixAddToFrontX_testSuffixContentsXBC", testContents(other, new Integer[] {ELEMENT_X, ELEMENT_B, ELEMENT_C}));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			other = list.split(0);
+			printTest("ABC_split0_testSize", testSize(list, 0));
+			printTest("ABC_split0_testSuffixContentsABC", testContents(other, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			other = list.split(3);
+			printTest("ABC_split3_testContentsABC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			printTest("ABC_split3_testSuffixSize", testSize(other, 0));
+			printTest("emptyList_split0_testSuffixSize", testSize(newDoubleLinkedList().split(0), 0));
+			IUDoubleLinkedList<Integer> whole = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			printTest("ABC_testSplitNeg1", testCall(() -> whole.split(-1), Result.IndexOutOfBounds));
+			printTest("ABC_testSplit4", testCall(() -> whole.split(4), Result.IndexOutOfBounds));
+			printTest("ABC_split4_testContentsABC", testContents(whole, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+
+			// moveRange
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			other = newDoubleLinkedList(ELEMENT_D);
+			list.moveRange(1, 3, other, 0);
+			printTest("ABC_moveRange13D0_testContentsA", testContents(list, new Integer[] {ELEMENT_A}));
+			printTest("ABC_moveRange13D0_testTargetContentsBCD", testContents(other, new Integer[] {ELEMENT_B, ELEMENT_C, ELEMENT_D}));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			other = newDoubleLinkedList(ELEMENT_D);
+			list.moveRange(0, 1, other, 1);
+			printTest("ABC_moveRange01D1_testContentsBC", testContents(list, new Integer[] {ELEMENT_B, ELEMENT_C}));
+			printTest("ABC_moveRange01D1_testTargetContentsDA", testContents(other, new Integer[] {ELEMENT_D, ELEMENT_A}));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			other = newDoubleLinkedList();
+			list.moveRange(0, 3, other, 0);
+			printTest("ABC_moveRange03Empty0_testSize", testSize(list, 0));
+			printTest("ABC_moveRange03Empty0_testTargetContentsABC", testContents(other, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			other = newDoubleLinkedList(ELEMENT_D);
+			list.moveRange(1, 1, other, 0);
+			printTest("ABC_moveRange11D0_testContentsABC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			printTest("ABC_moveRange11D0_testTargetContentsD", testContents(other, new Integer[] {ELEMENT_D}));
+			IUDoubleLinkedList<Integer> from = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			IUDoubleLinkedList<Integer> to = newDoubleLinkedList(ELEMENT_D);
+			printTest("ABC_testMoveRange01Self0", testCall(() -> from.moveRange(0, 1, from, 0), Result.IllegalArgument));
+			printTest("ABC_testMoveRangeNeg11D0", testCall(() -> from.moveRange(-1, 1, to, 0), Result.IndexOutOfBounds));
+			printTest("ABC_testMoveRange04D0", testCall(() -> from.moveRange(0, 4, to, 0), Result.IndexOutOfBounds));
+			printTest("ABC_testMoveRange21D0", testCall(() -> from.moveRange(2, 1, to, 0), Result.IndexOutOfBounds));
+			printTest("ABC_testMoveRange01DNeg1", testCall(() -> from.moveRange(0, 1, to, -1), Result.IndexOutOfBounds));
+			printTest("ABC_testMoveRange01D2", testCall(() -> from.moveRange(0, 1, to, 2), Result.IndexOutOfBounds));
+			printTest("ABC_moveRangeBad_testContentsABC", testContents(from, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			printTest("ABC_moveRangeBad_testTargetContentsD", testContents(to, new Integer[] {ELEMENT_D}));
+
+			// both lists change, so iterators on both must fail fast
+			list = newDoubleLinkedList(ELEMENT_A);
+			other = newDoubleLinkedList(ELEMENT_B);
+			Iterator<Integer> it = list.iterator();
+			Iterator<Integer> otherIt = other.iterator();
+			list.transferAll(other);
+			printTest("A_transferAllB_testIterHasNextConcurrent", testIterHasNext(it, Result.ConcurrentModification));
+			printTest("A_transferAllB_testOtherIterNextConcurrent", testIterNext(otherIt, ELEMENT_B, Result.ConcurrentModification));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B);
+			it = list.iterator();
+			list.split(1);
+			printTest("AB_split1_testIterHasNextConcurrent", testIterHasNext(it, Result.ConcurrentModification));
+			list = newDoubleLinkedList(ELEMENT_A, ELEMENT_B);
+			other = newDoubleLinkedList(ELEMENT_C);
+			it = list.iterator();
+			otherIt = other.iterator();
+			list.moveRange(0, 1, other, 1);
+			printTest("AB_moveRange01C1_testIterHasNextConcurrent", testIterHasNext(it, Result.ConcurrentModification));
+			printTest("AB_moveRange01C1_testTargetIterNextConcurrent", testIterNext(otherIt, ELEMENT_C, Result.ConcurrentModification));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_Splicing");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Persistent Version Tests (IUPersistentVector)
+	////////////////////////////////////////////////////////
+
+	/** run snapshot(), mutableCopy() and with*() tests on IUPersistentVector */
+	private void test_PersistentVersions() {
+		System.out.println("\nPersistent Version Tests\n");
+		try {
+			// a snapshot keeps its contents while the vector it came from changes
+			IUPersistentVector<Integer> vector = newPersistentVector(ELEMENT_A, ELEMENT_B);
+			IUPersistentVector<Integer> snapshot = vector.snapshot();
+			vector.set(0, ELEMENT_C);
+			vector.add(1, ELEMENT_D);
+			vector.removeLast();
+			printTest("AB_snapshot_set0C_add1D_removeLast_testContentsCD", testContents(vector, new Integer[] {ELEMENT_C, ELEMENT_D}));
+			printTest("AB_snapshot_set0C_add1D_removeLast_testSnapshotContentsAB", testContents(snapshot, new Integer[] {ELEMENT_A, ELEMENT_B}));
+			printTest("AB_snapshot_testIsMutable", vector.isMutable());
+			printTest("AB_snapshot_testSnapshotIsMutable", !snapshot.isMutable());
+			vector = newPersistentVector();
+			snapshot = vector.snapshot();
+			vector.add(ELEMENT_A);
+			printTest("emptyList_snapshot_addA_testSnapshotSize", testSize(snapshot, 0));
+			printTest("emptyList_snapshot_addA_testContentsA", testContents(vector, new Integer[] {ELEMENT_A}));
+
+			// same again on a tree more than two levels deep
+			Integer[] numbers = new Integer[2000];
+			for (int i = 0; i < numbers.length; i++) {
+				numbers[i] = i;
+			}
+			vector = newPersistentVector(numbers);
+			snapshot = vector.snapshot();
+			IUPersistentVector<Integer> snapshot2 = snapshot.snapshot();
+			Integer[] changed = numbers.clone();
+			for (int i = 0; i < changed.length; i += 7) {
+				vector.set(i, -i);
+				changed[i] = -i;
+			}
+			printTest("2000_snapshot_setEvery7th_testContents", testContents(vector, changed));
+			printTest("2000_snapshot_setEvery7th_testSnapshotContents", testContents(snapshot, numbers));
+			for (int i = 0; i < 500; i++) {
+				vector.removeFirst();
+				vector.add(vector.size() / 2, ELEMENT_X);
+			}
+			printTest("2000_snapshot_removeFirstAddMiddle500_testSize", testSize(vector, numbers.length));
+			printTest("2000_snapshot_removeFirstAddMiddle500_testSnapshotContents", testContents(snapshot, numbers));
+			printTest("2000_snapshot_snapshot_testSnapshot2Contents", testContents(snapshot2, numbers));
+
+			// mutableCopy() gives an independent builder in both directions
+			vector = newPersistentVector(ELEMENT_A, ELEMENT_B);
+			IUPersistentVector<Integer> copy = vector.mutableCopy();
+			copy.addToFront(ELEMENT_C);
+			vector.set(1, ELEMENT_D);
+			printTest("AB_mutableCopy_copyAddToFrontC_testCopyContentsCAB", testContents(copy, new Integer[] {ELEMENT_C, ELEMENT_A, ELEMENT_B}));
+			printTest("AB_mutableCopy_set1D_testContentsAD", testContents(vector, new Integer[] {ELEMENT_A, ELEMENT_D}));
+			copy = snapshot.mutableCopy();
+			copy.set(0, ELEMENT_X);
+			printTest("2000_snapshot_mutableCopy_set0X_testCopyIsMutable", copy.isMutable());
+			printTest("2000_snapshot_mutableCopy_set0X_testSnapshotContents", testContents(snapshot, numbers));
+
+			// with*() leave the version they are called on alone
+			IUPersistentVector<Integer> original = newPersistentVector(ELEMENT_A, ELEMENT_B).snapshot();
+			printTest("AB_withAddedC_testContentsABC", testContents(original.withAdded(ELEMENT_C), new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}));
+			printTest("AB_withAdded1C_testContentsACB", testContents(original.withAdded(1, ELEMENT_C), new Integer[] {ELEMENT_A, ELEMENT_C, ELEMENT_B}));
+			printTest("AB_withSet0C_testContentsCB", testContents(original.withSet(0, ELEMENT_C), new Integer[] {ELEMENT_C, ELEMENT_B}));
+			printTest("AB_withRemoved0_testContentsB", testContents(original.withRemoved(0), new Integer[] {ELEMENT_B}));
+			printTest("AB_withRemoved0_testIsMutable", !original.withRemoved(0).isMutable());
+			printTest("AB_with_testContentsAB", testContents(original, new Integer[] {ELEMENT_A, ELEMENT_B}));
+			printTest("emptyList_withAddedA_testContentsA", testContents(newPersistentVector().snapshot().withAdded(ELEMENT_A), new Integer[] {ELEMENT_A}));
+			printTest("A_withRemoved0_testSize", testSize(newPersistentVector(ELEMENT_A).withRemoved(0), 0));
+			vector = newPersistentVector(ELEMENT_A);
+			vector.withAdded(ELEMENT_B);
+			printTest("mutableA_withAddedB_testContentsA", testContents(vector, new Integer[] {ELEMENT_A}));
+			printTest("AB_testWithAddedNeg1C", testCall(() -> original.withAdded(-1, ELEMENT_C), Result.IndexOutOfBounds));
+			printTest("AB_testWithAdded3C", testCall(() -> original.withAdded(3, ELEMENT_C), Result.IndexOutOfBounds));
+			printTest("AB_testWithSet2C", testCall(() -> original.withSet(2, ELEMENT_C), Result.IndexOutOfBounds));
+			printTest("AB_testWithRemovedNeg1", testCall(() -> original.withRemoved(-1), Result.IndexOutOfBounds));
+			printTest("AB_testWithRemoved2", testCall(() -> original.withRemoved(2), Result.IndexOutOfBounds));
+			printTest("emptyList_testWithRemoved0", testCall(() -> newPersistentVector().snapshot().withRemoved(0), Result.IndexOutOfBounds));
+
+			// an immutable version refuses every change
+			printTest("immutableAB_testAddToFrontC", testCall(() -> original.addToFront(ELEMENT_C), Result.UnsupportedOperation));
+			printTest("immutableAB_testAddC", testCall(() -> original.add(ELEMENT_C), Result.UnsupportedOperation));
+			printTest("immutableAB_testAdd1C", testCall(() -> original.add(1, ELEMENT_C), Result.UnsupportedOperation));
+			printTest("immutableAB_testRemoveFirst", testCall(() -> original.removeFirst(), Result.UnsupportedOperation));
+			printTest("immutableAB_testRemoveA", testCall(() -> original.remove(ELEMENT_A), Result.UnsupportedOperation));
+			printTest("immutableAB_testSet0C", testCall(() -> original.set(0, ELEMENT_C), Result.UnsupportedOperation));
+			Iterator<Integer> it = original.iterator();
+			it.next();
+			printTest("immutableAB_iterNext_testIterRemove", testCall(() -> it.remove(), Result.UnsupportedOperation));
+			ListIterator<Integer> listIt = original.listIterator();
+			printTest("immutableAB_testListIterAddC", testCall(() -> listIt.add(ELEMENT_C), Result.UnsupportedOperation));
+			printTest("immutableAB_refused_testContentsAB", testContents(original, new Integer[] {ELEMENT_A, ELEMENT_B}));
+
+			// taking a snapshot is not a change, but changing after it is
+			vector = newPersistentVector(ELEMENT_A, ELEMENT_B);
+			Iterator<Integer> vectorIt = vector.iterator();
+			vector.snapshot();
+			printTest("AB_snapshot_testIterNextA", testIterNext(vectorIt, ELEMENT_A, Result.MatchingValue));
+			vector.add(ELEMENT_C);
+			printTest("AB_snapshot_addC_testIterHasNextConcurrent", testIterHasNext(vectorIt, Result.ConcurrentModification));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_PersistentVersions");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Copy-On-Write Tests (IUCopyOnWriteList)
+	////////////////////////////////////////////////////////
+
+	/** run mutate() and snapshotIterator() tests on IUCopyOnWriteList */
+	private void test_CopyOnWrite() {
+		System.out.println("\nCopy-On-Write Tests\n");
+		try {
+			// mutate() applies the whole batch, or none of it if the batch throws
+			IUCopyOnWriteList<Integer> list = newCopyOnWriteList(ELEMENT_A, ELEMENT_B);
+			list.mutate(l -> {
+				l.addToFront(ELEMENT_C);
+				l.removeLast();
+				l.add(ELEMENT_D);
+			});
+			printTest("AB_mutateAddToFrontCRemoveLastAddD_testContentsCAD", testContents(list, new Integer[] {ELEMENT_C, ELEMENT_A, ELEMENT_D}));
+			list = newCopyOnWriteList();
+			list.mutate(l -> l.add(ELEMENT_A));
+			printTest("emptyList_mutateAddA_testContentsA", testContents(list, new Integer[] {ELEMENT_A}));
+			list.mutate(l -> l.removeFirst());
+			printTest("A_mutateRemoveFirst_testSize", testSize(list, 0));
+			IUCopyOnWriteList<Integer> unchanged = newCopyOnWriteList(ELEMENT_A, ELEMENT_B);
+			Iterator<Integer> it = unchanged.iterator();
+			printTest("AB_testMutateAddCRemoveX", testCall(() -> unchanged.mutate(l -> {
+				l.add(ELEMENT_C);
+				l.remove(ELEMENT_X);
+			}), Result.NoSuchElement));
+			printTest("AB_mutateAddCRemoveX_testContentsAB", testContents(unchanged, new Integer[] {ELEMENT_A, ELEMENT_B}));
+			printTest("AB_mutateAddCRemoveX_testIterNextA", testIterNext(it, ELEMENT_A, Result.MatchingValue));
+			unchanged.mutate(l -> l.add(ELEMENT_C));
+			printTest("AB_mutateAddC_testIterNextB", testIterNext(it, ELEMENT_B, Result.MatchingValue));
+			printTest("AB_mutateAddC_testIterHasNext", testIterHasNext(it, Result.False));
+
+			// reading through an iterator never fails, but changing through one does once another change is published
+			list = newCopyOnWriteList(ELEMENT_A, ELEMENT_B);
+			ListIterator<Integer> listIt = list.listIterator();
+			listIt.next();
+			list.addToFront(ELEMENT_C);
+			printTest("AB_listIterNext_addToFrontC_testListIterNextIndex", listIt.nextIndex() == 1);
+			printTest("AB_listIterNext_addToFrontC_testListIterPreviousA", listIt.hasPrevious() && listIt.previous().equals(ELEMENT_A));
+			printTest("AB_listIterNext_addToFrontC_testListIterSetX", testCall(() -> listIt.set(ELEMENT_X), Result.ConcurrentModification));
+			printTest("AB_listIterNext_addToFrontC_testListIterAddX", testCall(() -> listIt.add(ELEMENT_X), Result.ConcurrentModification));
+			printTest("AB_listIterNext_addToFrontC_testIterRemove", testIterRemove(listIt, Result.ConcurrentModification));
+			printTest("AB_listIterNext_addToFrontC_testContentsCAB", testContents(list, new Integer[] {ELEMENT_C, ELEMENT_A, ELEMENT_B}));
+			ListIterator<Integer> ownIt = list.listIterator();
+			ownIt.next();
+			ownIt.remove();
+			ownIt.add(ELEMENT_D);
+			ownIt.next();
+			ownIt.set(ELEMENT_X);
+			printTest("CAB_listIterRemoveC_addD_nextSetX_testContentsDXB", testContents(list, new Integer[] {ELEMENT_D, ELEMENT_X, ELEMENT_B}));
+
+			// readers never see part of a batch
+			IUCopyOnWriteList<Integer> pairs = newCopyOnWriteList();
+			boolean[] torn = new boolean[1];
+			Thread reader = new Thread(() -> {
+				for (int i = 0; i < 20000; i++) {
+					if (pairs.size() % 2 != 0) {
+						torn[0] = true;
+					}
+				}
+			});
+			reader.start();
+			for (int i = 0; i < 200; i++) {
+				pairs.mutate(l -> {
+					l.add(ELEMENT_A);
+					l.add(ELEMENT_B);
+				});
+			}
+			reader.join(THREAD_TIMEOUT_MS);
+			printTest("emptyList_mutateAddAB200_testReaderSawWholeBatches", !reader.isAlive() && !torn[0]);
+			printTest("emptyList_mutateAddAB200_testSize", testSize(pairs, 400));
+
+			// snapshotIterator() keeps walking what the list held when it was made
+			list = newCopyOnWriteList(ELEMENT_A, ELEMENT_B);
+			Iterator<Integer> snapshotIt = list.snapshotIterator();
+			list.addToFront(ELEMENT_C);
+			list.removeLast();
+			list.mutate(l -> l.set(0, ELEMENT_D));
+			printTest("AB_snapshotIter_changed_testIterNextA", testIterNext(snapshotIt, ELEMENT_A, Result.MatchingValue));
+			printTest("AB_snapshotIter_changed_testIterNextB", testIterNext(snapshotIt, ELEMENT_B, Result.MatchingValue));
+			printTest("AB_snapshotIter_changed_testIterHasNext", testIterHasNext(snapshotIt, Result.False));
+			printTest("AB_snapshotIter_changed_testContentsDA", testContents(list, new Integer[] {ELEMENT_D, ELEMENT_A}));
+			Iterator<Integer> removeIt = newCopyOnWriteList(ELEMENT_A).snapshotIterator();
+			removeIt.next();
+			printTest("A_snapshotIterNext_testIterRemove", testCall(() -> removeIt.remove(), Result.UnsupportedOperation));
+			Iterator<Integer> emptyIt = newCopyOnWriteList().snapshotIterator();
+			printTest("emptyList_snapshotIter_testIterHasNext", testIterHasNext(emptyIt, Result.False));
+			printTest("emptyList_snapshotIter_testIterNext", testIterNext(emptyIt, null, Result.NoSuchElement));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_CopyOnWrite");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Compaction Tests (IUArenaLinkedList)
+	////////////////////////////////////////////////////////
+
+	/** run compact() tests on IUArenaLinkedList */
+	private void test_Compact() {
+		System.out.println("\nCompaction Tests\n");
+		try {
+			IUArenaLinkedList<Integer> list = new IUArenaLinkedList<Integer>();
+			list.compact();
+			printTest("emptyList_compact_testSize", testSize(list, 0));
+			list.add(ELEMENT_A);
+			list.addToFront(ELEMENT_B);
+			printTest("emptyList_compact_addA_addToFrontB_testContentsBA", testContents(list, new Integer[] {ELEMENT_B, ELEMENT_A}));
+			list.removeFirst();
+			list.compact();
+			printTest("BA_removeFirst_compact_testContentsA", testContents(list, new Integer[] {ELEMENT_A}));
+			list.removeLast();
+			list.compact();
+			printTest("A_removeLast_compact_testSize", testSize(list, 0));
+
+			// churn the slots so list order no longer matches slot order, then compact
+			list = new IUArenaLinkedList<Integer>();
+			for (int i = 0; i < 100; i++) {
+				if (i % 2 == 0) {
+					list.addToRear(i);
+				} else {
+					list.addToFront(i);
+				}
+			}
+			list.removeIf(element -> element % 3 == 0);
+			for (int i = 0; i < 10; i++) {
+				list.add(list.size() / 2, 1000 + i);
+			}
+			Integer[] expected = new Integer[list.size()];
+			int index = 0;
+			for (Integer element : list) {
+				expected[index] = element;
+				index++;
+			}
+			list.compact();
+			printTest("churned_compact_testContents", testContents(list, expected));
+			boolean backwards = true;
+			ListIterator<Integer> listIt = list.listIterator(list.size());
+			for (int i = expected.length - 1; i >= 0; i--) {
+				backwards &= listIt.hasPrevious() && listIt.previous().equals(expected[i]);
+			}
+			printTest("churned_compact_testListIterPreviousAll", backwards && !listIt.hasPrevious());
+			printTest("churned_compact_testGetMiddle", testGet(list, expected.length / 2, expected[expected.length / 2], Result.MatchingValue));
+			printTest("churned_compact_testIndexOfLast", testIndexOf(list, expected[expected.length - 1], expected.length - 1));
+			list.addToFront(ELEMENT_X);
+			list.addAfter(ELEMENT_Z, expected[0]);
+			list.remove(expected.length / 2);
+			list.add(ELEMENT_D);
+			printTest("churned_compact_changed_testFirstX", testFirst(list, ELEMENT_X, Result.MatchingValue));
+			printTest("churned_compact_changed_testGet2Z", testGet(list, 2, ELEMENT_Z, Result.MatchingValue));
+			printTest("churned_compact_changed_testLastD", testLast(list, ELEMENT_D, Result.MatchingValue));
+			printTest("churned_compact_changed_testSize", testSize(list, expected.length + 2));
+
+			// compact() moves every element, so open iterators must fail fast
+			list = new IUArenaLinkedList<Integer>();
+			list.add(ELEMENT_A);
+			list.add(ELEMENT_B);
+			Iterator<Integer> it = list.iterator();
+			it.next();
+			list.compact();
+			printTest("AB_iterNext_compact_testIterNextConcurrent", testIterNext(it, ELEMENT_B, Result.ConcurrentModification));
+			printTest("AB_iterNext_compact_testIterRemoveConcurrent", testIterRemove(it, Result.ConcurrentModification));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_Compact");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Builds an IUCopyOnWriteList holding the given elements, in order
+	 * @param elements
+	 * @return new list
+	 */
+	private IUCopyOnWriteList<Integer> newCopyOnWriteList(Integer... elements) {
+		IUCopyOnWriteList<Integer> list = new IUCopyOnWriteList<Integer>();
+		list.addAll(elements);
+		return list;
+	}
+
+	/** Builds a mutable IUPersistentVector holding the given elements, in order
+	 * @param elements
+	 * @return new vector
+	 */
+	private IUPersistentVector<Integer> newPersistentVector(Integer... elements) {
+		IUPersistentVector<Integer> vector = new IUPersistentVector<Integer>();
+		for (Integer element : elements) {
+			vector.add(element);
+		}
+		return vector;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Hash Index Tests (IUArrayList, IUSingleLinkedList, IUDoubleLinkedList)
+	////////////////////////////////////////////////////////
+
+	/** run indexOf(), contains() and change tests with the hash index turned on */
+	private void test_HashIndex() {
+		System.out.println("\nHash Index Tests\n");
+		try {
+			IndexedUnsortedList<Integer> list = newLookupList();
+			printTest("emptyList_testIsHashIndexed", !isHashIndexed(list));
+			setHashIndexed(list, true);
+			printTest("emptyList_setHashIndexed_testIsHashIndexed", isHashIndexed(list));
+			printTest("emptyList_setHashIndexed_testIndexOfA", testIndexOf(list, ELEMENT_A, -1));
+
+			// duplicates: the index must always give the first one
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_A, ELEMENT_C));
+			printTest("indexed_ABAC_testIndexOfA", testIndexOf(list, ELEMENT_A, 0));
+			printTest("indexed_ABAC_testIndexOfC", testIndexOf(list, ELEMENT_C, 3));
+			printTest("indexed_ABAC_testContainsX", testContains(list, ELEMENT_X, Result.False));
+			list.removeFirst();
+			printTest("indexed_ABAC_removeFirst_testIndexOfA", testIndexOf(list, ELEMENT_A, 1));
+			printTest("indexed_ABAC_removeFirst_testIndexOfB", testIndexOf(list, ELEMENT_B, 0));
+			list.remove(ELEMENT_A);
+			printTest("indexed_BAC_removeA_testContainsA", testContains(list, ELEMENT_A, Result.False));
+			printTest("indexed_BAC_removeA_testIndexOfC", testIndexOf(list, ELEMENT_C, 1));
+			list.set(0, ELEMENT_C);
+			printTest("indexed_BC_set0C_testIndexOfC", testIndexOf(list, ELEMENT_C, 0));
+			printTest("indexed_BC_set0C_testIndexOfB", testIndexOf(list, ELEMENT_B, -1));
+			list.add(1, ELEMENT_A);
+			list.addToFront(ELEMENT_A);
+			printTest("indexed_CC_add1A_addToFrontA_testIndexOfC", testIndexOf(list, ELEMENT_C, 1));
+			list.addAfter(ELEMENT_D, ELEMENT_A);
+			printTest("indexed_ACAC_addAfterDA_testContentsADCAC", testContents(list, new Integer[] {ELEMENT_A, ELEMENT_D, ELEMENT_C, ELEMENT_A, ELEMENT_C}));
+			printTest("indexed_ACAC_addAfterDA_testIndexOfD", testIndexOf(list, ELEMENT_D, 1));
+			list.removeIf(element -> element.equals(ELEMENT_C));
+			printTest("indexed_ADCAC_removeIfC_testIndexOfA", testIndexOf(list, ELEMENT_A, 0));
+			printTest("indexed_ADCAC_removeIfC_testContainsC", testContains(list, ELEMENT_C, Result.False));
+			Iterator<Integer> it = list.iterator();
+			it.next();
+			it.remove();
+			printTest("indexed_ADA_iterRemoveFirst_testIndexOfA", testIndexOf(list, ELEMENT_A, 1));
+			list.removeLast();
+			printTest("indexed_DA_removeLast_testContainsA", testContains(list, ELEMENT_A, Result.False));
+			printTest("indexed_DA_removeLast_testIndexOfD", testIndexOf(list, ELEMENT_D, 0));
+
+			// turning the index on over existing duplicates, and back off
+			list = newLookupList();
+			list.addAll(Arrays.asList(ELEMENT_B, ELEMENT_A, ELEMENT_B));
+			setHashIndexed(list, true);
+			setHashIndexed(list, true);
+			printTest("BAB_setHashIndexed_testIndexOfB", testIndexOf(list, ELEMENT_B, 0));
+			printTest("BAB_setHashIndexed_testIndexOfA", testIndexOf(list, ELEMENT_A, 1));
+			setHashIndexed(list, false);
+			printTest("BAB_setHashIndexedOff_testIsHashIndexed", !isHashIndexed(list));
+			list.removeFirst();
+			printTest("BAB_setHashIndexedOff_removeFirst_testIndexOfB", testIndexOf(list, ELEMENT_B, 1));
+			setHashIndexed(list, true);
+			printTest("AB_setHashIndexed_testIndexOfB", testIndexOf(list, ELEMENT_B, 1));
+
+			if (LIST_TO_USE == ListToUse.doubleLinkedList) {
+				IUDoubleLinkedList<Integer> dll = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_B);
+				dll.setHashIndexed(true);
+				IUDoubleLinkedList<Integer> suffix = dll.split(2);
+				printTest("indexed_ABCB_split2_testSuffixIsHashIndexed", suffix.isHashIndexed());
+				printTest("indexed_ABCB_split2_testSuffixIndexOfB", testIndexOf(suffix, ELEMENT_B, 1));
+				printTest("indexed_ABCB_split2_testIndexOfC", testIndexOf(dll, ELEMENT_C, -1));
+				dll.transferAll(0, suffix);
+				printTest("indexed_AB_transferAll0CB_testIndexOfB", testIndexOf(dll, ELEMENT_B, 1));
+				printTest("indexed_AB_transferAll0CB_testIndexOfA", testIndexOf(dll, ELEMENT_A, 2));
+				printTest("indexed_AB_transferAll0CB_testSuffixContainsC", testContains(suffix, ELEMENT_C, Result.False));
+				dll.moveRange(0, 2, suffix, 0);
+				printTest("indexed_CBAB_moveRange02_testIndexOfB", testIndexOf(dll, ELEMENT_B, 1));
+				printTest("indexed_CBAB_moveRange02_testSuffixIndexOfB", testIndexOf(suffix, ELEMENT_B, 1));
+			}
+
+			IndexedUnsortedList<Integer> indexed = newLookupList();
+			setHashIndexed(indexed, true);
+			printTest("indexed_randomChanges_testLookupsMatchPlain", testRandomLookups(indexed, newLookupList(), 21));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_HashIndex");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Bloom Filter Tests (IUArrayList, IUSingleLinkedList, IUDoubleLinkedList)
+	////////////////////////////////////////////////////////
+
+	/** run lookup, statistics and rebuild tests with the Bloom filter turned on */
+	private void test_BloomFilter() {
+		System.out.println("\nBloom Filter Tests\n");
+		try {
+			IndexedUnsortedList<Integer> list = newLookupList();
+			printTest("emptyList_testBloomFilterNull", bloomFilterOf(list) == null);
+			printTest("emptyList_testRebuildBloomFilter", testCall(() -> rebuildBloomFilter(newLookupList()), Result.NoException));
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_A, ELEMENT_C));
+			setBloomFiltered(list, true);
+			CountingBloomFilter<Integer> filter = bloomFilterOf(list);
+			printTest("ABAC_setBloomFiltered_testBloomFilterSize", filter != null && filter.size() == 4);
+			printTest("ABAC_setBloomFiltered_testIndexOfC", testIndexOf(list, ELEMENT_C, 3));
+			printTest("ABAC_setBloomFiltered_testContainsX", testContains(list, ELEMENT_X, Result.False));
+
+			// every lookup is a query; lookups for absent elements are negatives or false positives
+			filter.resetCounters();
+			for (int i = 100; i < 200; i++) {
+				list.indexOf(i);
+			}
+			printTest("ABAC_indexOfAbsent100_testQueries", filter.queries() == 100);
+			printTest("ABAC_indexOfAbsent100_testNegativesAndFalsePositives", filter.negatives() + filter.falsePositives() == 100);
+			printTest("ABAC_indexOfAbsent100_testFalsePositiveRate", filter.falsePositiveRate() < 0.2);
+			long negatives = filter.negatives();
+			list.indexOf(ELEMENT_B);
+			printTest("ABAC_indexOfB_testQueries", filter.queries() == 101);
+			printTest("ABAC_indexOfB_testNegatives", filter.negatives() == negatives);
+			filter.resetCounters();
+			printTest("ABAC_resetCounters_testQueries", filter.queries() == 0 && filter.falsePositiveRate() == 0.0);
+
+			// the filter follows the list through changes
+			list.removeIf(element -> element.equals(ELEMENT_A));
+			list.set(0, ELEMENT_D);
+			printTest("ABAC_removeIfA_set0D_testContainsA", testContains(list, ELEMENT_A, Result.False));
+			printTest("ABAC_removeIfA_set0D_testContainsD", testContains(list, ELEMENT_D, Result.True));
+			printTest("ABAC_removeIfA_set0D_testIndexOfC", testIndexOf(list, ELEMENT_C, 1));
+			printTest("ABAC_removeIfA_set0D_testBloomFilterSize", bloomFilterOf(list).size() == 2);
+
+			// growing and shrinking resizes the filter
+			list = newLookupList();
+			setBloomFiltered(list, true);
+			for (int i = 0; i < 1000; i++) {
+				list.add(i);
+			}
+			filter = bloomFilterOf(list);
+			printTest("1000_testBloomFilterSize", filter.size() == 1000);
+			printTest("1000_testBloomFilterCapacity", 2 * filter.capacity() >= 1000);
+			boolean found = true;
+			for (int i = 0; i < 1000; i += 37) {
+				found &= list.contains(i);
+			}
+			printTest("1000_testContainsEvery37th", found);
+			while (list.size() > 5) {
+				list.removeFirst();
+			}
+			printTest("1000_removeFirst995_testBloomFilterCapacity", filter.capacity() <= 4 * Math.max(16, list.size()));
+			printTest("1000_removeFirst995_testIndexOf999", testIndexOf(list, 999, 4));
+			printTest("1000_removeFirst995_testContains0", testContains(list, 0, Result.False));
+
+			// counters stuck at their ceiling still give right answers, and a rebuild clears them
+			list = newLookupList();
+			setBloomFiltered(list, true);
+			for (int i = 0; i < 200; i++) {
+				list.add(ELEMENT_A);
+			}
+			list.removeIf(element -> element.equals(ELEMENT_A));
+			printTest("A200_removeIfA_testContainsA", testContains(list, ELEMENT_A, Result.False));
+			printTest("A200_removeIfA_testIndexOfA", testIndexOf(list, ELEMENT_A, -1));
+			rebuildBloomFilter(list);
+			filter = bloomFilterOf(list);
+			filter.resetCounters();
+			list.indexOf(ELEMENT_A);
+			printTest("A200_removeIfA_rebuildBloomFilter_testNegatives", filter.negatives() == 1);
+
+			// turning the filter off
+			list = newLookupList();
+			list.addAll(Arrays.asList(ELEMENT_A, ELEMENT_B));
+			setBloomFiltered(list, true);
+			setBloomFiltered(list, false);
+			printTest("AB_setBloomFilteredOff_testBloomFilterNull", bloomFilterOf(list) == null);
+			list.add(ELEMENT_C);
+			printTest("AB_setBloomFilteredOff_addC_testIndexOfC", testIndexOf(list, ELEMENT_C, 2));
+
+			if (LIST_TO_USE == ListToUse.doubleLinkedList) {
+				IUDoubleLinkedList<Integer> dll = newDoubleLinkedList(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+				dll.setBloomFiltered(true);
+				IUDoubleLinkedList<Integer> suffix = dll.split(1);
+				printTest("filtered_ABC_split1_testSuffixBloomFilterSize", suffix.isBloomFiltered() && suffix.getBloomFilter().size() == 2);
+				printTest("filtered_ABC_split1_testContainsB", testContains(dll, ELEMENT_B, Result.False));
+				printTest("filtered_ABC_split1_testSuffixContainsB", testContains(suffix, ELEMENT_B, Result.True));
+				dll.transferAll(suffix);
+				printTest("filtered_A_transferAllBC_testBloomFilterSize", dll.getBloomFilter().size() == 3);
+				printTest("filtered_A_transferAllBC_testSuffixContainsC", testContains(suffix, ELEMENT_C, Result.False));
+			}
+
+			// lookups only read the filter, so readers sharing a list never get a wrong no
+			IndexedUnsortedList<Integer> shared = newLookupList();
+			setBloomFiltered(shared, true);
+			for (int i = 0; i < 1000; i++) {
+				shared.add(i);
+			}
+			boolean[] missed = new boolean[1];
+			Thread[] readers = new Thread[4];
+			for (int t = 0; t < readers.length; t++) {
+				readers[t] = new Thread(() -> {
+					for (int i = 0; i < 1000; i++) {
+						if (!shared.contains(i) || shared.contains(-i - 1)) {
+							missed[0] = true;
+						}
+					}
+				});
+				readers[t].start();
+			}
+			boolean finished = true;
+			for (Thread reader : readers) {
+				reader.join(THREAD_TIMEOUT_MS);
+				finished &= !reader.isAlive();
+			}
+			printTest("1000_concurrentContains_testNoneMissed", finished && !missed[0]);
+
+			IndexedUnsortedList<Integer> filtered = newLookupList();
+			setBloomFiltered(filtered, true);
+			printTest("filtered_randomChanges_testLookupsMatchPlain", testRandomLookups(filtered, newLookupList(), 22));
+			IndexedUnsortedList<Integer> both = newLookupList();
+			setHashIndexed(both, true);
+			setBloomFiltered(both, true);
+			printTest("indexedFiltered_randomChanges_testLookupsMatchPlain", testRandomLookups(both, newLookupList(), 2122));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_BloomFilter");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** @return new empty list of the chosen kind, for the hash index and Bloom filter tests */
+	private IndexedUnsortedList<Integer> newLookupList() {
+		switch (LIST_TO_USE) {
+		case arrayList:
+			return new IUArrayList<Integer>();
+		case singleLinkedList:
+			return new IUSingleLinkedList<Integer>();
+		case doubleLinkedList:
+			return new IUDoubleLinkedList<Integer>();
+		default:
+			return null;
+		}
+	}
+
+	/** Calls setHashIndexed() on a list from newLookupList()
+	 * @param list
+	 * @param hashIndexed
+	 */
+	private void setHashIndexed(IndexedUnsortedList<Integer> list, boolean hashIndexed) {
+		if (list instanceof IUArrayList) {
+			((IUArrayList<Integer>) list).setHashIndexed(hashIndexed);
+		} else if (list instanceof IUSingleLinkedList) {
+			((IUSingleLinkedList<Integer>) list).setHashIndexed(hashIndexed);
+		} else if (list instanceof IUDoubleLinkedList) {
+			((IUDoubleLinkedList<Integer>) list).setHashIndexed(hashIndexed);
+		}
+	}
+
+	/** Calls isHashIndexed() on a list from newLookupList()
+	 * @param list
+	 * @return true if the list keeps a hash index
+	 */
+	private boolean isHashIndexed(IndexedUnsortedList<Integer> list) {
+		if (list instanceof IUArrayList) {
+			return ((IUArrayList<Integer>) list).isHashIndexed();
+		} else if (list instanceof IUSingleLinkedList) {
+			return ((IUSingleLinkedList<Integer>) list).isHashIndexed();
+		} else if (list instanceof IUDoubleLinkedList) {
+			return ((IUDoubleLinkedList<Integer>) list).isHashIndexed();
+		}
+		return false;
+	}
+
+	/** Calls setBloomFiltered() on a list from newLookupList()
+	 * @param list
+	 * @param bloomFiltered
+	 */
+	private void setBloomFiltered(IndexedUnsortedList<Integer> list, boolean bloomFiltered) {
+		if (list instanceof IUArrayList) {
+			((IUArrayList<Integer>) list).setBloomFiltered(bloomFiltered);
+		} else if (list instanceof IUSingleLinkedList) {
+			((IUSingleLinkedList<Integer>) list).setBloomFiltered(bloomFiltered);
+		} else if (list instanceof IUDoubleLinkedList) {
+			((IUDoubleLinkedList<Integer>) list).setBloomFiltered(bloomFiltered);
+		}
+	}
+
+	/** Calls rebuildBloomFilter() on a list from newLookupList()
+	 * @param list
+	 */
+	private void rebuildBloomFilter(IndexedUnsortedList<Integer> list) {
+		if (list instanceof IUArrayList) {
+			((IUArrayList<Integer>) list).rebuildBloomFilter();
+		} else if (list instanceof IUSingleLinkedList) {
+			((IUSingleLinkedList<Integer>) list).rebuildBloomFilter();
+		} else if (list instanceof IUDoubleLinkedList) {
+			((IUDoubleLinkedList<Integer>) list).rebuildBloomFilter();
+		}
+	}
+
+	/** Calls getBloomFilter() on a list from newLookupList()
+	 * @param list
+	 * @return the list's Bloom filter, or null
+	 */
+	private CountingBloomFilter<Integer> bloomFilterOf(IndexedUnsortedList<Integer> list) {
+		if (list instanceof IUArrayList) {
+			return ((IUArrayList<Integer>) list).getBloomFilter();
+		} else if (list instanceof IUSingleLinkedList) {
+			return ((IUSingleLinkedList<Integer>) list).getBloomFilter();
+		} else if (list instanceof IUDoubleLinkedList) {
+			return ((IUDoubleLinkedList<Integer>) list).getBloomFilter();
+		}
+		return null;
+	}
+
+	/** Makes the same random changes to a list with lookup aids turned on and to a plain list of
+	 * the same kind, comparing what each change does and indexOf() and contains() after it
+	 * @param list a list with a hash index or Bloom filter
+	 * @param plain an empty list of the same kind with neither
+	 * @param seed
+	 * @return test success
+	 */
+	private boolean testRandomLookups(IndexedUnsortedList<Integer> list, IndexedUnsortedList<Integer> plain, long seed) {
+		Random random = new Random(seed);
+		try {
+			for (int i = 0; i < 3000; i++) {
+				Integer element = random.nextInt(20);
+				Integer target = random.nextInt(20);
+				int index = plain.isEmpty() ? 0 : random.nextInt(plain.size());
+				Consumer<IndexedUnsortedList<Integer>> change;
+				switch (random.nextInt(11)) {
+				case 0:
+					change = l -> l.addToFront(element);
+					break;
+				case 1:
+					change = l -> l.add(index, element);
+					break;
+				case 2:
+					change = l -> l.addAfter(element, target);
+					break;
+				case 3:
+					change = l -> l.set(index, element);
+					break;
+				case 4:
+					change = l -> l.remove(element);
+					break;
+				case 5:
+					change = l -> l.remove(index);
+					break;
+				case 6:
+					change = l -> l.removeFirst();
+					break;
+				case 7:
+					change = l -> l.removeIf(e -> e.equals(element));
+					break;
+				case 8:
+					change = l -> {
+						Iterator<Integer> it = l.iterator();
+						for (int j = 0; j <= index; j++) {
+							it.next();
+						}
+						it.remove();
+					};
+					break;
+				default:
+					change = l -> l.addToRear(element);
+				}
+				if (!outcomeOf(change, list).equals(outcomeOf(change, plain))) {
+					return false;
+				}
+				Integer probe = random.nextInt(22) - 1;
+				if (list.indexOf(probe) != plain.indexOf(probe) || list.contains(probe) != plain.contains(probe)) {
+					return false;
+				}
+			}
+			return testContents(list, contentsOf(plain));
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testRandomLookups", e.toString());
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/** @return the name of the exception a change throws on a list, or "NoException" */
+	private String outcomeOf(Consumer<IndexedUnsortedList<Integer>> change, IndexedUnsortedList<Integer> list) {
+		try {
+			change.accept(list);
+			return "NoException";
+		} catch (RuntimeException e) {
+			return e.getClass().getSimpleName();
+		}
+	}
+
+	/** @return the elements of a list, in order */
+	private Integer[] contentsOf(IndexedUnsortedList<Integer> list) {
+		Integer[] contents = new Integer[list.size()];
+		int i = 0;
+		for (Integer element : list) {
+			contents[i] = element;
+			i++;
+		}
+		return contents;
+	}
+
+	/** Builds an IUDoubleLinkedList holding the given elements, in order, pooled if the chosen list is
+	 * @param elements
+	 * @return new list
+	 */
+	private IUDoubleLinkedList<Integer> newDoubleLinkedList(Integer... elements) {
+		IUDoubleLinkedList<Integer> list = (LIST_TO_USE == ListToUse.pooledDoubleLinkedList)
+				? new IUDoubleLinkedList<Integer>(scenarioPool) : new IUDoubleLinkedList<Integer>();
+		for (Integer element : elements) {
+			list.add(element);
+		}
+		return list;
+	}
+
+	/** Runs a given call and checks the exception it throws, if any, against expectedResult
+	 * @param call the method call to make, usually on a list prepared for a given change scenario
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testCall(Runnable call, Result expectedResult) {
+		Result result;
+		try {
+			call.run();
+			result = Result.NoException;
+		} catch (IndexOutOfBoundsException e) {
+			result = Result.IndexOutOfBounds;
+		} catch (IllegalArgumentException e) {
+			result = Result.IllegalArgument;
+		} catch (IllegalStateException e) {
+			result = Result.IllegalState;
+		} catch (NoSuchElementException e) {
+			result = Result.NoSuchElement;
+		} catch (ConcurrentModificationException e) {
+			result = Result.ConcurrentModification;
+		} catch (UnsupportedOperationException e) {
+			result = Result.UnsupportedOperation;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testCall", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Runs addAll(int, Iterable) method on a given list and checks result against expectedResult
+	 * @param list a list already prepared for a given change scenario
+	 * @param index
+	 * @param elements
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testAddAllAtIndex(IndexedUnsortedList<Integer> list, int index, Iterable<Integer> elements, Result expectedResult) {
+		Result result;
+		try {
+			list.addAll(index, elements);
+			result = Result.NoException;
+		} catch (IndexOutOfBoundsException e) {
+			result = Result.IndexOutOfBounds;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testAddAllAtIndex", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Walks a given list with its iterator and compares what it finds, and size(), with expected
+	 * @param list a list already prepared for a given change scenario
+	 * @param expected elements the list should hold, in order
+	 * @return test success
+	 */
+	private boolean testContents(IndexedUnsortedList<Integer> list, Integer[] expected) {
+		try {
+			int i = 0;
+			for (Integer element : list) {
+				if (i == expected.length || !element.equals(expected[i])) {
+					return false;
+				}
+				i++;
+			}
+			return i == expected.length && list.size() == expected.length;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testContents", e.toString());
+			e.printStackTrace();
+			return false;
+		}
+	}
+}// end class IndexedUnsortedListTester
+
+/**
+ * Integer view of an IndexedUnsortedList of another type, so that lists of
+ * other values run through the same tests. Every call is passed on to the
+ * viewed list, converting elements on the way in and out.
+ *
+ * @param <E> type stored in the viewed list
+ */
+class IntegerView<E> implements IndexedUnsortedList<Integer> {
+	private final IndexedUnsortedList<E> list;
+	private final Function<Integer, E> in;
+	private final Function<E, Integer> out;
+
+	/**
+	 * @param list list to view
+	 * @param in   converts an Integer to the viewed list's type
+	 * @param out  converts an element of the viewed list back to Integer
+	 */
+	public IntegerView(IndexedUnsortedList<E> list, Function<Integer, E> in, Function<E, Integer> out) {
+		this.list = list;
+		this.in = element -> (element == null) ? null : in.apply(element);
+		this.out = element -> (element == null) ? null : out.apply(element);
+	}
+
+	/**
+	 * @param elements Integer elements
+	 * @return the same elements converted for the viewed list
+	 */
+	private List<E> toList(Iterable<? extends Integer> elements) {
+		List<E> converted = new ArrayList<E>();
+		for (Integer element : elements) {
+			converted.add(in.apply(element));
+		}
+		return converted;
+	}
+
+	@Override
+	public void addToFront(Integer element) {
+		list.addToFront(in.apply(element));
+	}
+
+	@Override
+	public void addToRear(Integer element) {
+		list.addToRear(in.apply(element));
+	}
+
+	@Override
+	public void add(Integer element) {
+		list.add(in.apply(element));
+	}
+
+	@Override
+	public void addAfter(Integer element, Integer target) {
+		list.addAfter(in.apply(element), in.apply(target));
+	}
+
+	@Override
+	public void add(int index, Integer element) {
+		list.add(index, in.apply(element));
+	}
+
+	@Override
+	public void addAll(Iterable<? extends Integer> elements) {
+		list.addAll(toList(elements));
+	}
+
+	@Override
+	public void addAll(int index, Iterable<? extends Integer> elements) {
+		list.addAll(index, toList(elements));
+	}
+
+	@Override
+	public void addAll(Integer[] elements) {
+		list.addAll(toList(Arrays.asList(elements)));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super Integer> filter) {
+		return list.removeIf(element -> filter.test(out.apply(element)));
+	}
+
+	@Override
+	public Integer removeFirst() {
+		return out.apply(list.removeFirst());
+	}
+
+	@Override
+	public Integer removeLast() {
+		return out.apply(list.removeLast());
+	}
+
+	@Override
+	public Integer remove(Integer element) {
+		return out.apply(list.remove(in.apply(element)));
+	}
+
+	@Override
+	public Integer remove(int index) {
+		return out.apply(list.remove(index));
+	}
+
+	@Override
+	public void set(int index, Integer element) {
+		list.set(index, in.apply(element));
+	}
+
+	@Override
+	public Integer get(int index) {
+		return out.apply(list.get(index));
+	}
+
+	@Override
+	public int indexOf(Integer element) {
+		return list.indexOf(in.apply(element));
+	}
+
+	@Override
+	public Integer first() {
+		return out.apply(list.first());
+	}
+
+	@Override
+	public Integer last() {
+		return out.apply(list.last());
+	}
+
+	@Override
+	public boolean contains(Integer target) {
+		return list.contains(in.apply(target));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return list.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return list.size();
+	}
+
+	@Override
+	public String toString() {
+		return list.toString();
+	}
+
+	@Override
+	public Iterator<Integer> iterator() {
+		return listIterator(list.iterator());
+	}
+
+	@Override
+	public ListIterator<Integer> listIterator() {
+		return listIterator(list.listIterator());
+	}
+
+	@Override
+	public ListIterator<Integer> listIterator(int startingIndex) {
+		return listIterator(list.listIterator(startingIndex));
+	}
+
+	/**
+	 * @param iterator iterator over the viewed list
+	 * @return Integer view of the iterator
+	 */
+	private Iterator<Integer> listIterator(Iterator<E> iterator) {
+		return new Iterator<Integer>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Integer next() {
+				return out.apply(iterator.next());
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+			}
+		};
+	}
+
+	/**
+	 * @param iterator ListIterator over the viewed list
+	 * @return Integer view of the ListIterator
+	 */
+	private ListIterator<Integer> listIterator(ListIterator<E> iterator) {
+		return new ListIterator<Integer>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Integer next() {
+				return out.apply(iterator.next());
+			}
+
+			@Override
+			public boolean hasPrevious() {
+				return iterator.hasPrevious();
+			}
+
+			@Override
+			public Integer previous() {
+				return out.apply(iterator.previous());
+			}
+
+			@Override
+			public int nextIndex() {
+				return iterator.nextIndex();
+			}
+
+			@Override
+			public int previousIndex() {
+				return iterator.previousIndex();
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+			}
+
+			@Override
+			public void set(Integer e) {
+				iterator.set(in.apply(e));
+			}
+
+			@Override
+			public void add(Integer e) {
+				iterator.add(in.apply(e));
+			}
+		};
+	}
+}
 
 /** Interface for builder method Lambda references used above */
 interface Scenario<T> {
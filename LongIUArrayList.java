@@ -0,0 +1,447 @@
+import java.util.Arrays;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Array-based list of long values, backed by a long[] instead of boxed Longs.
+ * The addLong(), getLong(), setLong(), removeLongAt() and indexOfLong() methods and
+ * the PrimitiveIterator.OfLong returned by longIterator() never box. The
+ * IndexedUnsortedList&lt;Long&gt; methods are a boxed view of the same values
+ * for code written against the interface.
+ * A ListIterator with working remove(), add(), set() methods.
+ *
+ * @author Gabriel Tinsley
+ */
+public class LongIUArrayList implements IndexedUnsortedList<Long> {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int NOT_FOUND = -1;
+
+	private long[] array;
+	private int rear;
+	private int modCount;
+
+	/** Creates an empty list with default initial capacity */
+	public LongIUArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty list with the given initial capacity
+	 *
+	 * @param initialCapacity
+	 */
+	public LongIUArrayList(int initialCapacity) {
+		array = new long[Math.max(1, initialCapacity)];
+		rear = 0;
+		modCount = 0;
+	}
+
+	/** Double the capacity of array */
+	private void expandCapacity() {
+		if (array.length == rear) {
+			array = Arrays.copyOf(array, array.length * 2);
+		}
+	}
+
+	/**
+	 * Adds value to the rear of this list.
+	 *
+	 * @param value the value to be added
+	 */
+	public void addLong(long value) {
+		expandCapacity();
+
+		array[rear] = value;
+		rear++;
+		modCount++;
+	}
+
+	/**
+	 * Inserts value at the specified index.
+	 *
+	 * @param index the index to insert at
+	 * @param value the value to be inserted
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+	 */
+	public void addLong(int index, long value) {
+		if (index < 0 || index > rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		expandCapacity();
+
+		// shift elements
+		System.arraycopy(array, index, array, index + 1, rear - index);
+		array[index] = value;
+		rear++;
+		modCount++;
+	}
+
+	/**
+	 * Removes and returns the value at the specified index.
+	 *
+	 * @param index the index of the value to remove
+	 * @return the removed value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public long removeLongAt(int index) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		long retVal = array[index];
+
+		rear--;
+		// shift elements
+		System.arraycopy(array, index + 1, array, index, rear - index);
+		modCount++;
+
+		return retVal;
+	}
+
+	/**
+	 * Replaces the value at the specified index.
+	 *
+	 * @param index the index of the value to replace
+	 * @param value the replacement value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public void setLong(int index, long value) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		array[index] = value;
+		modCount++;
+	}
+
+	/**
+	 * Returns the value at the specified index.
+	 *
+	 * @param index the index of the value
+	 * @return the value at index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+	 */
+	public long getLong(int index) {
+		if (index < 0 || index >= rear) {
+			throw new IndexOutOfBoundsException();
+		}
+		return array[index];
+	}
+
+	/**
+	 * Returns the index of the first occurrence of value.
+	 *
+	 * @param value the value to look for
+	 * @return the index of value or -1 if it is not in the list
+	 */
+	public int indexOfLong(long value) {
+		for (int i = 0; i < rear; i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Returns true if this list contains value.
+	 *
+	 * @param value the value to look for
+	 * @return true if the list contains value
+	 */
+	public boolean containsLong(long value) {
+		return (indexOfLong(value) != NOT_FOUND);
+	}
+
+	/**
+	 * Returns an iterator over the values in this list that does not box.
+	 *
+	 * @return a PrimitiveIterator over the values in this list
+	 */
+	public PrimitiveIterator.OfLong longIterator() {
+		return new LongALIterator(0);
+	}
+
+	@Override
+	public void addToFront(Long element) {
+		addLong(0, element);
+	}
+
+	@Override
+	public void addToRear(Long element) {
+		addLong(element);
+	}
+
+	@Override
+	public void add(Long element) {
+		addLong(element);
+	}
+
+	@Override
+	public void addAfter(Long element, Long target) {
+		int index = indexOf(target);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		addLong(index + 1, element);
+	}
+
+	@Override
+	public void add(int index, Long element) {
+		addLong(index, element);
+	}
+
+	@Override
+	public Long removeFirst() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return removeLongAt(0);
+	}
+
+	@Override
+	public Long removeLast() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return removeLongAt(rear - 1);
+	}
+
+	@Override
+	public Long remove(Long element) {
+		int index = indexOf(element);
+
+		if (index == NOT_FOUND) {
+			throw new NoSuchElementException();
+		}
+
+		return removeLongAt(index);
+	}
+
+	@Override
+	public Long remove(int index) {
+		return removeLongAt(index);
+	}
+
+	@Override
+	public void set(int index, Long element) {
+		setLong(index, element);
+	}
+
+	@Override
+	public Long get(int index) {
+		return getLong(index);
+	}
+
+	@Override
+	public int indexOf(Long element) {
+		if (element == null) { // null is never stored
+			return NOT_FOUND;
+		}
+		return indexOfLong(element);
+	}
+
+	@Override
+	public Long first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[0];
+	}
+
+	@Override
+	public Long last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+
+		return array[rear - 1];
+	}
+
+	@Override
+	public boolean contains(Long target) {
+		return (indexOf(target) != NOT_FOUND);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return rear == 0;
+	}
+
+	@Override
+	public int size() {
+		return rear;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (int i = 0; i < rear; i++) {
+			str.append(array[i]);
+			str.append(", ");
+		}
+		if (rear > 0) {
+			str.delete(str.length() - 2, str.length()); // remove trailing ", "
+		}
+		str.append("]");
+		return str.toString();
+	}
+
+	@Override
+	public PrimitiveIterator.OfLong iterator() {
+		return new LongALIterator(0);
+	}
+
+	@Override
+	public ListIterator<Long> listIterator() {
+		return new LongALIterator(0);
+	}
+
+	@Override
+	public ListIterator<Long> listIterator(int startingIndex) {
+		return new LongALIterator(startingIndex);
+	}
+
+	/** ListIterator (and primitive iterator) for LongIUArrayList */
+	private class LongALIterator implements ListIterator<Long>, PrimitiveIterator.OfLong {
+		private int nextIndex;
+		private int lastReturnedIndex;
+		private int iterModCount;
+
+		/**
+		 * Initialize iterator in front of the given starting index
+		 *
+		 * @param startingIndex where you begin
+		 */
+		public LongALIterator(int startingIndex) {
+			if (startingIndex < 0 || startingIndex > rear) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			nextIndex = startingIndex;
+			lastReturnedIndex = NOT_FOUND;
+			iterModCount = modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex < rear;
+		}
+
+		@Override
+		public long nextLong() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			lastReturnedIndex = nextIndex;
+			nextIndex++;
+
+			return array[lastReturnedIndex];
+		}
+
+		@Override
+		public Long next() {
+			return nextLong();
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex > 0;
+		}
+
+		@Override
+		public Long previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+
+			nextIndex--;
+			lastReturnedIndex = nextIndex;
+
+			return array[lastReturnedIndex];
+		}
+
+		@Override
+		public int nextIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			removeLongAt(lastReturnedIndex);
+			if (lastReturnedIndex < nextIndex) { // removed after next()
+				nextIndex--;
+			}
+			lastReturnedIndex = NOT_FOUND;
+
+			iterModCount = modCount;
+		}
+
+		@Override
+		public void set(Long e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (lastReturnedIndex == NOT_FOUND) {
+				throw new IllegalStateException();
+			}
+
+			setLong(lastReturnedIndex, e);
+
+			iterModCount = modCount;
+		}
+
+		@Override
+		public void add(Long e) {
+			if (iterModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			addLong(nextIndex, e);
+			nextIndex++;
+			lastReturnedIndex = NOT_FOUND;
+
+			iterModCount = modCount;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * Bounded pool of detached Nodes for reuse by the linked lists.
+ * A list built with a pool takes its new nodes from the pool and gives
+ * back every node it unlinks, so a list that adds and removes at a steady
+ * rate stops allocating once the pool has warmed up. The pool keeps at
+ * most capacity nodes; nodes given back beyond that are left to the
+ * garbage collector. Hit and miss counters show how often obtain() was
+ * served from the pool, for sizing it.
+ * A pool is not thread-safe and should only be shared by lists used from
+ * the same thread.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <E> type stored in the nodes
+ */
+public class NodePool<E> {
+	private final int capacity;
+	private Node<E> top; // free nodes, chained through next
+	private int pooled;
+	private long hits;
+	private long misses;
+
+	/**
+	 * Creates an empty pool
+	 *
+	 * @param capacity most nodes to keep, at least 0
+	 */
+	public NodePool(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException();
+		}
+
+		this.capacity = capacity;
+		top = null;
+		pooled = 0;
+		hits = 0;
+		misses = 0;
+	}
+
+	/**
+	 * Returns a detached node storing element, reusing a pooled one if
+	 * there is one
+	 *
+	 * @param element element to store
+	 * @return node with no links
+	 */
+	public Node<E> obtain(E element) {
+		if (top == null) {
+			misses++;
+			return new Node<E>(element);
+		}
+
+		Node<E> node = top;
+		top = node.getNext();
+		node.setNext(null);
+		node.setElement(element);
+		pooled--;
+		hits++;
+		return node;
+	}
+
+	/**
+	 * Takes back a node that is no longer linked into any list. The node
+	 * must not be used again by the caller.
+	 *
+	 * @param node detached node
+	 */
+	public void recycle(Node<E> node) {
+		if (pooled == capacity) {
+			return;
+		}
+
+		node.setElement(null); // let the element be collected
+		node.setPrevious(null);
+		node.setNext(top);
+		top = node;
+		pooled++;
+	}
+
+	/** @return number of nodes waiting in the pool */
+	public int size() {
+		return pooled;
+	}
+
+	/** @return most nodes the pool keeps */
+	public int capacity() {
+		return capacity;
+	}
+
+	/** @return number of obtain() calls served by a pooled node */
+	public long hits() {
+		return hits;
+	}
+
+	/** @return number of obtain() calls that allocated a new node */
+	public long misses() {
+		return misses;
+	}
+
+	/** Resets the hit and miss counters */
+	public void resetCounters() {
+		hits = 0;
+		misses = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "pooled: " + pooled + "/" + capacity + " hits: " + hits + " misses: " + misses;
+	}
+}
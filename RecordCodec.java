@@ -0,0 +1,92 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Converts list elements to and from fixed-size binary records, for lists
+ * that keep their elements outside the Java heap.
+ * Every element must encode to exactly recordSize() bytes.
+ *
+ * @author Gabriel Tinsley
+ *
+ * @param <T> class of objects encoded by this codec
+ */
+public interface RecordCodec<T>
+{
+	/** Codec for Integer elements as 4-byte ints */
+	public static final RecordCodec<Integer> INTEGER = new RecordCodec<Integer>() {
+		@Override
+		public int recordSize() {
+			return Integer.BYTES;
+		}
+
+		@Override
+		public void write(Integer element, ByteBuffer buffer, int position) {
+			buffer.putInt(position, element);
+		}
+
+		@Override
+		public Integer read(ByteBuffer buffer, int position) {
+			return buffer.getInt(position);
+		}
+	};
+
+	/** Codec for Long elements as 8-byte longs */
+	public static final RecordCodec<Long> LONG = new RecordCodec<Long>() {
+		@Override
+		public int recordSize() {
+			return Long.BYTES;
+		}
+
+		@Override
+		public void write(Long element, ByteBuffer buffer, int position) {
+			buffer.putLong(position, element);
+		}
+
+		@Override
+		public Long read(ByteBuffer buffer, int position) {
+			return buffer.getLong(position);
+		}
+	};
+
+	/** Codec for Double elements as 8-byte doubles */
+	public static final RecordCodec<Double> DOUBLE = new RecordCodec<Double>() {
+		@Override
+		public int recordSize() {
+			return Double.BYTES;
+		}
+
+		@Override
+		public void write(Double element, ByteBuffer buffer, int position) {
+			buffer.putDouble(position, element);
+		}
+
+		@Override
+		public Double read(ByteBuffer buffer, int position) {
+			return buffer.getDouble(position);
+		}
+	};
+
+	/**
+	 * Returns the number of bytes in every encoded element.
+	 *
+	 * @return the record size in bytes
+	 */
+	public int recordSize();
+
+	/**
+	 * Encodes element into buffer without moving the buffer's position.
+	 *
+	 * @param element  the element to encode
+	 * @param buffer   the buffer to write into
+	 * @param position the byte offset of the record in buffer
+	 */
+	public void write(T element, ByteBuffer buffer, int position);
+
+	/**
+	 * Decodes the element stored in buffer without moving the buffer's position.
+	 *
+	 * @param buffer   the buffer to read from
+	 * @param position the byte offset of the record in buffer
+	 * @return the decoded element
+	 */
+	public T read(ByteBuffer buffer, int position);
+}